@@ -0,0 +1,27 @@
+package com.loanflow.reactive;
+
+import com.loanflow.loanflow.security.JwtUtil;
+import com.loanflow.loanflow.service.impl.EligibilityServiceImpl;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Entry point of the optional reactive (WebFlux + R2DBC) loan API.
+ *
+ * Runs next to the servlet application (default port 8081) and serves the
+ * loan list / apply / decision endpoints without a thread per request, so
+ * one node can hold tens of thousands of open connections.
+ *
+ * Only the shared, stack-independent beans are imported from the servlet
+ * module (eligibility rules and JWT verification); its package is not
+ * component-scanned.
+ */
+@SpringBootApplication
+@Import({EligibilityServiceImpl.class, JwtUtil.class})
+public class ReactiveLoanflowApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveLoanflowApplication.class, args);
+    }
+}
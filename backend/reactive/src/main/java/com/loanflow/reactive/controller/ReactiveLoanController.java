@@ -0,0 +1,65 @@
+package com.loanflow.reactive.controller;
+
+import com.loanflow.loanflow.dto.LoanRequest;
+import com.loanflow.loanflow.entity.LoanStatus;
+import com.loanflow.loanflow.security.AuthenticatedUser;
+import com.loanflow.reactive.entity.Loan;
+import com.loanflow.reactive.service.ReactiveLoanService;
+import com.loanflow.reactive.service.ReactiveLoanService.LoanPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking loan endpoints, request- and response-compatible with the
+ * servlet module's LoanController:
+ *  - POST  /api/loans/apply
+ *  - GET   /api/loans (page, size, sortBy, direction, status)
+ *  - PATCH /api/loans/{id}/approve and /reject (ANALYST / ADMIN)
+ */
+@RestController
+@RequestMapping("/api/loans")
+@RequiredArgsConstructor
+public class ReactiveLoanController {
+
+    private final ReactiveLoanService loanService;
+
+    /**
+     * Creates a new loan application owned by the caller.
+     */
+    @PostMapping("/apply")
+    public Mono<Loan> apply(@RequestBody LoanRequest request, @AuthenticationPrincipal AuthenticatedUser user) {
+        return loanService.applyLoan(request, user == null ? null : user.id());
+    }
+
+    /**
+     * Returns a paginated list of loan applications.
+     */
+    @GetMapping
+    public Mono<LoanPage> list(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) LoanStatus status
+    ) {
+        return loanService.listLoans(page, size, sortBy, direction, status);
+    }
+
+    /**
+     * Approves a loan application by ID (404 if missing, 409 if leased by another analyst).
+     */
+    @PatchMapping("/{id}/approve")
+    public Mono<Loan> approve(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        return loanService.decide(id, LoanStatus.APPROVED, user.id());
+    }
+
+    /**
+     * Rejects a loan application by ID (404 if missing, 409 if leased by another analyst).
+     */
+    @PatchMapping("/{id}/reject")
+    public Mono<Loan> reject(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        return loanService.decide(id, LoanStatus.REJECTED, user.id());
+    }
+}
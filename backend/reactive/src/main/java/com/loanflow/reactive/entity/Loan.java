@@ -0,0 +1,68 @@
+package com.loanflow.reactive.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.loanflow.loanflow.entity.LoanStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the loan_application table.
+ *
+ * Same columns and JSON shape as the servlet module's JPA entity
+ * (LoanApplication); column names are derived in snake_case.
+ *
+ * Work queue lease columns are read-only here: they are only written by
+ * the servlet module's conditional claim statements.
+ */
+@Table("loan_application")
+@Getter
+@Setter
+@NoArgsConstructor
+public class Loan {
+
+    @Id
+    private Long id;
+
+    private Double amount;
+    private Double interestRate;
+    private Integer tenure;
+    private LoanStatus status;
+    private LocalDateTime createdAt;
+    private String decisionPolicy;
+    private LocalDateTime decidedAt;
+
+    // Applicant input
+    private String fullName;
+    private Double monthlyIncome;
+    private Double monthlyDebt;
+    private Integer creditScore;
+    private String creditScoreSource;
+    private Integer selfReportedCreditScore;
+    private String employmentType;
+    private String purpose;
+
+    // Computed by EligibilityService
+    private Double dti;
+    private Integer riskScore;
+    private String eligibilityDecision;
+    private Integer rulesVersion;
+    private Boolean duplicateSuspected;
+
+    /**
+     * Owning user (never serialized, like LoanApplication.user).
+     */
+    @JsonIgnore
+    private Long userId;
+
+    @ReadOnlyProperty
+    private Long leasedBy;
+
+    @ReadOnlyProperty
+    private LocalDateTime leaseExpiresAt;
+}
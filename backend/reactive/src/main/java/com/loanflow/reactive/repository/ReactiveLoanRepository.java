@@ -0,0 +1,32 @@
+package com.loanflow.reactive.repository;
+
+import com.loanflow.loanflow.entity.LoanStatus;
+import com.loanflow.reactive.entity.Loan;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking repository for loan applications.
+ *
+ * Derived queries mirror the servlet module's LoanRepository; paging is
+ * applied as LIMIT / OFFSET and the total is a separate count.
+ */
+public interface ReactiveLoanRepository extends R2dbcRepository<Loan, Long> {
+
+    /**
+     * Retrieves one page of loans.
+     */
+    Flux<Loan> findAllBy(Pageable pageable);
+
+    /**
+     * Retrieves one page of loans with the given status.
+     */
+    Flux<Loan> findByStatus(LoanStatus status, Pageable pageable);
+
+    /**
+     * Counts loans with the given status.
+     */
+    Mono<Long> countByStatus(LoanStatus status);
+}
@@ -0,0 +1,72 @@
+package com.loanflow.reactive.security;
+
+import com.loanflow.loanflow.entity.UserRole;
+import com.loanflow.loanflow.security.AuthenticatedUser;
+import com.loanflow.loanflow.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive variant of the servlet module's JwtAuthFilter.
+ *
+ * Responsibility:
+ *  - Read JWT token from the Authorization header (Bearer <token>)
+ *  - Validate the token and extract user id, username and role from its claims
+ *  - Reject revoked tokens (ReactiveTokenRevocations)
+ *  - Put an AuthenticatedUser into the reactive security context
+ *
+ * Registered only inside the security filter chain (see ReactiveSecurityConfig),
+ * not as a bean, so WebFlux does not also run it as a plain WebFilter.
+ */
+@RequiredArgsConstructor
+public class ReactiveJwtAuthFilter implements WebFilter {
+
+    private final JwtUtil jwtUtil;
+    private final ReactiveTokenRevocations revocations;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        AuthenticatedUser user;
+        long issuedAt;
+        try {
+            // Verify signature and expiry, then read the claims (throws if invalid/expired)
+            Claims claims = jwtUtil.parseClaims(header.substring(7));
+            Long userId = claims.get("uid", Long.class);
+            String role = claims.get("role", String.class);
+
+            // Tokens without a uid claim predate revocation support and are not accepted
+            if (userId == null || role == null || claims.getIssuedAt() == null) {
+                return chain.filter(exchange);
+            }
+            user = new AuthenticatedUser(userId, claims.getSubject(), UserRole.valueOf(role));
+            // Millisecond issue time: a token reissued in the same second as a revocation stays valid
+            issuedAt = JwtUtil.issuedAtMillis(claims);
+        } catch (Exception ex) {
+            // Invalid token: continue unauthenticated; protected endpoints are blocked by the rules
+            return chain.filter(exchange);
+        }
+
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                user, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.role().name())));
+
+        return revocations.isRevoked(user.id(), issuedAt)
+                .flatMap(revoked -> revoked
+                        ? chain.filter(exchange)
+                        : chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth)));
+    }
+}
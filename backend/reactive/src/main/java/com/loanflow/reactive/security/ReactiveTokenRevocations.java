@@ -0,0 +1,35 @@
+package com.loanflow.reactive.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Checks JWTs against the token_revocation table written by the servlet
+ * module (deactivated users, role changes).
+ *
+ * One non-blocking primary-key lookup per authenticated request; unlike
+ * the servlet module's TokenRevocationList there is no in-memory copy, so
+ * revocations take effect here immediately.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReactiveTokenRevocations {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Emits true if tokens issued at {@code issuedAtMillis} are revoked for the user.
+     */
+    public Mono<Boolean> isRevoked(long userId, long issuedAtMillis) {
+        return databaseClient.sql("SELECT revoked_before FROM token_revocation WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map((row, metadata) -> row.get("revoked_before", OffsetDateTime.class))
+                .one()
+                .map(revokedBefore -> issuedAtMillis < revokedBefore.toInstant().toEpochMilli())
+                .defaultIfEmpty(false);
+    }
+}
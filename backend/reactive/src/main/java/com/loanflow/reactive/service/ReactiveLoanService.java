@@ -0,0 +1,54 @@
+package com.loanflow.reactive.service;
+
+import com.loanflow.loanflow.dto.LoanRequest;
+import com.loanflow.loanflow.entity.LoanStatus;
+import com.loanflow.reactive.entity.Loan;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of the servlet module's LoanService and
+ * LoanQueryService for the list / apply / decision endpoints.
+ */
+public interface ReactiveLoanService {
+
+    /**
+     * Scores and stores a new loan application.
+     *
+     * @param req    loan request payload
+     * @param userId id of the applying user (null if unknown)
+     * @return the saved loan
+     */
+    Mono<Loan> applyLoan(LoanRequest req, Long userId);
+
+    /**
+     * Retrieves one page of loans.
+     *
+     * @param page      page index (0-based)
+     * @param size      number of records per page
+     * @param sortBy    field to sort by
+     * @param direction sort direction (asc / desc)
+     * @param status    optional loan status filter
+     * @return the page and the total number of matching loans
+     */
+    Mono<LoanPage> listLoans(int page, int size, String sortBy, String direction, LoanStatus status);
+
+    /**
+     * Moves a loan to a final status (approve / reject).
+     *
+     * Fails with 404 if the loan does not exist, and with 409 while another
+     * analyst holds an active work queue lease on it.
+     *
+     * @param id      loan identifier
+     * @param status  new status
+     * @param actorId deciding user
+     * @return the updated loan
+     */
+    Mono<Loan> decide(Long id, LoanStatus status, Long actorId);
+
+    /**
+     * One page of loans, in the same shape as a Spring Data Page.
+     */
+    record LoanPage(List<Loan> content, int number, int size, long totalElements, int totalPages) {}
+}
@@ -0,0 +1,121 @@
+package com.loanflow.reactive.service.impl;
+
+import com.loanflow.loanflow.dto.LoanRequest;
+import com.loanflow.loanflow.entity.LoanStatus;
+import com.loanflow.loanflow.service.EligibilityService;
+import com.loanflow.reactive.entity.Loan;
+import com.loanflow.reactive.repository.ReactiveLoanRepository;
+import com.loanflow.reactive.service.ReactiveLoanService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Implementation of ReactiveLoanService on R2DBC.
+ *
+ * Scoring uses the servlet module's EligibilityService unchanged: it is
+ * pure CPU work, so it runs on the event loop without blocking it.
+ *
+ * Not ported from the servlet stack: the credit bureau lookup, duplicate
+ * detection, Idempotency-Key handling and loan change events (applications
+ * keep their self-reported credit score here).
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveLoanServiceImpl implements ReactiveLoanService {
+
+    /**
+     * Decision policy recorded for analyst decisions (as in LoanServiceImpl).
+     */
+    private static final String MANUAL_POLICY = "MANUAL";
+
+    /**
+     * Sets the decision and ends any lease, unless another analyst's lease is
+     * still active. Both the expiry check and decided_at use the database
+     * clock, like the work queue that writes lease_expires_at.
+     */
+    private static final String DECIDE_SQL =
+            "UPDATE loan_application "
+                    + "SET status = :status, decision_policy = :policy, decided_at = LOCALTIMESTAMP, "
+                    + "leased_by = NULL, lease_expires_at = NULL "
+                    + "WHERE id = :id AND (leased_by IS NULL OR leased_by = :actor OR lease_expires_at < LOCALTIMESTAMP)";
+
+    private final ReactiveLoanRepository loanRepository;
+    private final DatabaseClient databaseClient;
+    private final EligibilityService eligibilityService;
+
+    @Override
+    public Mono<Loan> applyLoan(LoanRequest req, Long userId) {
+        var eval = eligibilityService.evaluate(req);
+
+        Loan loan = new Loan();
+        loan.setAmount(req.getAmount());
+        loan.setTenure(req.getTenure());
+
+        loan.setFullName(req.getFullName());
+        loan.setMonthlyIncome(req.getMonthlyIncome());
+        loan.setMonthlyDebt(req.getMonthlyDebt());
+        loan.setCreditScore(req.getCreditScore());
+        loan.setCreditScoreSource("SELF_REPORTED");
+        loan.setSelfReportedCreditScore(req.getCreditScore());
+        loan.setEmploymentType(req.getEmploymentType());
+        loan.setPurpose(req.getPurpose());
+
+        loan.setDti(eval.dti());
+        loan.setRiskScore(eval.riskScore());
+        loan.setEligibilityDecision(eval.decision());
+        loan.setRulesVersion(eligibilityService.rulesVersion());
+
+        loan.setInterestRate(eval.recommendedRate());
+        loan.setStatus(LoanStatus.SUBMITTED);
+        loan.setDuplicateSuspected(false);
+        loan.setCreatedAt(LocalDateTime.now());
+        loan.setUserId(userId);
+
+        return loanRepository.save(loan);
+    }
+
+    @Override
+    public Mono<LoanPage> listLoans(int page, int size, String sortBy, String direction, LoanStatus status) {
+        Sort sort = "desc".equalsIgnoreCase(direction)
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+        PageRequest pageable = PageRequest.of(page, size, sort);
+
+        // Page query and count run concurrently on the connection pool
+        return Mono.zip(
+                (status == null ? loanRepository.findAllBy(pageable) : loanRepository.findByStatus(status, pageable))
+                        .collectList(),
+                status == null ? loanRepository.count() : loanRepository.countByStatus(status)
+        ).map(t -> new LoanPage(t.getT1(), page, size, t.getT2(), (int) Math.ceil((double) t.getT2() / size)));
+    }
+
+    /**
+     * Applies the decision as one conditional UPDATE that also checks and
+     * ends the lease, so it cannot overwrite a claim made in the meantime;
+     * the row is only read afterwards (or to explain why nothing changed).
+     */
+    @Override
+    public Mono<Loan> decide(Long id, LoanStatus status, Long actorId) {
+        DatabaseClient.GenericExecuteSpec update = databaseClient.sql(DECIDE_SQL)
+                .bind("status", status.name())
+                .bind("policy", MANUAL_POLICY)
+                .bind("id", id);
+        update = (actorId == null) ? update.bindNull("actor", Long.class) : update.bind("actor", actorId);
+
+        return update.fetch().rowsUpdated()
+                .flatMap(updated -> loanRepository.findById(id)
+                        .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Loan not found")))
+                        .flatMap(loan -> updated > 0
+                                ? Mono.just(loan)
+                                : Mono.error(new ResponseStatusException(HttpStatus.CONFLICT,
+                                        "Loan is leased by another analyst"))));
+    }
+}
@@ -0,0 +1,38 @@
+-- Embedded (H2) schema for running the reactive API standalone.
+-- Same columns as the servlet module's Flyway-managed tables; PostgreSQL
+-- deployments use those migrations instead.
+
+CREATE TABLE IF NOT EXISTS loan_application (
+    id                   bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount               double precision,
+    interest_rate        double precision,
+    tenure               integer,
+    status               varchar(255),
+    created_at           timestamp(6) NOT NULL,
+    decision_policy      varchar(100),
+    decided_at           timestamp(6),
+    full_name            varchar(255),
+    monthly_income       double precision,
+    monthly_debt         double precision,
+    credit_score         integer,
+    credit_score_source  varchar(255),
+    self_reported_credit_score integer,
+    employment_type      varchar(255),
+    purpose              varchar(255),
+    dti                  double precision,
+    risk_score           integer,
+    eligibility_decision varchar(255),
+    rules_version        integer,
+    duplicate_suspected  boolean,
+    user_id              bigint,
+    leased_by            bigint,
+    lease_expires_at     timestamp(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_loan_application_status_created ON loan_application (status, created_at);
+
+CREATE TABLE IF NOT EXISTS token_revocation (
+    user_id        bigint PRIMARY KEY,
+    revoked_before timestamp(6) with time zone NOT NULL,
+    updated_at     timestamp(6) with time zone NOT NULL
+);
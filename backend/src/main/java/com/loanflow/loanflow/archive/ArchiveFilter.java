@@ -0,0 +1,35 @@
+package com.loanflow.loanflow.archive;
+
+import com.loanflow.loanflow.entity.LoanStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter applied to archive segments; every field is optional.
+ *
+ * @param from    inclusive lower bound on createdAt
+ * @param to      exclusive upper bound on createdAt
+ * @param status  exact status
+ * @param minRisk inclusive lower bound on riskScore
+ * @param maxRisk inclusive upper bound on riskScore
+ */
+public record ArchiveFilter(
+        LocalDateTime from,
+        LocalDateTime to,
+        LoanStatus status,
+        Integer minRisk,
+        Integer maxRisk
+) {
+
+    /**
+     * Row-level check against the filter columns.
+     */
+    boolean matches(long createdMillis, int statusOrdinal, int risk) {
+        if (from != null && createdMillis < LoanSegment.toMillis(from)) return false;
+        if (to != null && createdMillis >= LoanSegment.toMillis(to)) return false;
+        if (status != null && statusOrdinal != status.ordinal()) return false;
+        if (minRisk != null && (risk == LoanSegment.NULL_INT || risk < minRisk)) return false;
+        if (maxRisk != null && (risk == LoanSegment.NULL_INT || risk > maxRisk)) return false;
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.loanflow.loanflow.archive;
+
+import com.loanflow.loanflow.entity.LoanStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable, read-only view of a loan stored in a cold archive segment.
+ *
+ * Mirrors every column of LoanApplication; the owning user is referenced
+ * by id only.
+ */
+public record ArchivedLoan(
+        Long id,
+        LocalDateTime createdAt,
+        LoanStatus status,
+        Integer riskScore,
+        Double amount,
+        Double interestRate,
+        Integer tenure,
+        Integer creditScore,
+        Double monthlyIncome,
+        Double monthlyDebt,
+        Double dti,
+        Long userId,
+        String fullName,
+        String employmentType,
+        String purpose,
+        String eligibilityDecision,
+        String creditScoreSource,
+        Integer selfReportedCreditScore,
+        Integer rulesVersion,
+        Boolean duplicateSuspected,
+        String decisionPolicy,
+        LocalDateTime decidedAt,
+        Long leasedBy,
+        LocalDateTime leaseExpiresAt
+) {}
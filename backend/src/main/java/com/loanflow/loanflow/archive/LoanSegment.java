@@ -0,0 +1,510 @@
+package com.loanflow.loanflow.archive;
+
+import com.loanflow.loanflow.entity.LoanStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable, compressed, columnar segment file of archived loans.
+ *
+ * File layout (big-endian):
+ * <pre>
+ *  header     magic "LFSG", version, rowCount
+ *  zone map   minCreatedAt, maxCreatedAt (epoch millis, UTC),
+ *             minRiskScore, maxRiskScore, statusMask (bit per LoanStatus ordinal)
+ *  directory  per column: offset, compressedLength, rawLength
+ *  columns    one Deflate-compressed block per column
+ * </pre>
+ *
+ * Ids and creation times are delta-encoded before compression. Nulls use
+ * sentinels (NaN for doubles, MIN_VALUE for ints/longs, -1 for booleans
+ * and string lengths).
+ *
+ * Every loan_application column is stored (24).
+ *
+ * Reading memory-maps the file; the header and zone map are parsed once,
+ * and a scan first checks the zone map, then decompresses only the filter
+ * columns, and decompresses the remaining columns only if some row matches.
+ */
+public final class LoanSegment {
+
+    static final int NULL_INT = Integer.MIN_VALUE;
+    static final long NULL_LONG = Long.MIN_VALUE;
+
+    private static final int MAGIC = 0x4C465347;   // "LFSG"
+    private static final int VERSION = 2;
+
+    // Column order inside the file
+    private static final int ID = 0, CREATED_AT = 1, STATUS = 2, RISK = 3, AMOUNT = 4, RATE = 5,
+            TENURE = 6, CREDIT = 7, INCOME = 8, DEBT = 9, DTI = 10, USER_ID = 11, FULL_NAME = 12,
+            EMPLOYMENT = 13, PURPOSE = 14, DECISION = 15, SCORE_SOURCE = 16, SELF_REPORTED = 17,
+            RULES_VERSION = 18, DUPLICATE = 19, POLICY = 20, DECIDED_AT = 21, LEASED_BY = 22,
+            LEASE_EXPIRES_AT = 23;
+    private static final int COLUMNS = 24;
+
+    private static final int HEADER_BYTES = 3 * 4 + 2 * 8 + 3 * 4 + COLUMNS * 3 * 4;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int rowCount;
+    private final long minCreated;
+    private final long maxCreated;
+    private final int minRisk;
+    private final int maxRisk;
+    private final int statusMask;
+    private final int[] offsets = new int[COLUMNS];
+    private final int[] compressedLengths = new int[COLUMNS];
+    private final int[] rawLengths = new int[COLUMNS];
+
+    private LoanSegment(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a loan segment: " + path);
+        }
+        this.rowCount = buffer.getInt(8);
+        this.minCreated = buffer.getLong(12);
+        this.maxCreated = buffer.getLong(20);
+        this.minRisk = buffer.getInt(28);
+        this.maxRisk = buffer.getInt(32);
+        this.statusMask = buffer.getInt(36);
+
+        int pos = 40;
+        for (int c = 0; c < COLUMNS; c++) {
+            offsets[c] = buffer.getInt(pos);
+            compressedLengths[c] = buffer.getInt(pos + 4);
+            rawLengths[c] = buffer.getInt(pos + 8);
+            pos += 12;
+        }
+    }
+
+    /**
+     * Memory-maps an existing segment file.
+     */
+    public static LoanSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new LoanSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public long maxCreatedMillis() {
+        return maxCreated;
+    }
+
+    /**
+     * Decompresses every column and checks that each holds one value per
+     * row and that ids ascend, as written.
+     *
+     * @throws IOException if the file is truncated or corrupt
+     */
+    public void verify() throws IOException {
+        try {
+            int[] widths = {8, 8, 1, 4, 8, 8, 4, 4, 8, 8, 8, 8, 0, 0, 0, 0, 0, 4, 4, 1, 0, 8, 8, 8};
+            for (int c = 0; c < COLUMNS; c++) {
+                ByteBuffer b = column(c);
+                if (widths[c] == 0 ? strings(b).length != rowCount : b.capacity() != rowCount * widths[c]) {
+                    throw new IOException("Column " + c + " does not hold " + rowCount + " rows in " + path);
+                }
+            }
+            long[] ids = deltaLongs(column(ID));
+            for (int i = 1; i < rowCount; i++) {
+                if (ids[i] <= ids[i - 1]) {
+                    throw new IOException("Ids out of order in " + path);
+                }
+            }
+        } catch (IllegalStateException | IndexOutOfBoundsException ex) {
+            throw new IOException("Corrupt loan segment " + path, ex);
+        }
+    }
+
+    /**
+     * Zone-map check: false means no row in this segment can match.
+     */
+    public boolean mayMatch(ArchiveFilter f) {
+        if (rowCount == 0) return false;
+        if (f.from() != null && maxCreated < toMillis(f.from())) return false;
+        if (f.to() != null && minCreated >= toMillis(f.to())) return false;
+        if (f.status() != null && (statusMask & (1 << f.status().ordinal())) == 0) return false;
+        if (f.minRisk() != null && (maxRisk == NULL_INT || maxRisk < f.minRisk())) return false;
+        if (f.maxRisk() != null && (minRisk == NULL_INT || minRisk > f.maxRisk())) return false;
+        return true;
+    }
+
+    /**
+     * Returns up to {@code limit} rows matching the filter, newest first.
+     */
+    public List<ArchivedLoan> scan(ArchiveFilter f, int limit) {
+        if (limit <= 0 || !mayMatch(f)) return List.of();
+
+        // Decode only the filter columns first
+        long[] created = deltaLongs(column(CREATED_AT));
+        ByteBuffer statuses = column(STATUS);
+        ByteBuffer risks = column(RISK);
+
+        // Rows are stored in id order, so walking backwards yields the newest first
+        int[] hits = new int[Math.min(limit, rowCount)];
+        int hitCount = 0;
+        for (int i = rowCount - 1; i >= 0 && hitCount < hits.length; i--) {
+            if (f.matches(created[i], statuses.get(i), risks.getInt(i * 4))) {
+                hits[hitCount++] = i;
+            }
+        }
+        if (hitCount == 0) return List.of();
+
+        // Materialize the remaining columns only for segments with matches
+        long[] ids = deltaLongs(column(ID));
+        ByteBuffer amounts = column(AMOUNT), rates = column(RATE), tenures = column(TENURE),
+                credits = column(CREDIT), incomes = column(INCOME), debts = column(DEBT),
+                dtis = column(DTI), users = column(USER_ID);
+        String[] names = strings(column(FULL_NAME)), employment = strings(column(EMPLOYMENT)),
+                purposes = strings(column(PURPOSE)), decisions = strings(column(DECISION)),
+                sources = strings(column(SCORE_SOURCE));
+        ByteBuffer selfReported = column(SELF_REPORTED), rulesVersions = column(RULES_VERSION),
+                duplicates = column(DUPLICATE), decidedAt = column(DECIDED_AT),
+                leasedBy = column(LEASED_BY), leaseExpiresAt = column(LEASE_EXPIRES_AT);
+        String[] policies = strings(column(POLICY));
+
+        LoanStatus[] statusValues = LoanStatus.values();
+        List<ArchivedLoan> rows = new ArrayList<>(hitCount);
+        for (int h = 0; h < hitCount; h++) {
+            int i = hits[h];
+            byte s = statuses.get(i);
+            rows.add(new ArchivedLoan(
+                    ids[i],
+                    fromMillis(created[i]),
+                    s < 0 ? null : statusValues[s],
+                    intOrNull(risks.getInt(i * 4)),
+                    doubleOrNull(amounts.getDouble(i * 8)),
+                    doubleOrNull(rates.getDouble(i * 8)),
+                    intOrNull(tenures.getInt(i * 4)),
+                    intOrNull(credits.getInt(i * 4)),
+                    doubleOrNull(incomes.getDouble(i * 8)),
+                    doubleOrNull(debts.getDouble(i * 8)),
+                    doubleOrNull(dtis.getDouble(i * 8)),
+                    users.getLong(i * 8) == NULL_LONG ? null : users.getLong(i * 8),
+                    names[i], employment[i], purposes[i], decisions[i], sources[i],
+                    intOrNull(selfReported.getInt(i * 4)),
+                    intOrNull(rulesVersions.getInt(i * 4)),
+                    duplicates.get(i) < 0 ? null : duplicates.get(i) == 1,
+                    policies[i],
+                    timeOrNull(decidedAt.getLong(i * 8)),
+                    longOrNull(leasedBy.getLong(i * 8)),
+                    timeOrNull(leaseExpiresAt.getLong(i * 8))
+            ));
+        }
+        return rows;
+    }
+
+    /**
+     * Adds the owners of loans created at or after the given time to {@code out}.
+     * Only the createdAt and userId columns are decompressed.
+     */
+    public void collectUserIdsSince(long sinceMillis, Set<Long> out) {
+        if (rowCount == 0 || maxCreated < sinceMillis) return;
+
+        long[] created = deltaLongs(column(CREATED_AT));
+        ByteBuffer users = column(USER_ID);
+        for (int i = 0; i < rowCount; i++) {
+            long user = users.getLong(i * 8);
+            if (created[i] >= sinceMillis && user != NULL_LONG) {
+                out.add(user);
+            }
+        }
+    }
+
+    /**
+     * True if a loan created at or after the given time has no owner.
+     */
+    public boolean hasUnlinkedLoansSince(long sinceMillis) {
+        if (rowCount == 0 || maxCreated < sinceMillis) return false;
+
+        long[] created = deltaLongs(column(CREATED_AT));
+        ByteBuffer users = column(USER_ID);
+        for (int i = 0; i < rowCount; i++) {
+            if (created[i] >= sinceMillis && users.getLong(i * 8) == NULL_LONG) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ----------------------------
+    // Writing
+    // ----------------------------
+
+    /**
+     * Writes rows to a new segment file atomically (temp file + rename).
+     */
+    public static void write(Path target, List<ArchivedLoan> rows) throws IOException {
+        int n = rows.size();
+        byte[][] raw = new byte[COLUMNS][];
+
+        ByteBuffer ids = ByteBuffer.allocate(n * 8), created = ByteBuffer.allocate(n * 8),
+                statuses = ByteBuffer.allocate(n), risks = ByteBuffer.allocate(n * 4),
+                amounts = ByteBuffer.allocate(n * 8), rates = ByteBuffer.allocate(n * 8),
+                tenures = ByteBuffer.allocate(n * 4), credits = ByteBuffer.allocate(n * 4),
+                incomes = ByteBuffer.allocate(n * 8), debts = ByteBuffer.allocate(n * 8),
+                dtis = ByteBuffer.allocate(n * 8), users = ByteBuffer.allocate(n * 8),
+                selfReported = ByteBuffer.allocate(n * 4), rulesVersions = ByteBuffer.allocate(n * 4),
+                duplicates = ByteBuffer.allocate(n), decidedAt = ByteBuffer.allocate(n * 8),
+                leasedBy = ByteBuffer.allocate(n * 8), leaseExpiresAt = ByteBuffer.allocate(n * 8);
+        StringColumn names = new StringColumn(), employment = new StringColumn(), purposes = new StringColumn(),
+                decisions = new StringColumn(), sources = new StringColumn(), policies = new StringColumn();
+
+        long minCreated = Long.MAX_VALUE, maxCreated = Long.MIN_VALUE, prevId = 0, prevCreated = 0;
+        int minRisk = Integer.MAX_VALUE, maxRisk = Integer.MIN_VALUE, statusMask = 0;
+
+        for (ArchivedLoan r : rows) {
+            long c = toMillis(r.createdAt());
+            ids.putLong(r.id() - prevId);
+            created.putLong(c - prevCreated);
+            prevId = r.id();
+            prevCreated = c;
+            minCreated = Math.min(minCreated, c);
+            maxCreated = Math.max(maxCreated, c);
+
+            statuses.put(r.status() == null ? -1 : (byte) r.status().ordinal());
+            if (r.status() != null) statusMask |= 1 << r.status().ordinal();
+
+            risks.putInt(r.riskScore() == null ? NULL_INT : r.riskScore());
+            if (r.riskScore() != null) {
+                minRisk = Math.min(minRisk, r.riskScore());
+                maxRisk = Math.max(maxRisk, r.riskScore());
+            }
+
+            amounts.putDouble(orNaN(r.amount()));
+            rates.putDouble(orNaN(r.interestRate()));
+            tenures.putInt(r.tenure() == null ? NULL_INT : r.tenure());
+            credits.putInt(r.creditScore() == null ? NULL_INT : r.creditScore());
+            incomes.putDouble(orNaN(r.monthlyIncome()));
+            debts.putDouble(orNaN(r.monthlyDebt()));
+            dtis.putDouble(orNaN(r.dti()));
+            users.putLong(r.userId() == null ? NULL_LONG : r.userId());
+            names.add(r.fullName());
+            employment.add(r.employmentType());
+            purposes.add(r.purpose());
+            decisions.add(r.eligibilityDecision());
+            sources.add(r.creditScoreSource());
+            selfReported.putInt(r.selfReportedCreditScore() == null ? NULL_INT : r.selfReportedCreditScore());
+            rulesVersions.putInt(r.rulesVersion() == null ? NULL_INT : r.rulesVersion());
+            duplicates.put(r.duplicateSuspected() == null ? -1 : (byte) (r.duplicateSuspected() ? 1 : 0));
+            policies.add(r.decisionPolicy());
+            decidedAt.putLong(r.decidedAt() == null ? NULL_LONG : toMillis(r.decidedAt()));
+            leasedBy.putLong(r.leasedBy() == null ? NULL_LONG : r.leasedBy());
+            leaseExpiresAt.putLong(r.leaseExpiresAt() == null ? NULL_LONG : toMillis(r.leaseExpiresAt()));
+        }
+
+        raw[ID] = ids.array();
+        raw[CREATED_AT] = created.array();
+        raw[STATUS] = statuses.array();
+        raw[RISK] = risks.array();
+        raw[AMOUNT] = amounts.array();
+        raw[RATE] = rates.array();
+        raw[TENURE] = tenures.array();
+        raw[CREDIT] = credits.array();
+        raw[INCOME] = incomes.array();
+        raw[DEBT] = debts.array();
+        raw[DTI] = dtis.array();
+        raw[USER_ID] = users.array();
+        raw[FULL_NAME] = names.toByteArray();
+        raw[EMPLOYMENT] = employment.toByteArray();
+        raw[PURPOSE] = purposes.toByteArray();
+        raw[DECISION] = decisions.toByteArray();
+        raw[SCORE_SOURCE] = sources.toByteArray();
+        raw[SELF_REPORTED] = selfReported.array();
+        raw[RULES_VERSION] = rulesVersions.array();
+        raw[DUPLICATE] = duplicates.array();
+        raw[POLICY] = policies.toByteArray();
+        raw[DECIDED_AT] = decidedAt.array();
+        raw[LEASED_BY] = leasedBy.array();
+        raw[LEASE_EXPIRES_AT] = leaseExpiresAt.array();
+
+        byte[][] compressed = new byte[COLUMNS][];
+        int offset = HEADER_BYTES;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(n)
+                .putLong(n == 0 ? 0 : minCreated).putLong(n == 0 ? 0 : maxCreated)
+                .putInt(minRisk == Integer.MAX_VALUE ? NULL_INT : minRisk)
+                .putInt(maxRisk == Integer.MIN_VALUE ? NULL_INT : maxRisk)
+                .putInt(statusMask);
+
+        for (int c = 0; c < COLUMNS; c++) {
+            compressed[c] = deflate(raw[c]);
+            header.putInt(offset).putInt(compressed[c].length).putInt(raw[c].length);
+            offset += compressed[c].length;
+        }
+        header.flip();
+
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(out, header);
+            for (byte[] block : compressed) {
+                writeFully(out, ByteBuffer.wrap(block));
+            }
+            out.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // Make the rename itself durable before the caller drops the source rows
+        try (FileChannel parent = FileChannel.open(target.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            parent.force(true);
+        } catch (IOException ignored) {
+            // Directories cannot be opened for fsync on every platform
+        }
+    }
+
+    public static long toMillis(LocalDateTime t) {
+        return t.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    // ----------------------------
+    // Encoding helpers
+    // ----------------------------
+
+    /**
+     * Length-prefixed UTF-8 strings; a length of -1 encodes null.
+     */
+    private static final class StringColumn {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        void add(String s) throws IOException {
+            if (s == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(b.length);
+            out.write(b);
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Inflates one column directly from the mapped file.
+     */
+    private ByteBuffer column(int c) {
+        byte[] out = new byte[rawLengths[c]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offsets[c], compressedLengths[c]));
+            int done = 0;
+            while (done < out.length) {
+                int k = inflater.inflate(out, done, out.length - done);
+                if (k == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Corrupt column " + c + " in " + path);
+                }
+                done += k;
+            }
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt column " + c + " in " + path, ex);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(out);
+    }
+
+    private long[] deltaLongs(ByteBuffer b) {
+        long[] values = new long[rowCount];
+        long prev = 0;
+        for (int i = 0; i < rowCount; i++) {
+            prev += b.getLong(i * 8);
+            values[i] = prev;
+        }
+        return values;
+    }
+
+    private String[] strings(ByteBuffer b) {
+        String[] values = new String[rowCount];
+        int pos = 0;
+        for (int i = 0; i < rowCount; i++) {
+            int len = b.getInt(pos);
+            pos += 4;
+            if (len >= 0) {
+                values[i] = new String(b.array(), pos, len, StandardCharsets.UTF_8);
+                pos += len;
+            }
+        }
+        return values;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+            byte[] chunk = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                int k = deflater.deflate(chunk);
+                out.write(chunk, 0, k);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer b) throws IOException {
+        while (b.hasRemaining()) {
+            out.write(b);
+        }
+    }
+
+    private static double orNaN(Double d) {
+        return d == null ? Double.NaN : d;
+    }
+
+    private static Double doubleOrNull(double d) {
+        return Double.isNaN(d) ? null : d;
+    }
+
+    private static Integer intOrNull(int i) {
+        return i == NULL_INT ? null : i;
+    }
+
+    private static Long longOrNull(long l) {
+        return l == NULL_LONG ? null : l;
+    }
+
+    private static LocalDateTime timeOrNull(long millis) {
+        return millis == NULL_LONG ? null : fromMillis(millis);
+    }
+}
@@ -0,0 +1,131 @@
+package com.loanflow.loanflow.cache;
+
+/**
+ * Fixed-memory sliding-window set of 64-bit fingerprints.
+ *
+ * Layout:
+ *  - Two parallel arrays: fingerprints (long) and insertion times (int, seconds)
+ *  - Slots are grouped into buckets of {@value #BUCKET_SIZE}; a fingerprint
+ *    lives only in the bucket selected by its hash, so every operation scans
+ *    at most {@value #BUCKET_SIZE} adjacent slots (constant time, cache friendly)
+ *  - Entries older than the window are treated as free slots; when a bucket is
+ *    full of live entries the oldest one is overwritten
+ *
+ * Memory is allocated once: 12 bytes per slot (e.g. 2M slots ≈ 24 MB).
+ * Overwriting under pressure means the window degrades gracefully (very old
+ * entries may be forgotten early) instead of growing.
+ *
+ * Thread-safety: check-and-insert is atomic per bucket via striped locks.
+ */
+public class FingerprintWindow {
+
+    private static final int BUCKET_SIZE = 8;
+    private static final int LOCK_STRIPES = 1024;
+
+    private final long[] fingerprints;
+    private final int[] stamps;
+    private final int bucketMask;
+    private final int windowSeconds;
+    private final long epochMillis = System.currentTimeMillis();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    /**
+     * @param capacity      requested number of slots (rounded up to a power of two)
+     * @param windowSeconds how long a fingerprint is remembered
+     */
+    public FingerprintWindow(int capacity, int windowSeconds) {
+        int slots = Integer.highestOneBit(Math.max(BUCKET_SIZE, capacity - 1)) << 1;
+        this.fingerprints = new long[slots];
+        this.stamps = new int[slots];
+        this.bucketMask = (slots / BUCKET_SIZE) - 1;
+        this.windowSeconds = windowSeconds;
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Records a fingerprint and reports whether it was already present
+     * within the window.
+     *
+     * @param fingerprint 64-bit fingerprint of the item
+     * @return true if the fingerprint was seen within the window (duplicate)
+     */
+    public boolean checkAndInsert(long fingerprint) {
+        long fp = (fingerprint == 0) ? 1 : fingerprint;   // 0 marks an empty slot
+        int now = nowSeconds();
+        int bucket = (int) (mix(fp) & bucketMask);
+        int base = bucket * BUCKET_SIZE;
+
+        synchronized (locks[bucket & (LOCK_STRIPES - 1)]) {
+            int free = -1;
+            int oldest = base;
+
+            for (int i = base; i < base + BUCKET_SIZE; i++) {
+                boolean live = fingerprints[i] != 0 && now - stamps[i] <= windowSeconds;
+
+                if (live && fingerprints[i] == fp) {
+                    return true;
+                }
+                if (!live && free < 0) {
+                    free = i;
+                }
+                if (stamps[i] < stamps[oldest]) {
+                    oldest = i;
+                }
+            }
+
+            int slot = (free >= 0) ? free : oldest;
+            fingerprints[slot] = fp;
+            stamps[slot] = now;
+            return false;
+        }
+    }
+
+    /**
+     * Removes a fingerprint recorded by {@link #checkAndInsert}, e.g. when the
+     * item it stands for was never stored. No-op if it is not present.
+     *
+     * @param fingerprint 64-bit fingerprint of the item
+     */
+    public void remove(long fingerprint) {
+        long fp = (fingerprint == 0) ? 1 : fingerprint;
+        int bucket = (int) (mix(fp) & bucketMask);
+        int base = bucket * BUCKET_SIZE;
+
+        synchronized (locks[bucket & (LOCK_STRIPES - 1)]) {
+            for (int i = base; i < base + BUCKET_SIZE; i++) {
+                if (fingerprints[i] == fp) {
+                    fingerprints[i] = 0;
+                    stamps[i] = 0;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Total number of slots (fixed at construction).
+     */
+    public int capacity() {
+        return fingerprints.length;
+    }
+
+    /**
+     * Seconds elapsed since this window was created.
+     * Starts at 1 so a zero stamp never looks fresh.
+     */
+    private int nowSeconds() {
+        return (int) ((System.currentTimeMillis() - epochMillis) / 1000) + 1;
+    }
+
+    /**
+     * Finalizer from SplitMix64; decorrelates bucket choice from the fingerprint bits.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,142 @@
+package com.loanflow.loanflow.cache;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Compact, thread-safe map from long keys to long values.
+ *
+ * Layout:
+ *  - Open addressing with linear probing over a single primitive array of
+ *    interleaved key/value pairs (16 bytes per slot, no boxing, no per-entry objects)
+ *  - Key 0 is reserved as the empty marker
+ *  - Capacity doubles when the table is half full
+ *
+ * Reads use an optimistic StampedLock read and only fall back to a read
+ * lock if a concurrent write happened; writes take the write lock.
+ * Intended for small, read-mostly maps consulted on hot paths.
+ */
+public class LongLongMap {
+
+    private final StampedLock lock = new StampedLock();
+    private long[] table;
+    private int size;
+
+    public LongLongMap(int initialCapacity) {
+        int slots = Integer.highestOneBit(Math.max(16, initialCapacity * 2 - 1)) << 1;
+        this.table = new long[slots * 2];
+    }
+
+    /**
+     * Returns the value for a key, or {@code missing} if absent.
+     */
+    public long get(long key, long missing) {
+        long stamp = lock.tryOptimisticRead();
+        long result = find(table, key, missing);
+        if (lock.validate(stamp)) return result;
+
+        stamp = lock.readLock();
+        try {
+            return find(table, key, missing);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Stores the value unless the key already maps to a greater one.
+     */
+    public void putMax(long key, long value) {
+        if (key == 0) throw new IllegalArgumentException("Key 0 is reserved");
+
+        long stamp = lock.writeLock();
+        try {
+            if ((size + 1) * 4 > table.length) rebuild(table.length * 2, v -> false);
+
+            int mask = table.length / 2 - 1;
+            int i = slot(key, mask);
+            while (table[2 * i] != 0 && table[2 * i] != key) i = (i + 1) & mask;
+
+            if (table[2 * i] == 0) {
+                table[2 * i + 1] = value;
+                table[2 * i] = key;
+                size++;
+            } else if (table[2 * i + 1] < value) {
+                table[2 * i + 1] = value;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes all entries whose value matches the predicate.
+     *
+     * @return number of entries removed
+     */
+    public int removeValuesIf(LongPredicate predicate) {
+        long stamp = lock.writeLock();
+        try {
+            int before = size;
+
+            // Rebuild instead of deleting in place, which would break probe chains
+            rebuild(table.length, predicate);
+            return before - size;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static long find(long[] table, long key, long missing) {
+        int slots = table.length / 2;
+        int mask = slots - 1;
+        int i = slot(key, mask);
+
+        // Bounded by the table size so a torn optimistic read cannot loop forever
+        for (int probes = 0; probes < slots; probes++) {
+            long k = table[2 * i];
+            if (k == key) return table[2 * i + 1];
+            if (k == 0) return missing;
+            i = (i + 1) & mask;
+        }
+        return missing;
+    }
+
+    /**
+     * Copies the surviving entries into a new array of the given length.
+     * Called with the write lock held.
+     */
+    private void rebuild(int length, LongPredicate drop) {
+        long[] old = table;
+        long[] fresh = new long[length];
+        int mask = length / 2 - 1;
+        int count = 0;
+
+        for (int j = 0; j < old.length; j += 2) {
+            long key = old[j];
+            if (key == 0 || drop.test(old[j + 1])) continue;
+
+            int i = slot(key, mask);
+            while (fresh[2 * i] != 0) i = (i + 1) & mask;
+            fresh[2 * i] = key;
+            fresh[2 * i + 1] = old[j + 1];
+            count++;
+        }
+        table = fresh;
+        size = count;
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,55 @@
+package com.loanflow.loanflow.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls with the same key onto a single execution.
+ *
+ * The first caller for a key runs the loader; callers arriving while it is
+ * running wait for and share its result (or its exception). Nothing is
+ * retained once the execution finishes, so this is not a cache.
+ *
+ * @param <K> key type
+ * @param <V> result type
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the loader, or joins an identical execution already in flight.
+     *
+     * @param key    identity of the call
+     * @param loader computation to run if no identical call is in flight
+     * @return the shared result
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = calls.putIfAbsent(key, mine);
+
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException ex) {
+                // Rethrow the leader's failure unchanged
+                if (ex.getCause() instanceof RuntimeException cause) throw cause;
+                throw ex;
+            }
+        }
+
+        try {
+            V result = loader.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            calls.remove(key, mine);
+        }
+    }
+}
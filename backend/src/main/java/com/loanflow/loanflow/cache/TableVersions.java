@@ -0,0 +1,169 @@
+package com.loanflow.loanflow.cache;
+
+import com.loanflow.loanflow.event.LoanChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-table versions, kept in the database (see the V10 migration).
+ *
+ * Caches include the current version in their keys, so any write makes
+ * older entries unreachable without explicit invalidation.
+ *
+ * The same versions back HTTP ETags (see {@link #etag}), so conditional
+ * GETs can be answered with 304 before touching the table itself.
+ *
+ * How versions move:
+ *  - A statement-level trigger advances the table's sequence on every
+ *    INSERT / UPDATE / DELETE / TRUNCATE, whoever issues it (other nodes,
+ *    the reactive API, manual SQL), so no writer can skip invalidation
+ *  - The trigger fires before its transaction commits; a reader in between
+ *    may cache pre-write data under the new version. Writers in this app
+ *    therefore also bump once the write has committed, once per transaction
+ *    however many rows it wrote (see {@link #bumpAfterCommit}); for writers
+ *    that do not, such entries live at most one cache TTL
+ *  - Partition DDL fires no trigger; PartitionMaintenanceService bumps
+ *    after detaching
+ *
+ * Reads are memoized for tables.versionPollMs, so writes by other
+ * processes show up within that delay; bump() drops the memo, so this
+ * node sees its own writes immediately.
+ */
+@Component
+public class TableVersions {
+
+    /**
+     * Tables whose versions are tracked, with their version sequence.
+     */
+    public enum Table {
+        LOANS("loan_application_version_seq"),
+        USERS("users_version_seq");
+
+        private final String sequence;
+
+        Table(String sequence) {
+            this.sequence = sequence;
+        }
+    }
+
+    // is_called is false until the first nextval, when last_value is already 1
+    private static final String READ_SQL = "SELECT "
+            + "(SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM loan_application_version_seq), "
+            + "(SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM users_version_seq)";
+
+    private record Snapshot(long loans, long users, long readAtNanos) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long pollNanos;
+
+    private volatile Snapshot snapshot;
+
+    public TableVersions(
+            JdbcTemplate jdbcTemplate,
+            @Value("${tables.versionPollMs:100}") long pollMs
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pollNanos = Math.max(pollMs, 0) * 1_000_000;
+    }
+
+    /**
+     * Returns the current version of a table (at most tables.versionPollMs old).
+     */
+    public long current(Table table) {
+        Snapshot s = snapshot();
+        return table == Table.LOANS ? s.loans() : s.users();
+    }
+
+    /**
+     * Advances the version of a table. Call it after the write has committed:
+     * nextval is not transactional, so an earlier call would let readers
+     * cache the old rows under the new version.
+     */
+    public void bump(Table table) {
+        jdbcTemplate.queryForObject("SELECT nextval('" + table.sequence + "')", Long.class);
+        snapshot = null;
+    }
+
+    /**
+     * Bumps a table once the current transaction commits. Repeated calls in
+     * the same transaction register a single bump, so a chunk of loan writes
+     * costs one nextval, not one per loan. Without a transaction the write
+     * has already committed, so the bump happens at once.
+     */
+    public void bumpAfterCommit(Table table) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(table);
+            return;
+        }
+        // Only the current transaction's synchronizations are listed, not those of a suspended one
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sync instanceof BumpOnCommit pending && pending.table == table) return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new BumpOnCommit(table));
+    }
+
+    /**
+     * Returns a weak ETag for data read from the given tables.
+     *
+     * Read it before running the query: a write committing in between then
+     * yields a newer body under an older tag, which only costs the next
+     * client one extra 200, never a stale 304.
+     *
+     * @param variant name of the negotiated representation (json, smile,
+     *                cbor), so each encoding of the same data gets its own tag
+     */
+    public String etag(String variant, Table... tables) {
+        Snapshot s = snapshot();
+        StringBuilder tag = new StringBuilder("W/\"").append(variant);
+        for (Table table : tables) {
+            tag.append('-').append(table == Table.LOANS ? s.loans() : s.users());
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Bumps the loans version once the loan write's transaction has committed.
+     */
+    @EventListener
+    public void onLoanChanged(LoanChangedEvent event) {
+        bumpAfterCommit(Table.LOANS);
+    }
+
+    /**
+     * The single pending bump of a table in one transaction.
+     */
+    private final class BumpOnCommit implements TransactionSynchronization {
+        private final Table table;
+
+        BumpOnCommit(Table table) {
+            this.table = table;
+        }
+
+        @Override
+        public void afterCommit() {
+            bump(table);
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot s = snapshot;
+        if (s != null && System.nanoTime() - s.readAtNanos() < pollNanos) {
+            return s;
+        }
+        synchronized (this) {
+            s = snapshot;
+            if (s != null && System.nanoTime() - s.readAtNanos() < pollNanos) {
+                return s;
+            }
+            s = jdbcTemplate.queryForObject(READ_SQL,
+                    (rs, i) -> new Snapshot(rs.getLong(1), rs.getLong(2), System.nanoTime()));
+            snapshot = s;
+            return s;
+        }
+    }
+}
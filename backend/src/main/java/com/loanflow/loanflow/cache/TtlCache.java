@@ -0,0 +1,103 @@
+package com.loanflow.loanflow.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small, thread-safe, size-bounded cache with per-entry time-to-live.
+ *
+ * Entries expire lazily on read, and expired entries are purged when the
+ * cache reaches its size limit. If the cache is still full after purging,
+ * arbitrary entries are dropped; callers must treat it as a best-effort
+ * cache, never as a source of truth.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class TtlCache<K, V> {
+
+    /**
+     * Cached value together with its absolute expiry time (System.nanoTime based).
+     */
+    private record Entry<V>(V value, long expiresAtNanos) {}
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    /**
+     * @param ttlMillis  time-to-live of each entry in milliseconds
+     * @param maxEntries maximum number of entries kept in memory
+     */
+    public TtlCache(long ttlMillis, int maxEntries) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the cached value, or null if missing or expired.
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return null;
+
+        if (System.nanoTime() - entry.expiresAtNanos() > 0) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Stores a value, evicting expired (and if necessary arbitrary) entries
+     * when the cache is full.
+     */
+    public void put(K key, V value) {
+        if (ttlNanos <= 0 || maxEntries <= 0) return;
+
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Removes a single entry.
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Current number of entries (including not-yet-purged expired ones).
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Purges expired entries; if that frees nothing, drops roughly 10%
+     * of the entries to make room.
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(e -> now - e.expiresAtNanos() > 0);
+
+        if (entries.size() >= maxEntries) {
+            int toDrop = Math.max(1, maxEntries / 10);
+            Iterator<K> it = entries.keySet().iterator();
+            while (toDrop-- > 0 && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+}
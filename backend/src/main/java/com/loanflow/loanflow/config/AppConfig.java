@@ -2,6 +2,7 @@ package com.loanflow.loanflow.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -11,8 +12,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
  * This class is used to define reusable Spring Beans that can be injected
  * throughout the application. Keeping common configurations centralized
  * improves maintainability and consistency.
+ *
+ * Scheduling is enabled here so that housekeeping jobs (e.g. purging
+ * expired idempotency keys) can be declared with @Scheduled.
  */
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     /**
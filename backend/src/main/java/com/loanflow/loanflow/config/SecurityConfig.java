@@ -1,6 +1,7 @@
 package com.loanflow.loanflow.config;
 
 import com.loanflow.loanflow.security.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -64,6 +65,9 @@ public class SecurityConfig {
             // Define authorization rules for all incoming requests
             .authorizeHttpRequests(auth -> auth
 
+                // Async dispatches (e.g. completing an SSE stream) were authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Allow preflight OPTIONS requests for CORS
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 
@@ -77,6 +81,24 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.PATCH, "/api/loans/*/approve").hasAnyRole("ANALYST", "ADMIN")
                 .requestMatchers(HttpMethod.PATCH, "/api/loans/*/reject").hasAnyRole("ANALYST", "ADMIN")
 
+                // Archived loan search accessible to ANALYST and ADMIN roles
+                .requestMatchers(HttpMethod.GET, "/api/loans/archive").hasAnyRole("ANALYST", "ADMIN")
+
+                // Live loan stream (SSE) for analyst dashboards
+                .requestMatchers(HttpMethod.GET, "/api/loans/stream").hasAnyRole("ANALYST", "ADMIN")
+
+                // Multi-filter loan search (plain and faceted)
+                .requestMatchers(HttpMethod.GET, "/api/loans/search", "/api/loans/search/**").hasAnyRole("ANALYST", "ADMIN")
+
+                // Applicant-name search
+                .requestMatchers(HttpMethod.GET, "/api/loans/by-name").hasAnyRole("ANALYST", "ADMIN")
+
+                // Live loan counts (status badges)
+                .requestMatchers(HttpMethod.GET, "/api/loans/counts").hasAnyRole("ANALYST", "ADMIN")
+
+                // Analyst work queue (claim / renew / release leases)
+                .requestMatchers("/api/loans/queue/**").hasAnyRole("ANALYST", "ADMIN")
+
                 // All other API endpoints require authentication
                 .requestMatchers("/api/**").authenticated()
 
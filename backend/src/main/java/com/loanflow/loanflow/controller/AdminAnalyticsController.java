@@ -0,0 +1,57 @@
+package com.loanflow.loanflow.controller;
+
+import com.loanflow.loanflow.service.VolumeRollupService;
+import com.loanflow.loanflow.service.VolumeRollupService.VolumeBucket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST controller exposing pre-aggregated analytics for admin dashboards.
+ *
+ * Data is read from incrementally maintained rollup tables, so requests
+ * never scan or group the loan table.
+ *
+ * Access is restricted to ADMIN users via SecurityConfig (/api/admin/**).
+ */
+@RestController
+@RequestMapping("/api/admin/analytics")
+@RequiredArgsConstructor
+public class AdminAnalyticsController {
+
+    /**
+     * Service providing hourly / daily volume rollups.
+     */
+    private final VolumeRollupService volumeRollupService;
+
+    /**
+     * Returns application volume per time bucket, broken down by a dimension.
+     *
+     * Example:
+     *   GET /api/admin/analytics/volume?granularity=DAY&dimension=purpose
+     *       &from=2026-10-01T00:00:00&to=2026-11-01T00:00:00
+     *
+     * Defaults to the last 7 days at daily granularity, broken down by status.
+     *
+     * @param granularity HOUR or DAY
+     * @param dimension   status, eligibilityDecision, purpose or employmentType
+     * @param from        inclusive range start (ISO date-time)
+     * @param to          exclusive range end (ISO date-time)
+     * @return buckets ordered by time
+     */
+    @GetMapping("/volume")
+    public List<VolumeBucket> volume(
+            @RequestParam(defaultValue = "DAY") String granularity,
+            @RequestParam(defaultValue = "status") String dimension,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        LocalDateTime end = (to == null) ? LocalDateTime.now().plusDays(1) : to;
+        LocalDateTime start = (from == null) ? end.minusDays(8) : from;
+
+        return volumeRollupService.volume(granularity, dimension, start, end);
+    }
+}
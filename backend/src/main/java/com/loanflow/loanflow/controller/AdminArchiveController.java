@@ -0,0 +1,46 @@
+package com.loanflow.loanflow.controller;
+
+import com.loanflow.loanflow.service.ArchiveSegmentService;
+import com.loanflow.loanflow.service.ArchiveSegmentService.ArchiveStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for operating the cold loan archive.
+ *
+ * The export normally runs on a schedule (archive.cron); these endpoints
+ * allow triggering it manually and inspecting the loaded segments.
+ *
+ * Access is restricted to ADMIN users via SecurityConfig (/api/admin/**).
+ */
+@RestController
+@RequestMapping("/api/admin/archive")
+@RequiredArgsConstructor
+public class AdminArchiveController {
+
+    /**
+     * Service exporting archived partitions into segment files.
+     */
+    private final ArchiveSegmentService archiveSegmentService;
+
+    /**
+     * Exports all partitions waiting in the loan_archive schema.
+     *
+     * @return names of the tables exported and dropped (empty if another
+     *         node is exporting); 409 while archive.exportEnabled is off
+     */
+    @PostMapping("/export")
+    public List<String> export() {
+        return archiveSegmentService.exportArchivedPartitions();
+    }
+
+    /**
+     * Returns the number of segments, rows and bytes in the archive.
+     */
+    @GetMapping
+    public ArchiveStats stats() {
+        return archiveSegmentService.stats();
+    }
+}
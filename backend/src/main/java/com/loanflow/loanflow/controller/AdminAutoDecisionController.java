@@ -0,0 +1,45 @@
+package com.loanflow.loanflow.controller;
+
+import com.loanflow.loanflow.service.AutoDecisionService;
+import com.loanflow.loanflow.service.AutoDecisionService.AutoDecisionStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the auto-decisioning worker.
+ *
+ * The worker normally runs on a schedule (autodecide.intervalMs); these
+ * endpoints expose its throughput and lag and allow triggering a run.
+ *
+ * Access is restricted to ADMIN users via SecurityConfig (/api/admin/**).
+ */
+@RestController
+@RequestMapping("/api/admin/autodecide")
+@RequiredArgsConstructor
+public class AdminAutoDecisionController {
+
+    /**
+     * Service deciding loans settled by the eligibility rules.
+     */
+    private final AutoDecisionService autoDecisionService;
+
+    /**
+     * Returns policies, decision counts, throughput and lag.
+     *
+     * @return current worker statistics
+     */
+    @GetMapping
+    public AutoDecisionStats stats() {
+        return autoDecisionService.stats();
+    }
+
+    /**
+     * Runs the worker immediately (even when the schedule is disabled).
+     *
+     * @return worker statistics after the run
+     */
+    @PostMapping("/run")
+    public AutoDecisionStats run() {
+        return autoDecisionService.runOnce();
+    }
+}
@@ -0,0 +1,59 @@
+package com.loanflow.loanflow.controller;
+
+import com.loanflow.loanflow.service.RescoreBackfillService;
+import com.loanflow.loanflow.service.RescoreBackfillService.BackfillStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for operating data backfill jobs.
+ *
+ * Currently exposes the loan re-scoring backfill, which recomputes
+ * stored risk metrics on SUBMITTED loans after the eligibility rules change.
+ *
+ * Access is restricted to ADMIN users via SecurityConfig (/api/admin/**).
+ */
+@RestController
+@RequestMapping("/api/admin/backfill")
+@RequiredArgsConstructor
+public class AdminBackfillController {
+
+    /**
+     * Service that runs and tracks the re-scoring job.
+     */
+    private final RescoreBackfillService rescoreBackfillService;
+
+    /**
+     * Starts or resumes the re-scoring backfill.
+     *
+     * Example:
+     *   POST /api/admin/backfill/rescore?rowsPerSecond=200
+     *
+     * @param rowsPerSecond optional throughput limit for this run
+     * @return current job status
+     */
+    @PostMapping("/rescore")
+    public BackfillStatus startRescore(@RequestParam(required = false) Integer rowsPerSecond) {
+        return rescoreBackfillService.start(rowsPerSecond);
+    }
+
+    /**
+     * Stops the re-scoring backfill after the chunk in progress commits.
+     *
+     * @return current job status
+     */
+    @PostMapping("/rescore/stop")
+    public BackfillStatus stopRescore() {
+        return rescoreBackfillService.stop();
+    }
+
+    /**
+     * Returns progress and throughput of the re-scoring backfill.
+     *
+     * @return current job status
+     */
+    @GetMapping("/rescore")
+    public BackfillStatus rescoreStatus() {
+        return rescoreBackfillService.status();
+    }
+}
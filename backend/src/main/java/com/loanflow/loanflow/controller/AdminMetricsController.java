@@ -1,10 +1,16 @@
 package com.loanflow.loanflow.controller;
 
+import com.loanflow.loanflow.entity.LoanStatus;
 import com.loanflow.loanflow.entity.UserRole;
-import com.loanflow.loanflow.repository.LoanRepository;
-import com.loanflow.loanflow.repository.UserRepository;
+import com.loanflow.loanflow.service.LiveCountService;
+import com.loanflow.loanflow.service.LiveCountService.LiveCounts;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Map;
 
 /**
  * REST controller responsible for exposing administrative metrics.
@@ -13,6 +19,13 @@ import org.springframework.web.bind.annotation.*;
  * for dashboards and monitoring, such as:
  *  - Number of users by role.
  *  - Total number of loan applications in the system.
+ *  - Loans by status and by eligibility decision.
+ *
+ * Values come from in-memory live counters (LiveCountService), so no
+ * COUNT query is issued per request. Responses carry an ETag hashed from
+ * the counters themselves (already in memory, and updated by listeners
+ * that run independently of the table version bumps), so polling
+ * dashboards receive 304s until a count actually changes.
  *
  * Access to this controller is protected via Spring Security and
  * restricted to ADMIN users.
@@ -23,38 +36,58 @@ import org.springframework.web.bind.annotation.*;
 public class AdminMetricsController {
 
     /**
-     * Repository used to query user-related metrics from the database.
+     * Live loan and user counters.
      */
-    private final UserRepository userRepository;
+    private final LiveCountService liveCountService;
 
     /**
-     * Repository used to query loan-related metrics from the database.
+     * Negotiated representation, part of the ETag.
      */
-    private final LoanRepository loanRepository;
+    private final ResponseVariants responseVariants;
 
     /**
      * Returns aggregated system metrics for the admin dashboard.
      *
      * This method:
-     *  - Counts users grouped by role (CUSTOMER, ANALYST, ADMIN).
-     *  - Retrieves the total number of loan records.
+     *  - Reads users per role (CUSTOMER, ANALYST, ADMIN) from the live counters.
+     *  - Reads loans per status and per eligibility decision.
      *  - Packages the results into an immutable response DTO.
+     *  - Answers If-None-Match with 304 while the counts are unchanged.
      *
+     * @param request current request (for If-None-Match).
      * @return AdminMetricsResponse containing system statistics.
      */
     @GetMapping("/metrics")
-    public AdminMetricsResponse metrics() {
+    public ResponseEntity<AdminMetricsResponse> metrics(ServletWebRequest request) {
+        LiveCounts counts = liveCountService.counts();
 
-        // Count users by role using repository-level aggregation queries
-        long customers = userRepository.countByRole(UserRole.CUSTOMER);
-        long analysts  = userRepository.countByRole(UserRole.ANALYST);
-        long admins    = userRepository.countByRole(UserRole.ADMIN);
+        String etag = "W/\"" + responseVariants.negotiate(request)
+                + "-" + Integer.toHexString(counts.hashCode()) + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
 
-        // Total number of loan applications in the system
-        long loans = loanRepository.count();
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(new AdminMetricsResponse(
+                        counts.users(UserRole.CUSTOMER),
+                        counts.users(UserRole.ANALYST),
+                        counts.users(UserRole.ADMIN),
+                        counts.loans(),
+                        counts.loansByStatus(),
+                        counts.loansByDecision()
+                ));
+    }
 
-        // Return metrics in a lightweight immutable response object
-        return new AdminMetricsResponse(customers, analysts, admins, loans);
+    /**
+     * Recounts from the database and corrects the live counters.
+     *
+     * @return the corrected counts
+     */
+    @PostMapping("/metrics/reconcile")
+    public LiveCounts reconcile() {
+        return liveCountService.reconcile();
     }
 
     /**
@@ -71,6 +104,8 @@ public class AdminMetricsController {
             long customers,
             long analysts,
             long admins,
-            long loans
+            long loans,
+            Map<LoanStatus, Long> loansByStatus,
+            Map<String, Long> loansByDecision
     ) {}
 }
@@ -0,0 +1,61 @@
+package com.loanflow.loanflow.controller;
+
+import com.loanflow.loanflow.tracing.TraceRecord;
+import com.loanflow.loanflow.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * REST controller exposing the request traces kept in memory by Tracer.
+ *
+ * Only sampled requests are recorded (tracing.sampleRate, 0 by default),
+ * and only the newest tracing.bufferSize traces are kept per instance.
+ *
+ * Access is restricted to ADMIN users via SecurityConfig (/api/admin/**).
+ */
+@RestController
+@RequestMapping("/api/admin/traces")
+@RequiredArgsConstructor
+public class AdminTraceController {
+
+    private static final int MAX_LIMIT = 500;
+
+    /**
+     * Request tracer holding the ring buffer.
+     */
+    private final Tracer tracer;
+
+    /**
+     * Returns the most recent traces, newest first.
+     *
+     * @param limit         maximum number of traces (capped at 500)
+     * @param minDurationMs only traces that took at least this long
+     * @return matching traces with all their spans
+     */
+    @GetMapping
+    public List<TraceRecord> recent(
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "0") long minDurationMs
+    ) {
+        return tracer.recent(Math.max(1, Math.min(limit, MAX_LIMIT)), minDurationMs);
+    }
+
+    /**
+     * Returns one trace by id.
+     *
+     * @param traceId 32 hex characters
+     * @return the trace, or 404 if it was never sampled or has left the buffer
+     */
+    @GetMapping("/{traceId}")
+    public TraceRecord get(@PathVariable String traceId) {
+        TraceRecord trace = tracer.find(traceId);
+        if (trace == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Trace not found");
+        }
+        return trace;
+    }
+}
@@ -1,24 +1,35 @@
 package com.loanflow.loanflow.controller;
 
-import com.loanflow.loanflow.entity.User;
+import com.loanflow.loanflow.cache.TableVersions;
 import com.loanflow.loanflow.entity.UserRole;
-import com.loanflow.loanflow.repository.UserRepository;
+import com.loanflow.loanflow.service.UserAdminService;
+import com.loanflow.loanflow.service.UserAdminService.BulkResult;
+import com.loanflow.loanflow.service.UserAdminService.UserSelection;
+import com.loanflow.loanflow.service.UserQueryService;
+import com.loanflow.loanflow.service.UserQueryService.UserPage;
+import com.loanflow.loanflow.service.UserQueryService.UserSummary;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * REST controller that allows administrators to manage users.
  *
  * Features:
- *  - View all users or filter users by role.
+ *  - Page through users, filtered by role, active flag or username prefix.
  *  - Update a user's role.
  *  - Enable or disable a user's account.
+ *  - Bulk role / active changes by ids or filter.
  *
  * All endpoints under this controller are protected and accessible
  * only by ADMIN users via Spring Security configuration.
@@ -29,35 +40,63 @@ import java.util.List;
 public class AdminUserController {
 
     /**
-     * Repository for performing CRUD operations on User entities.
+     * Service performing set-based user updates and token revocation.
      */
-    private final UserRepository userRepository;
+    private final UserAdminService userAdminService;
 
     /**
-     * Returns a list of users.
+     * Service providing paginated, projected user listings.
+     */
+    private final UserQueryService userQueryService;
+
+    /**
+     * Write-version counters used as ETags for conditional GETs.
+     */
+    private final TableVersions tableVersions;
+
+    /**
+     * Negotiated representation, part of every ETag.
+     */
+    private final ResponseVariants responseVariants;
+
+    /**
+     * Returns one page of users, ordered by id.
+     *
+     * Keyset-paginated: pass the returned nextCursor as "after" to fetch the
+     * next page. Only id, username, role and active are read from the database.
      *
-     * Optional filtering by role allows admins to retrieve
-     * only a subset of users when needed.
+     * Conditional GET: the ETag is the users table version plus the
+     * negotiated format (JSON / Smile / CBOR, with Vary: Accept), so an
+     * unchanged page is answered with 304 without querying users (the
+     * version is a sequence read, at most once per tables.versionPollMs).
      *
      * Example:
      *   GET /api/admin/users
-     *   GET /api/admin/users?role=ANALYST
+     *   GET /api/admin/users?role=ANALYST&active=true
+     *   GET /api/admin/users?q=john&after=1200&size=50
      *
-     * @param role optional query parameter for filtering users by role.
-     * @return list of users mapped into lightweight response DTOs.
+     * @param role   optional role filter.
+     * @param active optional active flag filter.
+     * @param q      optional username prefix.
+     * @param after  optional cursor (id of the last user of the previous page).
+     * @param size   page size (max 200).
+     * @return one page of users and the cursor for the next page.
      */
     @GetMapping
-    public List<UserResponse> listUsers(@RequestParam(required = false) UserRole role) {
-
-        // Fetch users based on optional role filter
-        List<User> users = (role == null)
-                ? userRepository.findAll()
-                : userRepository.findByRole(role);
-
-        // Convert entities into DTOs to avoid exposing internal fields
-        return users.stream()
-                .map(UserResponse::from)
-                .toList();
+    public ResponseEntity<UserPage> listUsers(@RequestParam(required = false) UserRole role,
+                                              @RequestParam(required = false) Boolean active,
+                                              @RequestParam(required = false) String q,
+                                              @RequestParam(required = false) Long after,
+                                              @RequestParam(defaultValue = "50") int size,
+                                              ServletWebRequest request) {
+        String etag = tableVersions.etag(responseVariants.negotiate(request), TableVersions.Table.USERS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(userQueryService.listUsers(after, size, role, active, q));
     }
 
     /**
@@ -82,18 +121,8 @@ public class AdminUserController {
             );
         }
 
-        // Fetch user or throw 404 if not found
-        User user = userRepository.findById(id)
-                .orElseThrow(() ->
-                        new ResponseStatusException(
-                                HttpStatus.NOT_FOUND, "User not found"
-                        ));
-
-        // Update role and persist changes
-        user.setRole(req.role);
-        userRepository.save(user);
-
-        return UserResponse.from(user);
+        // Single UPDATE; 404 if the user does not exist
+        return UserResponse.from(userAdminService.updateRole(id, req.role));
     }
 
     /**
@@ -117,18 +146,53 @@ public class AdminUserController {
             );
         }
 
-        // Fetch user or throw 404 if not found
-        User user = userRepository.findById(id)
-                .orElseThrow(() ->
-                        new ResponseStatusException(
-                                HttpStatus.NOT_FOUND, "User not found"
-                        ));
+        // Single UPDATE; 404 if the user does not exist
+        return UserResponse.from(userAdminService.updateActive(id, req.active));
+    }
 
-        // Update active flag and persist changes
-        user.setActive(req.active);
-        userRepository.save(user);
+    /**
+     * Changes the role of many users at once.
+     *
+     * Users are selected by explicit ids and/or a filter; all given criteria
+     * must match. Runs as chunked set-based UPDATEs.
+     *
+     * Example:
+     *   PUT /api/admin/users/bulk/role
+     *   { "ids": [12, 15, 19], "role": "ANALYST" }
+     *
+     * @param req selection and the new role.
+     * @return number of users changed.
+     */
+    @PutMapping("/bulk/role")
+    public BulkResult bulkUpdateRole(@RequestBody BulkRoleRequest req) {
+        if (req == null || req.role == null) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Role is required"
+            );
+        }
+        return userAdminService.bulkUpdateRole(req.selection(), req.role);
+    }
 
-        return UserResponse.from(user);
+    /**
+     * Enables or disables many users at once.
+     *
+     * Example (deactivate customers without loans in the last two years):
+     *   PUT /api/admin/users/bulk/active
+     *   { "filter": { "role": "CUSTOMER", "active": true,
+     *                 "noLoansSince": "2024-10-01T00:00:00" },
+     *     "active": false }
+     *
+     * @param req selection and the new active flag.
+     * @return number of users changed.
+     */
+    @PutMapping("/bulk/active")
+    public BulkResult bulkUpdateActive(@RequestBody BulkActiveRequest req) {
+        if (req == null || req.active == null) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Active flag required"
+            );
+        }
+        return userAdminService.bulkUpdateActive(req.selection(), req.active);
     }
 
     /**
@@ -147,6 +211,49 @@ public class AdminUserController {
         public boolean active;
     }
 
+    /**
+     * Filter part of a bulk request; every field is optional.
+     */
+    @Data
+    public static class BulkFilter {
+        public UserRole role;
+        public Boolean active;
+        public String usernamePrefix;
+        public LocalDateTime noLoansSince;
+    }
+
+    /**
+     * Common selection of a bulk request: explicit ids and/or a filter.
+     */
+    @Data
+    public static class BulkSelectionRequest {
+        public List<Long> ids;
+        public BulkFilter filter;
+
+        UserSelection selection() {
+            BulkFilter f = (filter == null) ? new BulkFilter() : filter;
+            return new UserSelection(ids, f.role, f.active, f.usernamePrefix, f.noLoansSince);
+        }
+    }
+
+    /**
+     * Request DTO for changing the role of many users.
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class BulkRoleRequest extends BulkSelectionRequest {
+        public UserRole role;
+    }
+
+    /**
+     * Request DTO for enabling/disabling many users.
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class BulkActiveRequest extends BulkSelectionRequest {
+        public Boolean active;
+    }
+
     /**
      * Response DTO exposed to clients.
      *
@@ -162,14 +269,14 @@ public class AdminUserController {
         private boolean active;
 
         /**
-         * Maps User entity to UserResponse DTO.
+         * Maps a user projection to UserResponse DTO.
          */
-        public static UserResponse from(User u) {
+        public static UserResponse from(UserSummary u) {
             return new UserResponse(
-                    u.getId(),
-                    u.getUsername(),
-                    u.getRole(),
-                    u.isActive()
+                    u.id(),
+                    u.username(),
+                    u.role(),
+                    u.active()
             );
         }
     }
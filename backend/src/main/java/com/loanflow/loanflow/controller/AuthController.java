@@ -3,9 +3,9 @@ package com.loanflow.loanflow.controller;
 import com.loanflow.loanflow.dto.LoginRequest;
 import com.loanflow.loanflow.dto.LoginResponse;
 import com.loanflow.loanflow.entity.User;
-import com.loanflow.loanflow.entity.UserRole;
 import com.loanflow.loanflow.repository.UserRepository;
 import com.loanflow.loanflow.security.JwtUtil;
+import com.loanflow.loanflow.service.RegistrationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -45,15 +45,19 @@ public class AuthController {
      */
     private final JwtUtil jwtUtil;
 
+    /**
+     * Service creating new accounts (signup).
+     */
+    private final RegistrationService registrationService;
+
     /**
      * Registers a new user account (Signup).
      *
      * Flow:
      *  1) Validate that username/password exist and are not blank
-     *  2) Ensure username is unique
-     *  3) Hash password using BCrypt before storing
-     *  4) Assign default role (CUSTOMER)
-     *  5) Save user and return 201 Created
+     *  2) Create the CUSTOMER account via RegistrationService, which
+     *     hashes the password and relies on the unique constraint
+     *  3) Return 201 Created
      *
      * @param request contains username and password
      * @return success message if registered
@@ -69,23 +73,8 @@ public class AuthController {
             );
         }
 
-        // Enforce unique usernames
-        boolean exists = userRepository.findByUsername(request.getUsername()).isPresent();
-        if (exists) {
-            throw new ResponseStatusException(
-                    HttpStatus.CONFLICT, "Username already exists"
-            );
-        }
-
-        // Create new user entity and securely hash password before saving
-        User user = new User();
-        user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-
-        // Default role for new registrations (keeps role assignment controlled)
-        user.setRole(UserRole.CUSTOMER);
-
-        userRepository.save(user);
+        // Single INSERT guarded by the unique constraint (409 if the username is taken)
+        registrationService.register(request.getUsername(), request.getPassword());
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body("User registered successfully");
@@ -97,8 +86,9 @@ public class AuthController {
      * Flow:
      *  1) Lookup user by username
      *  2) Verify password using PasswordEncoder.matches()
-     *  3) Generate JWT token containing username and role
-     *  4) Return token + basic user identity info to the frontend
+     *  3) Reject deactivated accounts (403)
+     *  4) Generate JWT token containing user id, username and role
+     *  5) Return token + basic user identity info to the frontend
      *
      * @param request contains username and password
      * @return LoginResponse containing token and user details
@@ -119,8 +109,15 @@ public class AuthController {
             );
         }
 
-        // Generate JWT token using username + role (used later for authorization)
-        String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
+        // Deactivated accounts cannot obtain new tokens
+        if (!user.isActive()) {
+            throw new ResponseStatusException(
+                    HttpStatus.FORBIDDEN, "Account is disabled"
+            );
+        }
+
+        // Generate JWT token using id + username + role (used later for authorization)
+        String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole().name());
 
         // Return token + identity info so frontend can store it and display role-based UI
         return new LoginResponse(token, user.getUsername(), user.getRole());
@@ -1,21 +1,50 @@
 package com.loanflow.loanflow.controller;
 
+import com.loanflow.loanflow.archive.ArchiveFilter;
+import com.loanflow.loanflow.archive.ArchivedLoan;
+import com.loanflow.loanflow.cache.TableVersions;
 import com.loanflow.loanflow.dto.LoanRequest;
 import com.loanflow.loanflow.entity.LoanApplication;
 import com.loanflow.loanflow.entity.LoanStatus;
-import com.loanflow.loanflow.repository.LoanRepository;
+import com.loanflow.loanflow.security.AuthenticatedUser;
+import com.loanflow.loanflow.service.ArchiveSegmentService;
+import com.loanflow.loanflow.service.IdempotencyService;
+import com.loanflow.loanflow.service.LiveCountService;
 import com.loanflow.loanflow.service.LoanQueryService;
+import com.loanflow.loanflow.service.LoanQueryService.FacetedLoanPage;
+import com.loanflow.loanflow.service.LoanQueryService.LoanHistoryPage;
+import com.loanflow.loanflow.service.LoanQueryService.LoanSearchFilter;
+import com.loanflow.loanflow.service.LoanQueryService.NameMatch;
 import com.loanflow.loanflow.service.LoanService;
+import com.loanflow.loanflow.service.LoanStreamService;
+import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 /**
  * LoanController exposes REST endpoints for:
  *  - Creating (applying for) a loan application
  *  - Listing loans with pagination/sorting/filtering
+ *  - Listing the caller's own loans (cursor-paginated)
+ *  - Multi-filter loan search, optionally with facet counts (analysts)
+ *  - Applicant-name search (analysts)
+ *  - Searching archived (historic) loans
+ *  - Streaming loan submissions and decisions (Server-Sent Events)
+ *  - Live loan counts per status / decision (for status badges)
  *  - Approving or rejecting a loan (role-restricted by SecurityConfig)
  *
  * Note: Business logic is intentionally kept out of the controller and handled by services,
@@ -27,7 +56,7 @@ import org.springframework.web.server.ResponseStatusException;
 public class LoanController {
 
     /**
-     * Service responsible for validating and creating new loan applications.
+     * Service responsible for creating loan applications and applying decisions.
      */
     private final LoanService loanService;
 
@@ -37,20 +66,99 @@ public class LoanController {
     private final LoanQueryService loanQueryService;
 
     /**
-     * Repository used here for direct status updates (approve/reject).
-     * This keeps the approve/reject endpoints simple and efficient.
+     * Write-version counters used as ETags for conditional GETs.
+     */
+    private final TableVersions tableVersions;
+
+    /**
+     * Negotiated representation, part of every ETag.
+     */
+    private final ResponseVariants responseVariants;
+
+    /**
+     * Service that makes loan creation idempotent per Idempotency-Key.
+     */
+    private final IdempotencyService idempotencyService;
+
+    /**
+     * Service searching the read-only cold archive of historic loans.
      */
-    private final LoanRepository loanRepository;
+    private final ArchiveSegmentService archiveSegmentService;
+
+    /**
+     * Broadcaster pushing loan changes to connected dashboards.
+     */
+    private final LoanStreamService loanStreamService;
+
+    /**
+     * Live in-memory loan counters.
+     */
+    private final LiveCountService liveCountService;
 
     /**
      * Creates a new loan application.
      *
-     * @param request request payload containing loan applicant details
+     * If an Idempotency-Key header is provided, retries with the same key
+     * (scoped to the authenticated user) return the originally created loan
+     * instead of scoring and inserting again. Reusing a key with a different
+     * body is answered with 422.
+     *
+     * @param request        request payload containing loan applicant details
+     * @param idempotencyKey optional client-generated key identifying this submission
+     * @param user           authenticated caller
      * @return the saved LoanApplication entity
      */
     @PostMapping("/apply")
-    public LoanApplication apply(@RequestBody LoanRequest request) {
-        return loanService.applyLoan(request);
+    public LoanApplication apply(
+            @RequestBody LoanRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        Long userId = (user == null) ? null : user.id();
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return loanService.applyLoan(request, userId);
+        }
+
+        if (idempotencyKey.length() > 128) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key is too long");
+        }
+
+        // Scope keys per user so one client can never receive another client's loan
+        String owner = (user == null) ? "anonymous" : user.getName();
+        return idempotencyService.applyOnce(owner + ":" + idempotencyKey.trim(), request,
+                () -> loanService.applyLoan(request, userId));
+    }
+
+    /**
+     * Returns the caller's own loan applications, newest first.
+     *
+     * Keyset-paginated: pass the returned nextCursor as "cursor" to fetch
+     * the next page; each page is one index range read regardless of depth.
+     *
+     * Only loans linked to their applicant are returned. Loans submitted
+     * before applications recorded the applicant have no user_id, and no
+     * stored data identifies their owner, so they never appear here; clients
+     * showing a customer's complete history still need GET /api/loans for them.
+     *
+     * Example:
+     *   GET /api/loans/mine
+     *   GET /api/loans/mine?cursor=MjAyNS0wMS0wMVQxMDowMHw0Mg&size=20
+     *
+     * @param user      authenticated caller
+     * @param cursor    optional cursor from the previous page
+     * @param size      page size (max 200)
+     * @return one page of loans and the cursor for the next page
+     */
+    @GetMapping("/mine")
+    public LoanHistoryPage mine(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        return loanQueryService.listForUser(user.id(), cursor, size);
     }
 
     /**
@@ -60,49 +168,207 @@ public class LoanController {
      *  - Pagination: page, size
      *  - Sorting: sortBy, direction
      *  - Optional filtering by status (e.g., PENDING / APPROVED / REJECTED)
+     *  - Optional createdAt range (from / to, ISO date-time); bounding the range
+     *    lets the database skip monthly partitions outside it
+     *  - Sparse fieldsets: fields=id,fullName,status returns only those
+     *    fields, selected in the query itself instead of loading entities
+     *  - Conditional GET: the ETag is the loans table version plus the
+     *    negotiated format (JSON / Smile / CBOR, with Vary: Accept), so a
+     *    client sending If-None-Match gets a 304 without querying loans
+     *    until a loan is written. The version itself comes from the database
+     *    (a sequence read, at most once per tables.versionPollMs per node)
      */
     @GetMapping
-    public Page<LoanApplication> list(
+    public ResponseEntity<Page<?>> list(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String direction,
-            @RequestParam(required = false) LoanStatus status
+            @RequestParam(required = false) LoanStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) List<String> fields,
+            ServletWebRequest request
+    ) {
+        // Read the version before the query, so a concurrent write can never yield a stale 304
+        String etag = tableVersions.etag(responseVariants.negotiate(request), TableVersions.Table.LOANS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(fields == null || fields.isEmpty()
+                        ? loanQueryService.listLoans(page, size, sortBy, direction, status, from, to)
+                        : loanQueryService.listLoanFields(fields, page, size, sortBy, direction, status, from, to));
+    }
+
+    /**
+     * Searches loans by any combination of filters.
+     *
+     * Example:
+     *   GET /api/loans/search?status=SUBMITTED&eligibilityDecision=REVIEW&minRisk=40&maxRisk=60
+     *   GET /api/loans/search?purpose=HOME&minAmount=100000&from=2025-01-01T00:00:00&sortBy=amount
+     *
+     * All bounds are inclusive; omitted filters are not applied.
+     *
+     * Authorization is enforced via SecurityConfig (ANALYST/ADMIN).
+     */
+    @GetMapping("/search")
+    public Page<LoanApplication> search(
+            @ModelAttribute SearchParams params,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String direction
     ) {
-        return loanQueryService.listLoans(page, size, sortBy, direction, status);
+        return loanQueryService.search(params.toFilter(), page, size, sortBy, direction);
     }
 
+    /**
+     * Same filters as {@link #search}, but also returns the number of matches
+     * per status, purpose and eligibility decision; the page, total and
+     * facet counts come from one database query.
+     *
+     * Authorization is enforced via SecurityConfig (ANALYST/ADMIN).
+     */
+    @GetMapping("/search/faceted")
+    public FacetedLoanPage facetedSearch(
+            @ModelAttribute SearchParams params,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String direction
+    ) {
+        return loanQueryService.facetedSearch(params.toFilter(), page, size, sortBy, direction);
+    }
+
+    /**
+     * Search filters bound from query parameters.
+     */
+    @Data
+    public static class SearchParams {
+        private LoanStatus status;
+        private String eligibilityDecision;
+        private String purpose;
+        private String employmentType;
+        private Integer minCreditScore;
+        private Integer maxCreditScore;
+        private Double minAmount;
+        private Double maxAmount;
+        private Integer minRisk;
+        private Integer maxRisk;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime from;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime to;
+
+        LoanSearchFilter toFilter() {
+            return new LoanSearchFilter(status, eligibilityDecision, purpose, employmentType,
+                    minCreditScore, maxCreditScore, minAmount, maxAmount, minRisk, maxRisk, from, to);
+        }
+    }
+
+    /**
+     * Finds loans by applicant name (prefix or fuzzy), best matches first.
+     *
+     * Example:
+     *   GET /api/loans/by-name?q=jon%20smi&limit=20
+     *
+     * Authorization is enforced via SecurityConfig (ANALYST/ADMIN).
+     */
+    @GetMapping("/by-name")
+    public List<NameMatch> byName(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        int safeLimit = Math.min(Math.max(limit, 1), 100);
+        return loanQueryService.searchByName(q, safeLimit);
+    }
+
+    /**
+     * Searches archived loans (decided loans in detached partitions, whether
+     * still waiting in the loan_archive schema or exported to segments),
+     * newest first.
+     *
+     * Segments whose zone maps exclude the createdAt / status / riskScore
+     * filters are skipped without being decompressed.
+     *
+     * Authorization is enforced via SecurityConfig (ANALYST/ADMIN).
+     */
+    @GetMapping("/archive")
+    public List<ArchivedLoan> archive(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) LoanStatus status,
+            @RequestParam(required = false) Integer minRisk,
+            @RequestParam(required = false) Integer maxRisk,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        int safeLimit = Math.min(Math.max(limit, 1), 1000);
+        return archiveSegmentService.search(new ArchiveFilter(from, to, status, minRisk, maxRisk), safeLimit);
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of loan changes.
+     *
+     * Emits a "loan" event for every new application (type SUBMITTED) and
+     * every approve / reject (type DECIDED). Clients reconnecting with a
+     * Last-Event-ID header receive the events they missed, or a "reset"
+     * event if they must reload the list instead (always the case after a
+     * restart or when reconnecting to another node). Only writes made through
+     * this node are streamed.
+     *
+     * Authorization is enforced via SecurityConfig (ANALYST/ADMIN).
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return loanStreamService.subscribe(lastEventId);
+    }
+
+    /**
+     * Returns the number of loans per status and per eligibility decision.
+     *
+     * Served from in-memory counters, so status badges can poll it freely.
+     *
+     * Authorization is enforced via SecurityConfig (ANALYST/ADMIN).
+     */
+    @GetMapping("/counts")
+    public LoanCounts counts() {
+        LiveCountService.LiveCounts counts = liveCountService.counts();
+        return new LoanCounts(counts.loans(), counts.loansByStatus(), counts.loansByDecision());
+    }
+
+    /**
+     * Loan counts returned by {@link #counts()}.
+     */
+    public record LoanCounts(long total, Map<LoanStatus, Long> byStatus, Map<String, Long> byDecision) {}
+
     /**
      * Approves a loan application by ID.
      *
      * - Returns 404 if the loan does not exist.
-     * - Updates status to APPROVED and persists the change.
+     * - Returns 409 if another analyst holds an active work queue lease on it.
+     * - Updates status to APPROVED, ends any lease, and persists the change.
      *
      * Authorization is enforced via SecurityConfig (ANALYST/ADMIN).
      */
     @PatchMapping("/{id}/approve")
-    public LoanApplication approve(@PathVariable Long id) {
-        LoanApplication loan = loanRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Loan not found"));
-
-        loan.setStatus(LoanStatus.APPROVED);
-        return loanRepository.save(loan);
+    public LoanApplication approve(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        return loanService.decide(id, LoanStatus.APPROVED, user.id());
     }
 
     /**
      * Rejects a loan application by ID.
      *
      * - Returns 404 if the loan does not exist.
-     * - Updates status to REJECTED and persists the change.
+     * - Returns 409 if another analyst holds an active work queue lease on it.
+     * - Updates status to REJECTED, ends any lease, and persists the change.
      *
      * Authorization is enforced via SecurityConfig (ANALYST/ADMIN).
      */
     @PatchMapping("/{id}/reject")
-    public LoanApplication reject(@PathVariable Long id) {
-        LoanApplication loan = loanRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Loan not found"));
-
-        loan.setStatus(LoanStatus.REJECTED);
-        return loanRepository.save(loan);
+    public LoanApplication reject(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        return loanService.decide(id, LoanStatus.REJECTED, user.id());
     }
 }
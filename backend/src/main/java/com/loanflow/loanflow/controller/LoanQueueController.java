@@ -0,0 +1,84 @@
+package com.loanflow.loanflow.controller;
+
+import com.loanflow.loanflow.security.AuthenticatedUser;
+import com.loanflow.loanflow.service.LoanWorkQueueService;
+import com.loanflow.loanflow.service.LoanWorkQueueService.Claim;
+import com.loanflow.loanflow.service.LoanWorkQueueService.QueueOrder;
+import com.loanflow.loanflow.service.LoanWorkQueueService.Renewal;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for the analyst work queue over SUBMITTED loans.
+ *
+ * Instead of paging the shared loan list, an analyst claims the next loans
+ * and receives a time-bounded lease on them:
+ *  - Claim:   POST /api/loans/queue/claim?count=10&order=RISK
+ *  - Renew:   POST /api/loans/queue/renew   { "loanIds": [..] }
+ *  - Release: POST /api/loans/queue/release { "loanIds": [..] }
+ *
+ * Approving or rejecting a loan ends its lease. Leases that are neither
+ * renewed nor released expire and the loans return to the queue.
+ *
+ * Authorization is enforced via SecurityConfig (ANALYST/ADMIN).
+ */
+@RestController
+@RequestMapping("/api/loans/queue")
+@RequiredArgsConstructor
+public class LoanQueueController {
+
+    /**
+     * Service granting and managing loan leases.
+     */
+    private final LoanWorkQueueService workQueueService;
+
+    /**
+     * Leases the next unleased SUBMITTED loans to the caller.
+     *
+     * @param count number of loans to claim
+     * @param order RISK (highest riskScore first) or AGE (oldest first)
+     * @return the claimed loans and their lease expiry (empty when the queue is drained)
+     */
+    @PostMapping("/claim")
+    public Claim claim(
+            @RequestParam(defaultValue = "10") int count,
+            @RequestParam(defaultValue = "RISK") QueueOrder order,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return workQueueService.claim(user.id(), count, order);
+    }
+
+    /**
+     * Extends the caller's leases on the given loans.
+     *
+     * @return ids of the loans still leased to the caller and their new expiry
+     */
+    @PostMapping("/renew")
+    public Renewal renew(@RequestBody LeaseRequest request, @AuthenticationPrincipal AuthenticatedUser user) {
+        return workQueueService.renew(user.id(), request.getLoanIds());
+    }
+
+    /**
+     * Returns the caller's leased loans to the queue.
+     *
+     * @return number of leases released
+     */
+    @PostMapping("/release")
+    public Map<String, Integer> release(@RequestBody LeaseRequest request,
+                                       @AuthenticationPrincipal AuthenticatedUser user) {
+        return Map.of("released", workQueueService.release(user.id(), request.getLoanIds()));
+    }
+
+    /**
+     * Loans targeted by a renew or release.
+     */
+    @Data
+    public static class LeaseRequest {
+        private List<Long> loanIds;
+    }
+}
@@ -0,0 +1,68 @@
+package com.loanflow.loanflow.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+/**
+ * Names the representation a conditional GET will be answered with.
+ *
+ * The same URL can be served as JSON, Smile or CBOR depending on Accept,
+ * so ETags must differ per representation: otherwise a cache holding the
+ * JSON body would revalidate it with a tag issued for CBOR and get a 304.
+ * The response also carries Vary: Accept (on 304s too, since the header
+ * is set before the check).
+ */
+@Component
+@RequiredArgsConstructor
+class ResponseVariants {
+
+    /**
+     * Representations registered by Jackson, in the order Spring MVC
+     * prefers them when Accept allows several.
+     */
+    private static final List<Variant> VARIANTS = List.of(
+            new Variant("json", MediaType.APPLICATION_JSON),
+            new Variant("smile", MediaType.parseMediaType("application/x-jackson-smile")),
+            new Variant("cbor", MediaType.APPLICATION_CBOR)
+    );
+
+    private record Variant(String name, MediaType mediaType) {
+    }
+
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    /**
+     * Adds Vary: Accept to the response and returns the name of the
+     * representation this request negotiates ("json", "smile" or "cbor").
+     * Unsupported Accept values fall back to "json"; they end in 406 anyway.
+     */
+    String negotiate(ServletWebRequest request) {
+        if (request.getResponse() != null) {
+            request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+
+        List<MediaType> acceptable;
+        try {
+            acceptable = contentNegotiationManager.resolveMediaTypes(request);
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            return VARIANTS.get(0).name();
+        }
+
+        // Same rule as the message converters: first acceptable type wins, then server order
+        for (MediaType accepted : acceptable) {
+            for (Variant variant : VARIANTS) {
+                if (accepted.isCompatibleWith(variant.mediaType())) {
+                    return variant.name();
+                }
+            }
+        }
+        return VARIANTS.get(0).name();
+    }
+}
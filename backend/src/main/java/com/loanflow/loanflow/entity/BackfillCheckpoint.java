@@ -0,0 +1,59 @@
+package com.loanflow.loanflow.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity storing the progress of a long-running backfill job.
+ *
+ * A checkpoint is written after every committed chunk so that a job
+ * interrupted by a restart or a manual stop can resume from the last
+ * processed id instead of starting over.
+ */
+@Entity
+@Table(name = "backfill_checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillCheckpoint {
+
+    /**
+     * Unique job name (e.g. "loan-rescore").
+     */
+    @Id
+    private String jobName;
+
+    /**
+     * Rules version the job is backfilling towards.
+     * A checkpoint recorded for an older version is discarded on start.
+     */
+    private Integer rulesVersion;
+
+    /**
+     * Highest loan id processed by the last committed chunk.
+     */
+    private Long lastId;
+
+    /**
+     * Total number of rows examined so far.
+     */
+    private long scanned;
+
+    /**
+     * Total number of rows rewritten so far.
+     */
+    private long updated;
+
+    /**
+     * Indicates whether the job reached the end of the table.
+     */
+    private boolean completed;
+
+    /**
+     * Timestamp of the last checkpoint write.
+     */
+    private LocalDateTime updatedAt;
+}
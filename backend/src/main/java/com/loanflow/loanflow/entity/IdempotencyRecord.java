@@ -0,0 +1,46 @@
+package com.loanflow.loanflow.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity mapping an Idempotency-Key to the loan it produced.
+ *
+ * A record is inserted (with loanId = null) before the loan is created,
+ * which reserves the key across all nodes via the primary key constraint,
+ * and is completed with the loan id in the same transaction that inserts
+ * the loan.
+ */
+@Entity
+@Table(name = "idempotency_record")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    /**
+     * Client-provided key, scoped by username ("username:key").
+     */
+    @Id
+    private String idempotencyKey;
+
+    /**
+     * Id of the loan created for this key; null while the request is in progress.
+     */
+    private Long loanId;
+
+    /**
+     * Timestamp when the key was first seen (used for retention); renewed
+     * when a stale reservation is taken over.
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * SHA-256 of the request body the key was first used with; null for
+     * records written before bodies were checked.
+     */
+    private String requestHash;
+}
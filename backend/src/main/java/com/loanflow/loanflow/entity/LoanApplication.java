@@ -1,7 +1,9 @@
 package com.loanflow.loanflow.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
 /**
@@ -11,8 +13,13 @@ import java.time.LocalDateTime;
  *  - Customer-provided financial and personal details
  *  - Computed risk and eligibility metrics
  *  - Audit metadata and relationships
+ *
+ * Updates write only the modified columns (@DynamicUpdate), so a job
+ * changing scores never overwrites a status set concurrently by a
+ * decision, and vice versa.
  */
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -53,6 +60,19 @@ public class LoanApplication {
      */
     private LocalDateTime createdAt;
 
+    /**
+     * Policy that made the approve / reject decision:
+     *  - MANUAL (an analyst)
+     *  - AUTO_APPROVE[...] / AUTO_REJECT[...] (the auto-decisioning worker,
+     *    including the thresholds and rules version in force)
+     */
+    private String decisionPolicy;
+
+    /**
+     * Timestamp of the approve / reject decision.
+     */
+    private LocalDateTime decidedAt;
+
     // ----------------------------
     // Customer-provided fields
     // ----------------------------
@@ -77,6 +97,20 @@ public class LoanApplication {
      */
     private Integer creditScore;
 
+    /**
+     * Origin of the credit score used for scoring:
+     *  - BUREAU (fetched from the credit bureau)
+     *  - SELF_REPORTED (taken from the application form)
+     */
+    private String creditScoreSource;
+
+    /**
+     * Credit score entered on the application form, kept when the bureau
+     * score replaces it in creditScore (null for loans submitted before it
+     * was recorded).
+     */
+    private Integer selfReportedCreditScore;
+
     /**
      * Applicant's employment type
      * (SALARIED, SELF_EMPLOYED, STUDENT, UNEMPLOYED).
@@ -112,6 +146,38 @@ public class LoanApplication {
      */
     private String eligibilityDecision;
 
+    /**
+     * Version of the scoring rules that produced the computed fields above.
+     * Used by the re-scoring backfill to detect stale scores.
+     */
+    private Integer rulesVersion;
+
+    /**
+     * Set when an identical application (same normalized name, amount,
+     * income and credit score) was seen shortly before this one.
+     */
+    private Boolean duplicateSuspected;
+
+    // ----------------------------
+    // Work queue lease
+    // ----------------------------
+
+    /**
+     * Id of the analyst currently holding a lease on this loan, if any.
+     *
+     * Lease columns are written only by LoanWorkQueueService (conditional SQL),
+     * never by entity updates, so a concurrent rescore or decision cannot
+     * overwrite a lease granted in the meantime.
+     */
+    @Column(insertable = false, updatable = false)
+    private Long leasedBy;
+
+    /**
+     * Time at which the lease lapses and the loan becomes claimable again.
+     */
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime leaseExpiresAt;
+
     // ----------------------------
     // Relationships
     // ----------------------------
@@ -119,7 +185,11 @@ public class LoanApplication {
     /**
      * Many-to-one relationship linking the loan to the owning user.
      * A single user can have multiple loan applications.
+     *
+     * Lazy, so loan listings never join users, and never serialized (the
+     * user row carries the password hash).
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonIgnore
     private User user;
 }
@@ -0,0 +1,58 @@
+package com.loanflow.loanflow.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entity storing pre-aggregated loan application volume per time bucket.
+ *
+ * Each row holds the number of applications and the sum of requested
+ * amounts for one (granularity, bucket, dimension, value) combination,
+ * e.g. (DAY, 2026-10-19 00:00, purpose, HOME).
+ *
+ * Rows are maintained incrementally by VolumeRollupServiceImpl using
+ * additive upserts, so dashboards never need to GROUP BY the loan table;
+ * a periodic recount replaces the buckets loan_application still covers.
+ */
+@Entity
+@Table(name = "loan_volume_rollup")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanVolumeRollup {
+
+    /**
+     * Composite primary key identifying the bucket.
+     */
+    @EmbeddedId
+    private Key id;
+
+    /**
+     * Number of applications in the bucket.
+     */
+    private long applicationCount;
+
+    /**
+     * Sum of requested amounts in the bucket.
+     */
+    private double amountSum;
+
+    /**
+     * Composite key: granularity (HOUR / DAY), bucket start,
+     * dimension name and dimension value.
+     */
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String granularity;
+        private LocalDateTime bucketStart;
+        private String dimension;
+        private String dimensionValue;
+    }
+}
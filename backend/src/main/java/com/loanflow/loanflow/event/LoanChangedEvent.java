@@ -0,0 +1,83 @@
+package com.loanflow.loanflow.event;
+
+import com.loanflow.loanflow.entity.LoanApplication;
+import com.loanflow.loanflow.entity.LoanStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event published whenever a loan application is written.
+ *
+ * The event carries an immutable snapshot of the loan (plus the previous
+ * status and eligibility decision) so listeners such as caches and
+ * dashboards never touch the managed entity.
+ *
+ * Listeners should use @TransactionalEventListener(fallbackExecution = true)
+ * so they observe only committed changes.
+ */
+public record LoanChangedEvent(
+        ChangeType type,
+        Long loanId,
+        LoanStatus status,
+        LoanStatus previousStatus,
+        String eligibilityDecision,
+        String previousDecision,
+        Integer riskScore,
+        Double amount,
+        String purpose,
+        String employmentType,
+        String fullName,
+        LocalDateTime createdAt
+) {
+
+    /**
+     * Kind of write that produced the event.
+     */
+    public enum ChangeType {
+        /** A new application was inserted. */
+        SUBMITTED,
+        /** The application status changed (approved / rejected). */
+        DECIDED,
+        /** Computed scores were recalculated. */
+        RESCORED
+    }
+
+    /**
+     * Event for a newly inserted loan.
+     */
+    public static LoanChangedEvent submitted(LoanApplication loan) {
+        return of(ChangeType.SUBMITTED, loan, null, null);
+    }
+
+    /**
+     * Event for a status transition.
+     */
+    public static LoanChangedEvent decided(LoanApplication loan, LoanStatus previousStatus) {
+        return of(ChangeType.DECIDED, loan, previousStatus, loan.getEligibilityDecision());
+    }
+
+    /**
+     * Event for a re-scored loan.
+     */
+    public static LoanChangedEvent rescored(LoanApplication loan, String previousDecision) {
+        return of(ChangeType.RESCORED, loan, loan.getStatus(), previousDecision);
+    }
+
+    private static LoanChangedEvent of(ChangeType type, LoanApplication loan,
+                                       LoanStatus previousStatus, String previousDecision) {
+        return new LoanChangedEvent(
+                type,
+                loan.getId(),
+                loan.getStatus(),
+                previousStatus,
+                loan.getEligibilityDecision(),
+                previousDecision,
+                loan.getRiskScore(),
+                loan.getAmount(),
+                loan.getPurpose(),
+                loan.getEmploymentType(),
+                loan.getFullName(),
+                loan.getCreatedAt()
+        );
+    }
+}
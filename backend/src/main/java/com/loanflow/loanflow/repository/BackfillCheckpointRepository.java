@@ -0,0 +1,13 @@
+package com.loanflow.loanflow.repository;
+
+import com.loanflow.loanflow.entity.BackfillCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository interface for persisting backfill job checkpoints.
+ *
+ * Checkpoints are keyed by job name, so standard CRUD operations
+ * provided by JpaRepository are sufficient.
+ */
+public interface BackfillCheckpointRepository extends JpaRepository<BackfillCheckpoint, String> {
+}
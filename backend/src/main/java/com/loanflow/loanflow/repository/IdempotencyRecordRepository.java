@@ -0,0 +1,65 @@
+package com.loanflow.loanflow.repository;
+
+import com.loanflow.loanflow.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for Idempotency-Key records.
+ */
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Deletes completed records older than the retention cutoff and
+     * abandoned reservations (loanId still null) older than the stale cutoff.
+     *
+     * Executed as a single set-based DELETE.
+     *
+     * @param retentionCutoff completed records created before this are removed.
+     * @param staleCutoff     unfinished reservations created before this are removed.
+     * @return number of deleted records.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.createdAt < :retentionCutoff "
+            + "or (r.loanId is null and r.createdAt < :staleCutoff)")
+    int purge(@Param("retentionCutoff") LocalDateTime retentionCutoff,
+              @Param("staleCutoff") LocalDateTime staleCutoff);
+
+    /**
+     * Stores the loan id on a reservation, provided it is still the one
+     * this caller made (not purged or taken over in the meantime).
+     *
+     * Runs inside the loan's transaction, so the loan and its record
+     * commit together.
+     *
+     * @return 1 if the reservation was completed, 0 if it is no longer ours
+     */
+    @Modifying
+    @Query("update IdempotencyRecord r set r.loanId = :loanId where r.idempotencyKey = :key "
+            + "and r.loanId is null and r.createdAt = :reservedAt")
+    int complete(@Param("key") String key,
+                 @Param("reservedAt") LocalDateTime reservedAt,
+                 @Param("loanId") Long loanId);
+
+    /**
+     * Takes over a reservation whose owner gave up or died, by renewing
+     * its timestamp. Only one caller can win: the condition includes the
+     * timestamp it observed.
+     *
+     * @return 1 if this caller now owns the reservation
+     */
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.createdAt = :reservedAt, r.requestHash = :requestHash "
+            + "where r.idempotencyKey = :key and r.loanId is null and r.createdAt = :observedAt")
+    int takeOver(@Param("key") String key,
+                 @Param("observedAt") LocalDateTime observedAt,
+                 @Param("reservedAt") LocalDateTime reservedAt,
+                 @Param("requestHash") String requestHash);
+}
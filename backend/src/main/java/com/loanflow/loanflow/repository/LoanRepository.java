@@ -2,9 +2,21 @@ package com.loanflow.loanflow.repository;
 
 import com.loanflow.loanflow.entity.LoanApplication;
 import com.loanflow.loanflow.entity.LoanStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Repository interface for accessing LoanApplication entities.
@@ -14,10 +26,14 @@ import org.springframework.data.jpa.repository.JpaRepository;
  *  - Pagination and sorting support
  *  - Transaction handling managed by Spring
  *
+ * Extends JpaSpecificationExecutor for multi-filter searches built from
+ * LoanSpecifications.
+ *
  * Custom query methods can be declared using Spring Data JPA
  * method naming conventions.
  */
-public interface LoanRepository extends JpaRepository<LoanApplication, Long> {
+public interface LoanRepository extends JpaRepository<LoanApplication, Long>,
+        JpaSpecificationExecutor<LoanApplication> {
 
     /**
      * Retrieves a paginated list of loan applications filtered by status.
@@ -30,4 +46,107 @@ public interface LoanRepository extends JpaRepository<LoanApplication, Long> {
      * @return paginated list of matching loan applications.
      */
     Page<LoanApplication> findByStatus(LoanStatus status, Pageable pageable);
+
+    /**
+     * Retrieves a paginated list of loans created within a time range.
+     *
+     * The created_at bounds allow PostgreSQL to prune monthly partitions
+     * outside the range.
+     *
+     * @param from     inclusive lower bound on createdAt.
+     * @param to       inclusive upper bound on createdAt.
+     * @param pageable pagination and sorting configuration.
+     * @return paginated list of matching loan applications.
+     */
+    Page<LoanApplication> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    /**
+     * Retrieves a paginated list of loans with a given status created within a time range.
+     *
+     * @param status   loan status to filter by.
+     * @param from     inclusive lower bound on createdAt.
+     * @param to       inclusive upper bound on createdAt.
+     * @param pageable pagination and sorting configuration.
+     * @return paginated list of matching loan applications.
+     */
+    Page<LoanApplication> findByStatusAndCreatedAtBetween(LoanStatus status, LocalDateTime from,
+                                                          LocalDateTime to, Pageable pageable);
+
+    /**
+     * Retrieves the next id-ordered chunk of loans with the given status.
+     *
+     * Used by batch jobs that walk the table in id ranges; the caller passes
+     * the highest id of the previous chunk so every query is a bounded
+     * primary-key range scan rather than an ever-growing OFFSET.
+     *
+     * The loans are loaded read-only: changes made to them in memory are
+     * never flushed, so callers write through guarded statements instead.
+     *
+     * @param status loan status to filter by.
+     * @param id     exclusive lower bound on the loan id.
+     * @param limit  maximum number of rows to return.
+     * @return loans ordered by ascending id.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<LoanApplication> findByStatusAndIdGreaterThanOrderByIdAsc(LoanStatus status, Long id, Limit limit);
+
+    /**
+     * Replaces the score used for scoring with the bureau score, and the
+     * computed scores derived from it, on a loan that is still pending.
+     *
+     * Only written while the loan is SUBMITTED: a loan approved or rejected
+     * before the bureau answered keeps the scores it was decided on.
+     * createdAt lets PostgreSQL prune to the loan's partition.
+     *
+     * @return 1 if the loan was updated, 0 if it is no longer SUBMITTED
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("update LoanApplication l set l.creditScore = :creditScore, l.creditScoreSource = 'BUREAU', "
+            + "l.dti = :dti, l.riskScore = :riskScore, l.eligibilityDecision = :decision, "
+            + "l.interestRate = :interestRate, l.rulesVersion = :rulesVersion "
+            + "where l.id = :id and l.createdAt = :createdAt and l.status = :status")
+    int applyBureauScoreIfPending(@Param("id") Long id,
+                                  @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("status") LoanStatus status,
+                                  @Param("creditScore") Integer creditScore,
+                                  @Param("dti") Double dti,
+                                  @Param("riskScore") Integer riskScore,
+                                  @Param("decision") String decision,
+                                  @Param("interestRate") Double interestRate,
+                                  @Param("rulesVersion") Integer rulesVersion);
+
+    /**
+     * Retrieves a user's newest loans.
+     *
+     * Served by idx_loan_application_user_created (user_id, created_at, id),
+     * read backwards.
+     *
+     * @param userId owning user id.
+     * @param limit  maximum number of rows to return.
+     * @return loans ordered by descending createdAt, then id.
+     */
+    @Query(value = "SELECT * FROM loan_application WHERE user_id = :userId "
+            + "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<LoanApplication> findNewestByUser(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Retrieves a user's loans older than a keyset position.
+     *
+     * The row comparison (created_at, id) < (:createdAt, :id) becomes an
+     * index condition, so a page costs the same at any depth.
+     *
+     * @param userId    owning user id.
+     * @param createdAt createdAt of the last loan of the previous page.
+     * @param id        id of the last loan of the previous page.
+     * @param limit     maximum number of rows to return.
+     * @return loans ordered by descending createdAt, then id.
+     */
+    @Query(value = "SELECT * FROM loan_application WHERE user_id = :userId "
+            + "AND (created_at, id) < (:createdAt, :id) "
+            + "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<LoanApplication> findByUserBefore(@Param("userId") Long userId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           @Param("limit") int limit);
 }
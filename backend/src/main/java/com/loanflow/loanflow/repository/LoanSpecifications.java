@@ -0,0 +1,61 @@
+package com.loanflow.loanflow.repository;
+
+import com.loanflow.loanflow.entity.LoanApplication;
+import com.loanflow.loanflow.service.LoanQueryService.LoanSearchFilter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA Specifications for dynamic loan searches.
+ *
+ * Only criteria that are actually set become predicates, so every filter
+ * combination produces a minimal WHERE clause. Each predicate targets a
+ * column covered by the search indexes (see V8__loan_search_indexes.sql).
+ */
+public final class LoanSpecifications {
+
+    private LoanSpecifications() {
+    }
+
+    /**
+     * Combines every criterion set on the filter with AND.
+     *
+     * @param f search filter (null fields are ignored)
+     * @return specification matching all given criteria
+     */
+    public static Specification<LoanApplication> matching(LoanSearchFilter f) {
+        List<Specification<LoanApplication>> specs = new ArrayList<>();
+
+        if (f.status() != null) specs.add(equal("status", f.status()));
+        if (f.eligibilityDecision() != null) specs.add(equal("eligibilityDecision", f.eligibilityDecision()));
+        if (f.purpose() != null) specs.add(equal("purpose", f.purpose()));
+        if (f.employmentType() != null) specs.add(equal("employmentType", f.employmentType()));
+
+        if (f.minCreditScore() != null) specs.add(atLeast("creditScore", f.minCreditScore()));
+        if (f.maxCreditScore() != null) specs.add(atMost("creditScore", f.maxCreditScore()));
+        if (f.minAmount() != null) specs.add(atLeast("amount", f.minAmount()));
+        if (f.maxAmount() != null) specs.add(atMost("amount", f.maxAmount()));
+        if (f.minRiskScore() != null) specs.add(atLeast("riskScore", f.minRiskScore()));
+        if (f.maxRiskScore() != null) specs.add(atMost("riskScore", f.maxRiskScore()));
+
+        // createdAt bounds also let PostgreSQL prune monthly partitions
+        if (f.from() != null) specs.add(atLeast("createdAt", f.from()));
+        if (f.to() != null) specs.add(atMost("createdAt", f.to()));
+
+        return Specification.allOf(specs);
+    }
+
+    private static Specification<LoanApplication> equal(String attribute, Object value) {
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    private static <Y extends Comparable<? super Y>> Specification<LoanApplication> atLeast(String attribute, Y value) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<Y>get(attribute), value);
+    }
+
+    private static <Y extends Comparable<? super Y>> Specification<LoanApplication> atMost(String attribute, Y value) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.<Y>get(attribute), value);
+    }
+}
@@ -0,0 +1,35 @@
+package com.loanflow.loanflow.repository;
+
+import com.loanflow.loanflow.entity.LoanVolumeRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for reading pre-aggregated loan volume buckets.
+ *
+ * Writes are performed as batched additive upserts by the rollup service.
+ */
+public interface LoanVolumeRollupRepository extends JpaRepository<LoanVolumeRollup, LoanVolumeRollup.Key> {
+
+    /**
+     * Retrieves all buckets of one granularity and dimension within a time range.
+     *
+     * @param granularity HOUR or DAY.
+     * @param dimension   status, eligibilityDecision, purpose or employmentType.
+     * @param from        inclusive lower bound on the bucket start.
+     * @param to          exclusive upper bound on the bucket start.
+     * @return matching buckets ordered by time, then value.
+     */
+    @Query("select r from LoanVolumeRollup r "
+            + "where r.id.granularity = :granularity and r.id.dimension = :dimension "
+            + "and r.id.bucketStart >= :from and r.id.bucketStart < :to "
+            + "order by r.id.bucketStart, r.id.dimensionValue")
+    List<LoanVolumeRollup> findRange(@Param("granularity") String granularity,
+                                     @Param("dimension") String dimension,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+}
@@ -1,10 +1,8 @@
 package com.loanflow.loanflow.repository;
 
 import com.loanflow.loanflow.entity.User;
-import com.loanflow.loanflow.entity.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -26,22 +24,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
     /**
-     * Counts the number of users assigned to a specific role.
+     * Checks whether a username is taken (answered from the unique index).
      *
-     * Used for administrative metrics and reporting.
-     *
-     * @param role user role to count.
-     * @return total number of users with the given role.
-     */
-    long countByRole(UserRole role);
-
-    /**
-     * Retrieves all users belonging to a specific role.
-     *
-     * Used for admin filtering and user management screens.
-     *
-     * @param role role to filter by.
-     * @return list of users matching the role.
+     * @param username username to check.
+     * @return true if a user with this username exists.
      */
-    List<User> findByRole(UserRole role);
+    boolean existsByUsername(String username);
 }
@@ -0,0 +1,23 @@
+package com.loanflow.loanflow.security;
+
+import com.loanflow.loanflow.entity.UserRole;
+
+import java.security.Principal;
+
+/**
+ * Authenticated caller, built from JWT claims without a database lookup.
+ *
+ * Stored as the principal of the Spring Security Authentication, so
+ * controllers receive it via a Principal argument.
+ *
+ * @param id       user id (uid claim)
+ * @param username username (subject)
+ * @param role     role (role claim)
+ */
+public record AuthenticatedUser(Long id, String username, UserRole role) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,5 +1,9 @@
 package com.loanflow.loanflow.security;
 
+import com.loanflow.loanflow.entity.UserRole;
+import com.loanflow.loanflow.tracing.Span;
+import com.loanflow.loanflow.tracing.Tracer;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,22 +12,24 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * JWT Authentication Filter (runs once per request).
  *
  * Responsibility:
  *  - Read JWT token from the Authorization header (Bearer <token>)
- *  - Validate and extract the username from the token
- *  - Load user details from the database
+ *  - Validate the token and extract user id, username and role from its claims
+ *  - Reject tokens revoked via TokenRevocationList (in-memory, no DB query)
  *  - Set the authentication object into Spring SecurityContext
+ *  - Open the root span of sampled requests (see Tracer); it stays bound to
+ *    the request thread until the rest of the filter chain has returned
  *
  * This enables role-based access control for protected endpoints without using server sessions.
  */
@@ -37,9 +43,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
 
     /**
-     * Service used to load user details (DbUserDetailsService implementation).
+     * In-memory deny-list of revoked tokens (deactivated users, role changes).
      */
-    private final UserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
+
+    /**
+     * Request tracer (returns no span for unsampled requests).
+     */
+    private final Tracer tracer;
 
     /**
      * Intercepts each incoming request and attempts to authenticate the user using JWT.
@@ -51,6 +62,23 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
 
+        Span trace = tracer.startTrace(request.getMethod(), request.getRequestURI());
+        try {
+            authenticate(request);
+
+            // Continue the filter chain (request continues to controllers or next filters)
+            filterChain.doFilter(request, response);
+        } finally {
+            tracer.endTrace(trace, response.getStatus());
+        }
+    }
+
+    /**
+     * Authenticates the request from its Bearer token, if it carries a valid one.
+     */
+    private void authenticate(HttpServletRequest request) {
+        Span span = tracer.startSpan("JwtAuthFilter.authenticate");
+
         // Extract Authorization header: "Bearer <token>"
         String header = request.getHeader(HttpHeaders.AUTHORIZATION);
 
@@ -59,21 +87,28 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             String token = header.substring(7); // remove "Bearer "
 
             try {
-                // Extract username from token (throws if token is invalid/expired depending on JwtUtil)
-                String username = jwtUtil.extractUsername(token);
+                // Verify signature and expiry, then read the claims (throws if invalid/expired)
+                Claims claims = jwtUtil.parseClaims(token);
+                Long userId = claims.get("uid", Long.class);
+                String role = claims.get("role", String.class);
+                Long issuedAt = JwtUtil.issuedAtMillis(claims);
 
-                // Set authentication only if not already authenticated in the security context
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Set authentication only if not already authenticated in the security context.
+                // Tokens without a uid claim predate revocation support and are not accepted.
+                if (userId != null && role != null && issuedAt != null
+                        && SecurityContextHolder.getContext().getAuthentication() == null
+                        && !revocationList.isRevoked(userId, issuedAt)) {
 
-                    // Load user from DB to attach authorities/roles to the SecurityContext
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    // Identity and role come from the signed claims; no database lookup
+                    AuthenticatedUser user = new AuthenticatedUser(
+                            userId, claims.getSubject(), UserRole.valueOf(role));
 
                     // Build authentication object used by Spring Security downstream
                     UsernamePasswordAuthenticationToken auth =
                             new UsernamePasswordAuthenticationToken(
-                                    userDetails,
+                                    user,
                                     null,
-                                    userDetails.getAuthorities()
+                                    List.of(new SimpleGrantedAuthority("ROLE_" + role))
                             );
 
                     // Attach request details (IP, session id, etc.)
@@ -88,7 +123,6 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             }
         }
 
-        // Continue the filter chain (request continues to controllers or next filters)
-        filterChain.doFilter(request, response);
+        tracer.endSpan(span);
     }
 }
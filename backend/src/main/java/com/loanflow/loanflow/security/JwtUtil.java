@@ -1,5 +1,6 @@
 package com.loanflow.loanflow.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -15,14 +16,20 @@ import java.util.Date;
  *
  * This class encapsulates all JWT-related operations:
  *  - Token generation with claims
- *  - Username and role extraction
- *  - Signature verification and expiration validation
+ *  - Signature verification and expiration validation, returning the claims
  *
  * Tokens are signed using HS256 with a secret key provided via application configuration.
  */
 @Component
 public class JwtUtil {
 
+    /**
+     * Issue time in milliseconds. The standard iat claim has one-second
+     * resolution, which TokenRevocationList cannot compare against a
+     * revocation made earlier in the same second.
+     */
+    public static final String ISSUED_AT_MS = "iat_ms";
+
     /**
      * Cryptographic signing key used to sign and verify JWT tokens.
      */
@@ -58,63 +65,54 @@ public class JwtUtil {
      *
      * Token includes:
      *  - Subject: username
-     *  - Custom claim: role
-     *  - Issued timestamp
+     *  - Custom claims: uid (user id) and role
+     *  - Issued timestamp, also in milliseconds (checked against TokenRevocationList)
      *  - Expiration timestamp
+     *
+     * The claims are sufficient to authenticate requests without loading
+     * the user from the database.
      */
-    public String generateToken(String username, String role) {
+    public String generateToken(Long userId, String username, String role) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setSubject(username)
+                .claim("uid", userId)
                 .claim("role", role) // Custom claim used for role-based authorization
-                .setIssuedAt(new Date())
-                .setExpiration(
-                        new Date(System.currentTimeMillis() + expirationMs)
-                )
+                .claim(ISSUED_AT_MS, now)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMs))
                 .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     /**
-     * Extracts username (subject) from the JWT token.
+     * Verifies the token and returns all of its claims.
      *
-     * Automatically validates signature before parsing.
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
      */
-    public String extractUsername(String token) {
+    public Claims parseClaims(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(signingKey)
                 .build()
                 .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+                .getBody();
     }
 
     /**
-     * Extracts role claim from the JWT token.
-     */
-    public String extractRole(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("role", String.class);
-    }
-
-    /**
-     * Validates token signature and expiration.
+     * Returns when the token was issued, in milliseconds.
+     *
+     * Tokens issued before the millisecond claim existed fall back to iat,
+     * truncated to the second: they may be rejected by a revocation made
+     * later in that second, never accepted after one.
      *
-     * @return true if token is valid, false otherwise.
+     * @return issue time, or null if the token carries neither claim
      */
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(signingKey)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            // Any parsing or validation error indicates an invalid token
-            return false;
+    public static Long issuedAtMillis(Claims claims) {
+        Long millis = claims.get(ISSUED_AT_MS, Long.class);
+        if (millis != null) {
+            return millis;
         }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null ? null : issuedAt.getTime();
     }
 }
@@ -0,0 +1,124 @@
+package com.loanflow.loanflow.security;
+
+import com.loanflow.loanflow.cache.LongLongMap;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+
+/**
+ * In-memory deny-list of JWTs, keyed by user.
+ *
+ * Each entry maps a user id to a "revoked before" time: any token of that
+ * user issued earlier is rejected. Deactivating a user or changing their
+ * role records an entry, so existing tokens stop working immediately
+ * instead of at expiry.
+ *
+ * Consistency across nodes:
+ *  - The source of truth is the token_revocation table, written in the same
+ *    statement as the user update (see UserAdminServiceImpl)
+ *  - The writing node applies the entry locally right away
+ *  - Every node polls the table for entries changed since its last poll
+ *    (revocation.pollIntervalMs), so other nodes converge within one interval
+ *  - updated_at is stamped by the database (clock_timestamp()) and the
+ *    initial watermark is read from it too, so the watermark follows a
+ *    single clock: a node whose JVM clock runs ahead cannot push it past
+ *    entries other nodes have yet to see
+ *
+ * Entries older than the token lifetime are purged: every token issued
+ * before them has already expired.
+ *
+ * Checks are O(1) lookups in a primitive LongLongMap; the request path
+ * never queries the database.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    /**
+     * Polls re-read this far behind the newest change seen, so entries whose
+     * transaction committed late are not missed.
+     */
+    private static final long POLL_OVERLAP_MS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long tokenLifetimeMs;
+    private final LongLongMap revokedBefore = new LongLongMap(1024);
+    private volatile long watermarkMs;
+
+    public TokenRevocationList(
+            JdbcTemplate jdbcTemplate,
+            @Value("${jwt.expirationMs:86400000}") long tokenLifetimeMs
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+    }
+
+    /**
+     * True if a token of this user issued at the given time has been revoked.
+     *
+     * @param issuedAtMillis millisecond issue time (JwtUtil.issuedAtMillis);
+     *                       iat alone is truncated to the second and would
+     *                       reject a token issued just after a revocation
+     */
+    public boolean isRevoked(long userId, long issuedAtMillis) {
+        return issuedAtMillis < revokedBefore.get(userId, Long.MIN_VALUE);
+    }
+
+    /**
+     * Applies revocations that this node has just written to the database.
+     */
+    public void revokeLocally(Collection<Long> userIds, long revokedBeforeMillis) {
+        for (Long id : userIds) {
+            revokedBefore.putMax(id, revokedBeforeMillis);
+        }
+    }
+
+    /**
+     * Loads all live entries before the application starts serving requests.
+     */
+    @PostConstruct
+    void load() {
+        long dbNow = jdbcTemplate.queryForObject("SELECT clock_timestamp()", Timestamp.class).getTime();
+        watermarkMs = dbNow;
+        poll(dbNow - tokenLifetimeMs);
+        log.info("Loaded {} token revocations", revokedBefore.size());
+    }
+
+    /**
+     * Picks up revocations written by other nodes.
+     */
+    @Scheduled(fixedDelayString = "${revocation.pollIntervalMs:2000}")
+    void refresh() {
+        try {
+            poll(watermarkMs - POLL_OVERLAP_MS);
+        } catch (RuntimeException ex) {
+            log.warn("Token revocation poll failed", ex);
+        }
+    }
+
+    /**
+     * Removes entries that can no longer match an unexpired token.
+     */
+    @Scheduled(fixedDelayString = "${revocation.purgeIntervalMs:3600000}")
+    void purge() {
+        long cutoff = System.currentTimeMillis() - tokenLifetimeMs;
+        revokedBefore.removeValuesIf(v -> v < cutoff);
+        jdbcTemplate.update("DELETE FROM token_revocation WHERE revoked_before < ?", new Timestamp(cutoff));
+    }
+
+    private void poll(long sinceMs) {
+        jdbcTemplate.query(
+                "SELECT user_id, revoked_before, updated_at FROM token_revocation WHERE updated_at > ?",
+                rs -> {
+                    revokedBefore.putMax(rs.getLong("user_id"), rs.getTimestamp("revoked_before").getTime());
+                    watermarkMs = Math.max(watermarkMs, rs.getTimestamp("updated_at").getTime());
+                },
+                new Timestamp(sinceMs));
+    }
+}
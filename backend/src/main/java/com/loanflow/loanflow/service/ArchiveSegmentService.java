@@ -0,0 +1,65 @@
+package com.loanflow.loanflow.service;
+
+import com.loanflow.loanflow.archive.ArchiveFilter;
+import com.loanflow.loanflow.archive.ArchivedLoan;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service interface for the cold loan archive.
+ *
+ * Decided loans in partitions detached by PartitionMaintenanceService are
+ * exported into immutable, compressed segment files on a volume shared by
+ * all nodes and then dropped from the database. The segments remain
+ * searchable read-only.
+ */
+public interface ArchiveSegmentService {
+
+    /**
+     * Exports every table in the loan_archive schema into segment files and
+     * drops each table once its segments have been read back and hold all
+     * of its rows. Runs on one node at a time.
+     *
+     * @return names of the tables exported (empty if another node is exporting)
+     * @throws org.springframework.web.server.ResponseStatusException 409 if
+     *         archive.exportEnabled is off
+     */
+    List<String> exportArchivedPartitions();
+
+    /**
+     * Searches archived loans, newest first: tables still waiting in
+     * loan_archive as well as exported segments.
+     *
+     * @param filter optional createdAt / status / riskScore bounds
+     * @param limit  maximum number of rows returned
+     */
+    List<ArchivedLoan> search(ArchiveFilter filter, int limit);
+
+    /**
+     * Returns the ids of users owning at least one archived loan created
+     * at or after the given time.
+     */
+    Set<Long> userIdsWithLoansSince(LocalDateTime since);
+
+    /**
+     * True if an archived loan created at or after the given time has no owner
+     * (submitted before loans were linked to their applicant).
+     */
+    boolean hasUnlinkedLoansSince(LocalDateTime since);
+
+    /**
+     * Returns a summary of the loaded segments.
+     */
+    ArchiveStats stats();
+
+    /**
+     * Loaded segment summary.
+     *
+     * @param segments number of segment files loaded
+     * @param rows     total number of archived loans
+     * @param bytes    total size of the segment files on disk
+     */
+    record ArchiveStats(int segments, long rows, long bytes) {}
+}
@@ -0,0 +1,61 @@
+package com.loanflow.loanflow.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for the background auto-decisioning worker.
+ *
+ * SUBMITTED loans that the eligibility rules already settle are decided
+ * without an analyst:
+ *  - ELIGIBLE loans at or below the configured risk score and amount are approved
+ *  - REJECT loans are rejected
+ *
+ * Everything else (REVIEW, riskier or larger ELIGIBLE loans, suspected
+ * duplicates, loans scored by outdated rules) stays in the analyst queue.
+ */
+public interface AutoDecisionService {
+
+    /**
+     * Drains the auto-decidable backlog now, up to the per-run batch limit.
+     *
+     * @return statistics after the run
+     */
+    AutoDecisionStats runOnce();
+
+    /**
+     * Returns throughput and lag of the worker on this node.
+     *
+     * @return current statistics
+     */
+    AutoDecisionStats stats();
+
+    /**
+     * Snapshot of the worker's configuration, throughput and lag.
+     *
+     * @param enabled                 whether the scheduled worker runs
+     * @param approvePolicy           descriptor recorded on auto-approved loans
+     * @param rejectPolicy            descriptor recorded on auto-rejected loans
+     * @param approvedTotal           loans approved by this node since startup
+     * @param rejectedTotal           loans rejected by this node since startup
+     * @param lastRunAt               start of the last run
+     * @param lastRunDecided          loans decided by the last run
+     * @param lastRunMillis           duration of the last run
+     * @param decisionsPerSecond      throughput of the last run
+     * @param avgDecisionLagSeconds   mean time from submission to decision in the last run
+     * @param oldestPendingAgeSeconds age of the oldest auto-decidable loan still
+     *                                SUBMITTED after the last run (0 when drained)
+     */
+    record AutoDecisionStats(
+            boolean enabled,
+            String approvePolicy,
+            String rejectPolicy,
+            long approvedTotal,
+            long rejectedTotal,
+            LocalDateTime lastRunAt,
+            long lastRunDecided,
+            long lastRunMillis,
+            double decisionsPerSecond,
+            double avgDecisionLagSeconds,
+            long oldestPendingAgeSeconds
+    ) {}
+}
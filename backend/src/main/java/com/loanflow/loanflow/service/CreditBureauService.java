@@ -0,0 +1,27 @@
+package com.loanflow.loanflow.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service interface for retrieving applicant credit scores from an
+ * external credit bureau.
+ *
+ * Calls are asynchronous and always bounded in time, so callers can wait
+ * on the returned future without risking unbounded blocking.
+ */
+public interface CreditBureauService {
+
+    /**
+     * Fetches the bureau credit score for an applicant.
+     *
+     * The returned future never completes exceptionally: it completes with
+     * null when the bureau is disabled, times out, fails, or when the
+     * concurrency limit is reached, so the caller can fall back to the
+     * self-reported score.
+     *
+     * @param applicantKey stable identifier of the applicant (the applying
+     *                     user's id); never a name, which different people share
+     * @return future completing with the score, or null if unavailable
+     */
+    CompletableFuture<Integer> fetchScore(String applicantKey);
+}
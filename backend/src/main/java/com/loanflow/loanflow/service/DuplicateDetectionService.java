@@ -0,0 +1,33 @@
+package com.loanflow.loanflow.service;
+
+import com.loanflow.loanflow.dto.LoanRequest;
+
+/**
+ * Service interface for detecting duplicate loan submissions.
+ *
+ * Implementations keep a bounded, time-windowed index of recent
+ * applications and answer in constant time, before any database access.
+ */
+public interface DuplicateDetectionService {
+
+    /**
+     * Records the application and reports whether an identical one was seen
+     * within the configured window.
+     *
+     * Depending on configuration, a duplicate is either rejected
+     * (HTTP 409) or only flagged.
+     *
+     * @param req incoming loan request
+     * @return true if the request should be flagged as a suspected duplicate
+     */
+    boolean checkAndRecord(LoanRequest req);
+
+    /**
+     * Removes an application recorded by {@link #checkAndRecord} that was
+     * not persisted after all, so the client's retry is not taken for a
+     * duplicate of it. Only call it when checkAndRecord returned false.
+     *
+     * @param req the request passed to checkAndRecord
+     */
+    void forget(LoanRequest req);
+}
@@ -18,6 +18,16 @@ public interface EligibilityService {
      */
     EligibilityResult evaluate(LoanRequest req);
 
+    /**
+     * Returns the version of the scoring rules currently applied by {@link #evaluate}.
+     *
+     * The version is persisted on every scored loan so that stale scores can be
+     * detected and recomputed after thresholds change.
+     *
+     * @return current rules version
+     */
+    int rulesVersion();
+
     /**
      * Immutable result object returned by eligibility evaluation.
      *
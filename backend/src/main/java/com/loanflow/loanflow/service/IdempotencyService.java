@@ -0,0 +1,31 @@
+package com.loanflow.loanflow.service;
+
+import com.loanflow.loanflow.entity.LoanApplication;
+
+import java.util.function.Supplier;
+
+/**
+ * Service interface implementing Idempotency-Key semantics for loan creation.
+ *
+ * Guarantees that, for a given key, the loan is created at most once and
+ * that retries receive the originally created loan. A key is bound to the
+ * request body it was first used with; reusing it with another body is
+ * rejected with 422.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Runs the action once per key and returns its result; repeated or
+     * concurrent calls with the same key and body return the same loan.
+     *
+     * @param key     idempotency key, already scoped to the caller
+     * @param request request body, hashed and compared with the body the
+     *                key was first used with (read before the action runs)
+     * @param action  loan creation to run if the key is new
+     * @return the loan created for this key
+     * @throws org.springframework.web.server.ResponseStatusException 422 if
+     *         the key was used with a different body, 409 if the first
+     *         request with this key is still running
+     */
+    LoanApplication applyOnce(String key, Object request, Supplier<LoanApplication> action);
+}
@@ -0,0 +1,78 @@
+package com.loanflow.loanflow.service;
+
+import com.loanflow.loanflow.entity.LoanStatus;
+import com.loanflow.loanflow.entity.UserRole;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Service interface for live in-memory counts of loans and users.
+ *
+ * Counts are seeded from the database at startup, kept current from this
+ * node's own writes, and periodically reconciled against the database to
+ * pick up everything else (writes made by other nodes, archived
+ * partitions). Reads never touch the database.
+ *
+ * Writers report inside the transaction that makes the change; it is
+ * applied when that transaction commits, and not at all on rollback.
+ */
+public interface LiveCountService {
+
+    /**
+     * Returns the current counts.
+     */
+    LiveCounts counts();
+
+    /**
+     * Records a newly created user (call it inside the inserting transaction).
+     */
+    void userCreated(UserRole role);
+
+    /**
+     * Records users moved from one role to another (call it inside the
+     * updating transaction).
+     *
+     * @param from  previous role
+     * @param to    new role
+     * @param users number of users moved
+     */
+    void usersMoved(UserRole from, UserRole to, long users);
+
+    /**
+     * Recounts from the database and corrects the live counts.
+     *
+     * @return the corrected counts
+     */
+    LiveCounts reconcile();
+
+    /**
+     * Snapshot of the live counts.
+     *
+     * @param loansByStatus   loans per status
+     * @param loansByDecision loans per eligibility decision (UNKNOWN when not scored)
+     * @param usersByRole     users per role
+     * @param reconciledAt    time of the last reconciliation (null before seeding)
+     */
+    record LiveCounts(
+            Map<LoanStatus, Long> loansByStatus,
+            Map<String, Long> loansByDecision,
+            Map<UserRole, Long> usersByRole,
+            LocalDateTime reconciledAt
+    ) {
+
+        /**
+         * Total number of loans.
+         */
+        public long loans() {
+            return loansByStatus.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        /**
+         * Number of users with the given role.
+         */
+        public long users(UserRole role) {
+            return usersByRole.getOrDefault(role, 0L);
+        }
+    }
+}
@@ -4,6 +4,10 @@ import com.loanflow.loanflow.entity.LoanApplication;
 import com.loanflow.loanflow.entity.LoanStatus;
 import org.springframework.data.domain.Page;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Service interface responsible for querying loan applications.
  *
@@ -20,6 +24,8 @@ public interface LoanQueryService {
      * @param sortBy    entity field to sort by
      * @param direction sort direction (asc / desc)
      * @param status    optional loan status filter
+     * @param from      optional inclusive lower bound on createdAt
+     * @param to        optional inclusive upper bound on createdAt
      * @return paginated list of loan applications
      */
     Page<LoanApplication> listLoans(
@@ -27,6 +33,153 @@ public interface LoanQueryService {
             int size,
             String sortBy,
             String direction,
-            LoanStatus status
+            LoanStatus status,
+            LocalDateTime from,
+            LocalDateTime to
+    );
+
+    /**
+     * Same listing as {@link #listLoans}, but selects only the given fields.
+     *
+     * The field list is projected in the query itself, so only those columns
+     * are read and no LoanApplication entities are materialized.
+     *
+     * @param fields    LoanApplication field names to return (at least one)
+     * @param page      page index (0-based)
+     * @param size      number of records per page
+     * @param sortBy    field to sort by
+     * @param direction sort direction (asc / desc)
+     * @param status    optional loan status filter
+     * @param from      optional inclusive lower bound on createdAt
+     * @param to        optional inclusive upper bound on createdAt
+     * @return paginated rows, each mapping field name to value in the requested order
+     */
+    Page<Map<String, Object>> listLoanFields(
+            List<String> fields,
+            int page,
+            int size,
+            String sortBy,
+            String direction,
+            LoanStatus status,
+            LocalDateTime from,
+            LocalDateTime to
     );
+
+    /**
+     * Searches loans by any combination of filters.
+     *
+     * @param filter    search criteria (null fields are ignored)
+     * @param page      page index (0-based)
+     * @param size      number of records per page
+     * @param sortBy    createdAt, amount, riskScore, creditScore or id
+     * @param direction sort direction (asc / desc)
+     * @return paginated list of matching loan applications
+     */
+    Page<LoanApplication> search(LoanSearchFilter filter, int page, int size, String sortBy, String direction);
+
+    /**
+     * Searches loans and counts the matches per status, purpose and
+     * eligibility decision, in a single database round-trip.
+     *
+     * Results are cached per filter signature until the next loan write.
+     *
+     * @param filter    search criteria (null fields are ignored)
+     * @param page      page index (0-based)
+     * @param size      number of records per page
+     * @param sortBy    createdAt, amount, riskScore, creditScore or id
+     * @param direction sort direction (asc / desc)
+     * @return the page, the total and the facet counts
+     */
+    FacetedLoanPage facetedSearch(LoanSearchFilter filter, int page, int size, String sortBy, String direction);
+
+    /**
+     * Returns one page of a user's own loans, newest first.
+     *
+     * Keyset-paginated: pass the returned nextCursor back as {@code cursor}
+     * to fetch the next page. Loans without a recorded owner (submitted
+     * before applications were linked to their user) are not included.
+     *
+     * @param userId owning user id
+     * @param cursor opaque cursor from the previous page (null for the first page)
+     * @param size   maximum number of loans returned
+     * @return the page and the cursor for the next one
+     */
+    LoanHistoryPage listForUser(Long userId, String cursor, int size);
+
+    /**
+     * Finds loans by applicant name, best matches first.
+     *
+     * Names starting with the query rank first, then names containing a
+     * word similar to it (tolerating typos), by similarity. Only the first
+     * {@code limit} prefix hits in name order are ranked, so a common
+     * prefix costs no more than a rare one.
+     *
+     * @param query name or name fragment (at least 3 characters)
+     * @param limit maximum number of matches
+     * @return ranked matches
+     */
+    List<NameMatch> searchByName(String query, int limit);
+
+    /**
+     * Multi-field loan search criteria; every bound is inclusive.
+     */
+    record LoanSearchFilter(
+            LoanStatus status,
+            String eligibilityDecision,
+            String purpose,
+            String employmentType,
+            Integer minCreditScore,
+            Integer maxCreditScore,
+            Double minAmount,
+            Double maxAmount,
+            Integer minRiskScore,
+            Integer maxRiskScore,
+            LocalDateTime from,
+            LocalDateTime to
+    ) {}
+
+    /**
+     * One page of search results with facet counts over all matches.
+     *
+     * @param content               loans on this page
+     * @param page                  page index
+     * @param size                  requested page size
+     * @param totalElements         number of loans matching the filter
+     * @param byStatus              matches per status
+     * @param byPurpose             matches per purpose
+     * @param byEligibilityDecision matches per eligibility decision
+     */
+    record FacetedLoanPage(
+            List<LoanApplication> content,
+            int page,
+            int size,
+            long totalElements,
+            Map<String, Long> byStatus,
+            Map<String, Long> byPurpose,
+            Map<String, Long> byEligibilityDecision
+    ) {}
+
+    /**
+     * One applicant-name search hit.
+     *
+     * @param score word similarity between the query and the name (0..1)
+     */
+    record NameMatch(
+            Long id,
+            String fullName,
+            LoanStatus status,
+            String eligibilityDecision,
+            Double amount,
+            LocalDateTime createdAt,
+            boolean prefixMatch,
+            double score
+    ) {}
+
+    /**
+     * One page of a user's loans.
+     *
+     * @param items      loans on this page
+     * @param nextCursor value to pass as cursor for the next page, or null if this is the last page
+     */
+    record LoanHistoryPage(List<LoanApplication> items, String nextCursor) {}
 }
@@ -2,6 +2,7 @@ package com.loanflow.loanflow.service;
 
 import com.loanflow.loanflow.dto.LoanRequest;
 import com.loanflow.loanflow.entity.LoanApplication;
+import com.loanflow.loanflow.entity.LoanStatus;
 
 /**
  * Service interface responsible for handling core loan business operations.
@@ -17,10 +18,24 @@ public interface LoanService {
      * This method:
      *  - Validates and maps request data
      *  - Evaluates eligibility and risk
-     *  - Persists the loan record
+     *  - Persists the loan record, linked to the applicant's user
      *
-     * @param req loan request payload
+     * @param req    loan request payload
+     * @param userId id of the applying user (null if unknown)
      * @return persisted LoanApplication entity
      */
-    LoanApplication applyLoan(LoanRequest req);
+    LoanApplication applyLoan(LoanRequest req, Long userId);
+
+    /**
+     * Moves a loan application to a final status (approve / reject).
+     *
+     * Fails with 409 while another analyst holds an active work queue
+     * lease on the loan; otherwise any lease on it is ended.
+     *
+     * @param id      loan identifier
+     * @param status  new status
+     * @param actorId id of the deciding user, or null for system decisions
+     * @return updated LoanApplication entity
+     */
+    LoanApplication decide(Long id, LoanStatus status, Long actorId);
 }
@@ -0,0 +1,43 @@
+package com.loanflow.loanflow.service;
+
+import com.loanflow.loanflow.entity.LoanStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for pushing loan changes to connected dashboards
+ * as Server-Sent Events.
+ */
+public interface LoanStreamService {
+
+    /**
+     * Opens a new subscription.
+     *
+     * @param lastEventId id of the last event the client received before
+     *                    reconnecting (Last-Event-ID header), or null
+     * @return emitter that stays open until the client disconnects or the timeout elapses
+     */
+    SseEmitter subscribe(String lastEventId);
+
+    /**
+     * Payload of a "loan" event.
+     *
+     * @param type           SUBMITTED for new applications, DECIDED for approve / reject
+     * @param loanId         loan id
+     * @param status         current status
+     * @param previousStatus status before a decision (null for SUBMITTED)
+     */
+    record LoanStreamEvent(
+            String type,
+            Long loanId,
+            LoanStatus status,
+            LoanStatus previousStatus,
+            String eligibilityDecision,
+            Integer riskScore,
+            Double amount,
+            String purpose,
+            String fullName,
+            LocalDateTime createdAt
+    ) {}
+}
@@ -0,0 +1,76 @@
+package com.loanflow.loanflow.service;
+
+import com.loanflow.loanflow.entity.LoanApplication;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for the analyst work queue over SUBMITTED loans.
+ *
+ * Analysts claim the next loans instead of paging a shared list. A claim
+ * grants a time-bounded lease; leased loans are invisible to other
+ * claimers until the lease is released, the loan is decided, or the
+ * lease expires (expired leases are reclaimed by the next claim).
+ */
+public interface LoanWorkQueueService {
+
+    /**
+     * Leases the next unleased SUBMITTED loans to an analyst.
+     *
+     * @param analystId id of the claiming analyst
+     * @param count     maximum number of loans to claim
+     * @param order     queue ordering
+     * @return the claimed loans, in queue order (possibly empty)
+     */
+    Claim claim(Long analystId, int count, QueueOrder order);
+
+    /**
+     * Extends the analyst's active leases on the given loans.
+     *
+     * @return the loans whose lease was extended (leases that already
+     *         expired and went to another analyst are not included)
+     */
+    Renewal renew(Long analystId, List<Long> loanIds);
+
+    /**
+     * Gives the analyst's leases on the given loans back to the queue.
+     *
+     * @return number of leases released
+     */
+    int release(Long analystId, List<Long> loanIds);
+
+    /**
+     * Ends any lease on a loan that is being decided, in the caller's
+     * transaction. Must run before the decision is written, so the row is
+     * locked and no claim can lease it in between.
+     *
+     * @param loanId  loan being decided
+     * @param actorId deciding user, or null for system decisions
+     * @return false if the loan is missing or another analyst holds an active lease on it
+     */
+    boolean endLeaseForDecision(Long loanId, Long actorId);
+
+    /**
+     * Queue orderings.
+     *  - RISK: highest riskScore first, then oldest
+     *  - AGE:  oldest first
+     */
+    enum QueueOrder { RISK, AGE }
+
+    /**
+     * Result of a claim.
+     *
+     * @param loans          leased loans, in queue order
+     * @param leaseExpiresAt expiry shared by every lease granted by the claim
+     */
+    record Claim(List<LoanApplication> loans, LocalDateTime leaseExpiresAt) {}
+
+    /**
+     * Result of a lease renewal.
+     *
+     * @param loanIds        ids of the loans still leased to the analyst
+     * @param leaseExpiresAt new expiry of those leases
+     */
+    record Renewal(List<Long> loanIds, LocalDateTime leaseExpiresAt) {}
+}
@@ -0,0 +1,25 @@
+package com.loanflow.loanflow.service;
+
+import java.util.List;
+
+/**
+ * Service interface for maintaining the monthly partitions of loan_application.
+ */
+public interface PartitionMaintenanceService {
+
+    /**
+     * Creates monthly partitions for the current month and the configured
+     * number of months ahead, if missing.
+     *
+     * @return names of the partitions created
+     */
+    List<String> ensureFuturePartitions();
+
+    /**
+     * Detaches partitions older than the retention period that contain only
+     * decided (APPROVED / REJECTED) loans and moves them to the archive schema.
+     *
+     * @return names of the partitions archived
+     */
+    List<String> archiveDecidedPartitions();
+}
@@ -0,0 +1,16 @@
+package com.loanflow.loanflow.service;
+
+/**
+ * Service interface for creating new user accounts.
+ */
+public interface RegistrationService {
+
+    /**
+     * Registers a CUSTOMER account.
+     *
+     * @param username    requested username
+     * @param rawPassword plaintext password (hashed before storing)
+     * @throws org.springframework.web.server.ResponseStatusException 409 if the username is taken
+     */
+    void register(String username, String rawPassword);
+}
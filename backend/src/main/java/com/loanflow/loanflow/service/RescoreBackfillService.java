@@ -0,0 +1,51 @@
+package com.loanflow.loanflow.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for the loan re-scoring backfill job.
+ *
+ * The job walks SUBMITTED loans in id-range chunks, re-evaluates them with the
+ * current eligibility rules and writes back any changed scores. Progress is
+ * checkpointed so the job can be stopped and resumed safely.
+ */
+public interface RescoreBackfillService {
+
+    /**
+     * Starts (or resumes) the backfill in the background.
+     *
+     * @param rowsPerSecond optional throughput limit overriding the configured default
+     * @return current job status
+     */
+    BackfillStatus start(Integer rowsPerSecond);
+
+    /**
+     * Requests the running backfill to stop after the current chunk.
+     *
+     * @return current job status
+     */
+    BackfillStatus stop();
+
+    /**
+     * Returns the current job status and throughput.
+     *
+     * @return current job status
+     */
+    BackfillStatus status();
+
+    /**
+     * Immutable snapshot of the backfill progress.
+     */
+    record BackfillStatus(
+            boolean running,
+            int rulesVersion,
+            long lastId,
+            long scanned,
+            long updated,
+            boolean completed,
+            double rowsPerSecond,
+            int throttleRowsPerSecond,
+            LocalDateTime startedAt,
+            LocalDateTime checkpointAt
+    ) {}
+}
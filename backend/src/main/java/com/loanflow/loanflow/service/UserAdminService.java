@@ -0,0 +1,75 @@
+package com.loanflow.loanflow.service;
+
+import com.loanflow.loanflow.entity.UserRole;
+import com.loanflow.loanflow.service.UserQueryService.UserSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for administrative writes on users.
+ *
+ * All writes are set-based UPDATEs. Role changes and deactivations also
+ * revoke the existing tokens of every affected user.
+ */
+public interface UserAdminService {
+
+    /**
+     * Changes the role of one user.
+     *
+     * @return the updated user
+     */
+    UserSummary updateRole(Long id, UserRole role);
+
+    /**
+     * Enables or disables one user.
+     *
+     * @return the updated user
+     */
+    UserSummary updateActive(Long id, boolean active);
+
+    /**
+     * Changes the role of every selected user.
+     */
+    BulkResult bulkUpdateRole(UserSelection selection, UserRole role);
+
+    /**
+     * Enables or disables every selected user.
+     */
+    BulkResult bulkUpdateActive(UserSelection selection, boolean active);
+
+    /**
+     * Users targeted by a bulk write; all present criteria must match.
+     *
+     * @param ids            explicit user ids
+     * @param role           current role
+     * @param active         current active flag
+     * @param usernamePrefix username prefix
+     * @param noLoansSince   users without any loan created at or after this time
+     *                       (refused with 409 while loans without an owner exist after it)
+     */
+    record UserSelection(
+            List<Long> ids,
+            UserRole role,
+            Boolean active,
+            String usernamePrefix,
+            LocalDateTime noLoansSince
+    ) {
+
+        /**
+         * True if no criterion is present (which would select every user).
+         */
+        public boolean isEmpty() {
+            return (ids == null || ids.isEmpty()) && role == null && active == null
+                    && (usernamePrefix == null || usernamePrefix.isBlank()) && noLoansSince == null;
+        }
+    }
+
+    /**
+     * Outcome of a bulk write.
+     *
+     * @param updated    number of users changed (users already in the target state are skipped)
+     * @param statements number of UPDATE statements executed
+     */
+    record BulkResult(int updated, int statements) {}
+}
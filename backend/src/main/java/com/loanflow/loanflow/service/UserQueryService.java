@@ -0,0 +1,39 @@
+package com.loanflow.loanflow.service;
+
+import com.loanflow.loanflow.entity.UserRole;
+
+import java.util.List;
+
+/**
+ * Service interface responsible for querying users for administration.
+ *
+ * Listings are keyset-paginated (by id) and projected, so each call reads
+ * a bounded number of narrow rows regardless of how many users exist.
+ */
+public interface UserQueryService {
+
+    /**
+     * Returns the next page of users after the given cursor, ordered by id.
+     *
+     * @param afterId        cursor: id of the last user of the previous page (null for the first page)
+     * @param size           maximum number of users returned
+     * @param role           optional role filter
+     * @param active         optional active flag filter
+     * @param usernamePrefix optional case-sensitive username prefix
+     * @return the page and the cursor for the next one
+     */
+    UserPage listUsers(Long afterId, int size, UserRole role, Boolean active, String usernamePrefix);
+
+    /**
+     * Projection of a user without credentials.
+     */
+    record UserSummary(Long id, String username, UserRole role, boolean active) {}
+
+    /**
+     * One page of users.
+     *
+     * @param items      users on this page
+     * @param nextCursor value to pass as afterId for the next page, or null if this is the last page
+     */
+    record UserPage(List<UserSummary> items, Long nextCursor) {}
+}
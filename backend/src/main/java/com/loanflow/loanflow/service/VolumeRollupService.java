@@ -0,0 +1,50 @@
+package com.loanflow.loanflow.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for incrementally maintained loan volume rollups.
+ *
+ * Volumes are tracked per hour and per day, broken down by status,
+ * eligibility decision, purpose and employment type.
+ */
+public interface VolumeRollupService {
+
+    /**
+     * Supported dimensions (values match the LoanApplication field names).
+     */
+    List<String> DIMENSIONS = List.of("status", "eligibilityDecision", "purpose", "employmentType");
+
+    /**
+     * Returns pre-aggregated buckets for a dimension and time range.
+     *
+     * @param granularity HOUR or DAY
+     * @param dimension   one of {@link #DIMENSIONS}
+     * @param from        inclusive range start
+     * @param to          exclusive range end
+     * @return buckets ordered by time
+     */
+    List<VolumeBucket> volume(String granularity, String dimension, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Writes all pending in-memory deltas to the rollup table.
+     */
+    void flush();
+
+    /**
+     * Recounts every bucket still covered by loan_application from the
+     * loans themselves, replacing whatever the deltas produced.
+     */
+    void reconcile();
+
+    /**
+     * One bucket of the volume series.
+     */
+    record VolumeBucket(
+            LocalDateTime bucketStart,
+            String value,
+            long count,
+            double amountSum
+    ) {}
+}
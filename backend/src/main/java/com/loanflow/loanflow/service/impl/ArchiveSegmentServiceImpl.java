@@ -0,0 +1,416 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.archive.ArchiveFilter;
+import com.loanflow.loanflow.archive.ArchivedLoan;
+import com.loanflow.loanflow.archive.LoanSegment;
+import com.loanflow.loanflow.entity.LoanStatus;
+import com.loanflow.loanflow.service.ArchiveSegmentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of ArchiveSegmentService backed by LoanSegment files.
+ *
+ * Lifecycle of a historic loan:
+ *  1. PartitionMaintenanceService detaches an old, fully decided monthly
+ *     partition and moves it to the loan_archive schema
+ *  2. This service exports the table, with every column, in id-ordered
+ *     chunks of archive.segmentRows rows, one segment file per chunk
+ *     (named &lt;table&gt;-&lt;firstId&gt;.seg, so a rerun overwrites instead of duplicating)
+ *  3. Each file is fsynced, then read back and fully decoded; the table is
+ *     dropped only if the segments hold exactly its row count
+ *
+ * Storage: archive.dir must be a durable volume shared by every node (a
+ * network or replicated mount), since the database copy is gone once a
+ * table is dropped. Export is therefore off until archive.exportEnabled is
+ * set; until then archived tables simply stay in loan_archive.
+ *
+ * Export runs on one node at a time: each run takes a PostgreSQL advisory
+ * lock and skips if another node holds it. Every node picks up new segment
+ * files every archive.rescanMs, and before answering the user-activity
+ * checks, which also look at tables still waiting in loan_archive.
+ *
+ * Segments are memory-mapped when found. Searches first query the tables
+ * still waiting in loan_archive (so detached loans stay readable before and
+ * without export), then visit segments newest first, skip them by zone map,
+ * and stop as soon as no remaining segment can contain a newer row than
+ * those already found.
+ */
+@Slf4j
+@Service
+public class ArchiveSegmentServiceImpl implements ArchiveSegmentService {
+
+    private static final String ARCHIVE_SCHEMA = "loan_archive";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final String EXPORT_LOCK = "loan_archive_export";
+
+    private static final String ARCHIVED_TABLES =
+            "SELECT tablename FROM pg_tables WHERE schemaname = '" + ARCHIVE_SCHEMA + "' "
+                    + "AND tablename ~ '^loan_application_[0-9]{4}_[0-9]{2}$' ORDER BY tablename";
+
+    private static final String ARCHIVED_COLUMNS =
+            "id, created_at, status, risk_score, amount, interest_rate, tenure, credit_score, "
+                    + "monthly_income, monthly_debt, dti, user_id, full_name, employment_type, purpose, "
+                    + "eligibility_decision, credit_score_source, self_reported_credit_score, rules_version, "
+                    + "duplicate_suspected, decision_policy, decided_at, leased_by, lease_expires_at";
+
+    private static final String SELECT_CHUNK =
+            "SELECT " + ARCHIVED_COLUMNS + " FROM " + ARCHIVE_SCHEMA + ".%s WHERE id > ? ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path dir;
+    private final int segmentRows;
+    private final boolean exportEnabled;
+
+    /**
+     * Loaded segments ordered by their newest row, newest first.
+     */
+    private final List<LoanSegment> segments = new CopyOnWriteArrayList<>();
+
+    public ArchiveSegmentServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${archive.dir:./data/archive}") String dir,
+            @Value("${archive.segmentRows:100000}") int segmentRows,
+            @Value("${archive.exportEnabled:false}") boolean exportEnabled
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dir = Paths.get(dir);
+        this.segmentRows = segmentRows;
+        this.exportEnabled = exportEnabled;
+    }
+
+    /**
+     * Maps existing segments at startup. Export is left to the schedule.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        rescan();
+        log.info("Loaded {} loan archive segments from {}", segments.size(), dir.toAbsolutePath());
+    }
+
+    /**
+     * Maps segment files written since the last scan (by any node).
+     */
+    @Scheduled(initialDelayString = "${archive.rescanMs:60000}", fixedDelayString = "${archive.rescanMs:60000}")
+    public void rescan() {
+        if (!Files.isDirectory(dir)) return;
+        try (Stream<Path> files = Files.list(dir)) {
+            Set<Path> loaded = new HashSet<>();
+            for (LoanSegment segment : segments) loaded.add(segment.path());
+            files.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .filter(p -> !loaded.contains(p))
+                    .forEach(this::load);
+        } catch (IOException ex) {
+            log.warn("Could not list loan archive segments in {}", dir.toAbsolutePath(), ex);
+        }
+    }
+
+    /**
+     * Scheduled export; runs after partition maintenance has detached partitions.
+     */
+    @Scheduled(cron = "${archive.cron:0 45 3 * * *}")
+    public void export() {
+        if (!exportEnabled) return;
+        try {
+            exportArchivedPartitions();
+        } catch (RuntimeException ex) {
+            log.warn("Loan archive export failed; it will be retried on the next run", ex);
+        }
+    }
+
+    @Override
+    public synchronized List<String> exportArchivedPartitions() {
+        if (!exportEnabled) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Archive export is disabled (archive.exportEnabled)");
+        }
+
+        // Session-level lock, held on this connection while the other statements use the pool
+        return jdbcTemplate.execute((ConnectionCallback<List<String>>) con -> {
+            try (PreparedStatement lock = con.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))")) {
+                lock.setString(1, EXPORT_LOCK);
+                try (ResultSet rs = lock.executeQuery()) {
+                    if (!rs.next() || !rs.getBoolean(1)) {
+                        log.info("Loan archive export is running on another node; skipping");
+                        return List.of();
+                    }
+                }
+            }
+            try {
+                return exportTables();
+            } finally {
+                try (PreparedStatement unlock = con.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))")) {
+                    unlock.setString(1, EXPORT_LOCK);
+                    unlock.execute();
+                }
+            }
+        });
+    }
+
+    private List<String> exportTables() {
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not create archive directory " + dir.toAbsolutePath(), ex);
+        }
+        List<String> exported = new ArrayList<>();
+        for (String table : jdbcTemplate.queryForList(ARCHIVED_TABLES, String.class)) {
+            long expected = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM " + ARCHIVE_SCHEMA + "." + table, Long.class);
+            long written = exportTable(table);
+
+            // Only drop once the segments read back hold every row of the table
+            if (written != expected) {
+                throw new IllegalStateException("Archive segments for " + table + " hold " + written
+                        + " rows, the table " + expected + "; keeping the table");
+            }
+            jdbcTemplate.execute("DROP TABLE " + ARCHIVE_SCHEMA + "." + table);
+            exported.add(table);
+            log.info("Exported {} loans from {}.{} to archive segments", written, ARCHIVE_SCHEMA, table);
+        }
+        return exported;
+    }
+
+    @Override
+    public List<ArchivedLoan> search(ArchiveFilter filter, int limit) {
+        List<ArchivedLoan> result = new ArrayList<>();
+        Comparator<ArchivedLoan> newestFirst = Comparator.comparing(ArchivedLoan::createdAt).reversed();
+
+        // Tables not exported yet, read before the segments (see userIdsWithLoansSince)
+        Set<Long> fromTables = new HashSet<>();
+        for (String table : jdbcTemplate.queryForList(ARCHIVED_TABLES, String.class)) {
+            for (ArchivedLoan loan : searchTable(table, filter, limit)) {
+                if (fromTables.add(loan.id())) result.add(loan);
+            }
+        }
+        result.sort(newestFirst);
+        if (result.size() > limit) {
+            result.subList(limit, result.size()).clear();
+        }
+        rescan();
+
+        for (LoanSegment segment : segments) {
+            // Enough rows found and every remaining segment is older than all of them
+            if (result.size() >= limit
+                    && segment.maxCreatedMillis() < LoanSegment.toMillis(result.get(limit - 1).createdAt())) {
+                break;
+            }
+            if (!segment.mayMatch(filter)) continue;
+
+            // A table whose export did not finish is in both places
+            for (ArchivedLoan loan : segment.scan(filter, limit)) {
+                if (!fromTables.contains(loan.id())) result.add(loan);
+            }
+            result.sort(newestFirst);
+            if (result.size() > limit) {
+                result.subList(limit, result.size()).clear();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Newest {@code limit} rows of one loan_archive table matching the filter.
+     */
+    private List<ArchivedLoan> searchTable(String table, ArchiveFilter filter, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT " + ARCHIVED_COLUMNS + " FROM " + ARCHIVE_SCHEMA + "."
+                + table + " WHERE true");
+        List<Object> args = new ArrayList<>();
+        if (filter.from() != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.valueOf(filter.to()));
+        }
+        if (filter.status() != null) {
+            sql.append(" AND status = ?");
+            args.add(filter.status().name());
+        }
+        if (filter.minRisk() != null) {
+            sql.append(" AND risk_score >= ?");
+            args.add(filter.minRisk());
+        }
+        if (filter.maxRisk() != null) {
+            sql.append(" AND risk_score <= ?");
+            args.add(filter.maxRisk());
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), this::mapRow, args.toArray());
+    }
+
+    @Override
+    public Set<Long> userIdsWithLoansSince(LocalDateTime since) {
+        long sinceMillis = LoanSegment.toMillis(since);
+        Set<Long> users = new HashSet<>();
+
+        // Tables not exported yet. Read before the segments: a table dropped after this
+        // point has its segments on disk already, so the rescan below finds them
+        for (String table : jdbcTemplate.queryForList(ARCHIVED_TABLES, String.class)) {
+            users.addAll(jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM " + ARCHIVE_SCHEMA + "." + table
+                    + " WHERE created_at >= ? AND user_id IS NOT NULL", Long.class, Timestamp.valueOf(since)));
+        }
+        rescan();
+
+        // Segments are ordered newest first; stop at the first one entirely before the cutoff
+        for (LoanSegment segment : segments) {
+            if (segment.maxCreatedMillis() < sinceMillis) break;
+            segment.collectUserIdsSince(sinceMillis, users);
+        }
+        return users;
+    }
+
+    @Override
+    public boolean hasUnlinkedLoansSince(LocalDateTime since) {
+        // Tables first, then segments (see userIdsWithLoansSince)
+        for (String table : jdbcTemplate.queryForList(ARCHIVED_TABLES, String.class)) {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + ARCHIVE_SCHEMA
+                    + "." + table + " WHERE created_at >= ? AND user_id IS NULL)", Boolean.class,
+                    Timestamp.valueOf(since)))) {
+                return true;
+            }
+        }
+        rescan();
+
+        long sinceMillis = LoanSegment.toMillis(since);
+        for (LoanSegment segment : segments) {
+            if (segment.maxCreatedMillis() < sinceMillis) break;
+            if (segment.hasUnlinkedLoansSince(sinceMillis)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public ArchiveStats stats() {
+        long rows = 0, bytes = 0;
+        for (LoanSegment segment : segments) {
+            rows += segment.rowCount();
+            try {
+                bytes += Files.size(segment.path());
+            } catch (IOException ignored) {
+                // Size is informational only
+            }
+        }
+        return new ArchiveStats(segments.size(), rows, bytes);
+    }
+
+    /**
+     * Writes one table to segment files in id-ordered chunks, reading each
+     * file back before moving on.
+     *
+     * @return number of rows in the verified segments
+     */
+    private long exportTable(String table) {
+        String sql = String.format(SELECT_CHUNK, table);
+        long lastId = 0, total = 0;
+
+        while (true) {
+            List<ArchivedLoan> chunk = jdbcTemplate.query(sql, this::mapRow, lastId, segmentRows);
+            if (chunk.isEmpty()) break;
+
+            Path file = dir.resolve(table + "-" + chunk.get(0).id() + SEGMENT_SUFFIX);
+            LoanSegment segment;
+            try {
+                LoanSegment.write(file, chunk);
+                segment = LoanSegment.open(file);
+                segment.verify();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not write archive segment " + file, ex);
+            }
+            if (segment.rowCount() != chunk.size()) {
+                throw new IllegalStateException("Archive segment " + file + " holds " + segment.rowCount()
+                        + " rows instead of " + chunk.size());
+            }
+            add(segment);
+
+            lastId = chunk.get(chunk.size() - 1).id();
+            total += segment.rowCount();
+            if (chunk.size() < segmentRows) break;
+        }
+        return total;
+    }
+
+    /**
+     * Maps a segment file, replacing any previously loaded copy of it.
+     */
+    private void load(Path file) {
+        try {
+            add(LoanSegment.open(file));
+        } catch (IOException ex) {
+            log.warn("Skipping unreadable archive segment {}", file, ex);
+        }
+    }
+
+    private void add(LoanSegment segment) {
+        synchronized (segments) {
+            segments.removeIf(s -> s.path().equals(segment.path()));
+            segments.add(segment);
+            segments.sort(Comparator.comparingLong(LoanSegment::maxCreatedMillis).reversed());
+        }
+    }
+
+    private ArchivedLoan mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp created = rs.getTimestamp("created_at");
+        String status = rs.getString("status");
+
+        return new ArchivedLoan(
+                rs.getLong("id"),
+                created.toLocalDateTime(),
+                status == null ? null : LoanStatus.valueOf(status),
+                rs.getObject("risk_score", Integer.class),
+                rs.getObject("amount", Double.class),
+                rs.getObject("interest_rate", Double.class),
+                rs.getObject("tenure", Integer.class),
+                rs.getObject("credit_score", Integer.class),
+                rs.getObject("monthly_income", Double.class),
+                rs.getObject("monthly_debt", Double.class),
+                rs.getObject("dti", Double.class),
+                rs.getObject("user_id", Long.class),
+                rs.getString("full_name"),
+                rs.getString("employment_type"),
+                rs.getString("purpose"),
+                rs.getString("eligibility_decision"),
+                rs.getString("credit_score_source"),
+                rs.getObject("self_reported_credit_score", Integer.class),
+                rs.getObject("rules_version", Integer.class),
+                rs.getObject("duplicate_suspected", Boolean.class),
+                rs.getString("decision_policy"),
+                toLocalDateTime(rs.getTimestamp("decided_at")),
+                rs.getObject("leased_by", Long.class),
+                toLocalDateTime(rs.getTimestamp("lease_expires_at"))
+        );
+    }
+
+    private LocalDateTime toLocalDateTime(Timestamp t) {
+        return t == null ? null : t.toLocalDateTime();
+    }
+}
@@ -0,0 +1,271 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.entity.LoanApplication;
+import com.loanflow.loanflow.entity.LoanStatus;
+import com.loanflow.loanflow.event.LoanChangedEvent;
+import com.loanflow.loanflow.service.AutoDecisionService;
+import com.loanflow.loanflow.service.EligibilityService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of AutoDecisionService.
+ *
+ * Each run applies every policy in oldest-first batches. A batch is one
+ * conditional statement:
+ *  1. Pick up to autodecide.batchSize SUBMITTED loans matching the policy,
+ *     scored by the current rules version and not leased to an analyst,
+ *     with FOR UPDATE SKIP LOCKED
+ *  2. Set status, decision_policy and decided_at, and end any expired lease
+ *  3. Return the decided rows, which are published as DECIDED events in
+ *     the batch's transaction, so listeners apply them once it commits
+ *
+ * Loans younger than autodecide.minAgeMs are left for a later run, so a
+ * bureau score (applied within bureau.timeoutMs of submission) re-scores
+ * them before they are decided. With bureau.enabled, only loans scored on
+ * a bureau score are auto-approved: a loan still on its self-reported score
+ * (the lookup failed, timed out or was dropped) is left for an analyst.
+ *
+ * SKIP LOCKED lets several nodes run the worker at once and never blocks
+ * (or is blocked by) an analyst deciding or claiming the same loans; a
+ * loan decided in the meantime no longer matches status = 'SUBMITTED'.
+ * Batches repeat while they come back full, up to autodecide.maxBatchesPerRun.
+ */
+@Slf4j
+@Service
+public class AutoDecisionServiceImpl implements AutoDecisionService {
+
+    private static final String DECIDE_SQL =
+            "WITH batch AS ("
+                    + "SELECT id, created_at FROM loan_application "
+                    + "WHERE status = 'SUBMITTED' AND rules_version = ? AND %s "
+                    + "AND (lease_expires_at IS NULL OR lease_expires_at < LOCALTIMESTAMP) "
+                    + "AND created_at < ? "
+                    + "ORDER BY created_at LIMIT ? "
+                    + "FOR UPDATE SKIP LOCKED) "
+                    + "UPDATE loan_application l "
+                    + "SET status = ?, decision_policy = ?, decided_at = ?, leased_by = NULL, lease_expires_at = NULL "
+                    + "FROM batch WHERE l.id = batch.id AND l.created_at = batch.created_at "
+                    + "RETURNING l.id, l.status, l.eligibility_decision, l.risk_score, l.amount, "
+                    + "l.purpose, l.employment_type, l.full_name, l.created_at";
+
+    private static final String OLDEST_PENDING_SQL =
+            "SELECT min(created_at) FROM loan_application "
+                    + "WHERE status = 'SUBMITTED' AND rules_version = ? AND %s";
+
+    private static final String APPROVE_WHERE =
+            "eligibility_decision = 'ELIGIBLE' AND risk_score <= ? AND amount <= ? "
+                    + "AND duplicate_suspected IS NOT TRUE";
+
+    private static final String BUREAU_SCORED = " AND credit_score_source = 'BUREAU'";
+
+    private static final String REJECT_WHERE = "eligibility_decision = 'REJECT'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EligibilityService eligibilityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int approveMaxRiskScore;
+    private final double approveMaxAmount;
+    private final boolean rejectEnabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long minAgeMs;
+    private final boolean bureauEnabled;
+
+    private final LongAdder approvedTotal = new LongAdder();
+    private final LongAdder rejectedTotal = new LongAdder();
+
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunDecided;
+    private volatile long lastRunMillis;
+    private volatile double avgDecisionLagSeconds;
+    private volatile long oldestPendingAgeSeconds;
+
+    /**
+     * One decision rule: loans matching {@code where} (bound with {@code args})
+     * are moved to {@code target}.
+     */
+    private record Policy(String name, String where, List<Object> args, LoanStatus target) {}
+
+    public AutoDecisionServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            EligibilityService eligibilityService,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${autodecide.enabled:false}") boolean enabled,
+            @Value("${autodecide.approve.maxRiskScore:40}") int approveMaxRiskScore,
+            @Value("${autodecide.approve.maxAmount:50000}") double approveMaxAmount,
+            @Value("${autodecide.reject.enabled:true}") boolean rejectEnabled,
+            @Value("${autodecide.batchSize:500}") int batchSize,
+            @Value("${autodecide.maxBatchesPerRun:20}") int maxBatchesPerRun,
+            @Value("${autodecide.minAgeMs:5000}") long minAgeMs,
+            @Value("${bureau.enabled:false}") boolean bureauEnabled
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eligibilityService = eligibilityService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.approveMaxRiskScore = approveMaxRiskScore;
+        this.approveMaxAmount = approveMaxAmount;
+        this.rejectEnabled = rejectEnabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.minAgeMs = minAgeMs;
+        this.bureauEnabled = bureauEnabled;
+    }
+
+    /**
+     * Scheduled entry point (only when autodecide.enabled=true; off by default).
+     */
+    @Scheduled(fixedDelayString = "${autodecide.intervalMs:5000}")
+    public void scheduledRun() {
+        if (!enabled) return;
+        try {
+            runOnce();
+        } catch (RuntimeException ex) {
+            log.warn("Auto-decisioning run failed; it will be retried on the next run", ex);
+        }
+    }
+
+    @Override
+    public synchronized AutoDecisionStats runOnce() {
+        long start = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        int version = eligibilityService.rulesVersion();
+
+        long decided = 0;
+        double lagSecondsSum = 0;
+        LocalDateTime oldestPending = null;
+
+        for (Policy policy : policies(version)) {
+            String sql = String.format(DECIDE_SQL, policy.where());
+
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                LocalDateTime now = LocalDateTime.now();
+                List<Object> args = new ArrayList<>();
+                args.add(version);
+                args.addAll(policy.args());
+                args.add(Timestamp.valueOf(now.minusNanos(minAgeMs * 1_000_000)));
+                args.addAll(List.of(batchSize, policy.target().name(), policy.name(), Timestamp.valueOf(now)));
+
+                List<LoanApplication> batch = transactionTemplate.execute(status -> {
+                    List<LoanApplication> rows = jdbcTemplate.query(sql, this::mapRow, args.toArray());
+                    for (LoanApplication loan : rows) {
+                        eventPublisher.publishEvent(LoanChangedEvent.decided(loan, LoanStatus.SUBMITTED));
+                    }
+                    return rows;
+                });
+
+                for (LoanApplication loan : batch) {
+                    lagSecondsSum += Duration.between(loan.getCreatedAt(), now).toMillis() / 1000.0;
+                }
+                (policy.target() == LoanStatus.APPROVED ? approvedTotal : rejectedTotal).add(batch.size());
+                decided += batch.size();
+
+                if (batch.size() < batchSize) break;
+            }
+
+            // Lag: anything this policy still has to decide (leased or beyond the per-run limit)
+            List<Object> lagArgs = new ArrayList<>();
+            lagArgs.add(version);
+            lagArgs.addAll(policy.args());
+            LocalDateTime oldest = jdbcTemplate.queryForObject(
+                    String.format(OLDEST_PENDING_SQL, policy.where()), LocalDateTime.class, lagArgs.toArray());
+            if (oldest != null && (oldestPending == null || oldest.isBefore(oldestPending))) {
+                oldestPending = oldest;
+            }
+        }
+
+        lastRunAt = startedAt;
+        lastRunDecided = decided;
+        lastRunMillis = (System.nanoTime() - start) / 1_000_000;
+        avgDecisionLagSeconds = decided == 0 ? 0 : Math.round(lagSecondsSum / decided * 10.0) / 10.0;
+        oldestPendingAgeSeconds = oldestPending == null
+                ? 0
+                : Math.max(0, Duration.between(oldestPending, LocalDateTime.now()).toSeconds());
+
+        if (decided > 0) {
+            log.info("Auto-decided {} loans in {} ms", decided, lastRunMillis);
+        }
+        return stats();
+    }
+
+    @Override
+    public AutoDecisionStats stats() {
+        int version = eligibilityService.rulesVersion();
+        double seconds = lastRunMillis / 1000.0;
+
+        return new AutoDecisionStats(
+                enabled,
+                approvePolicyName(version),
+                rejectEnabled ? rejectPolicyName(version) : null,
+                approvedTotal.sum(),
+                rejectedTotal.sum(),
+                lastRunAt,
+                lastRunDecided,
+                lastRunMillis,
+                seconds > 0 ? Math.round(lastRunDecided / seconds * 10.0) / 10.0 : 0,
+                avgDecisionLagSeconds,
+                oldestPendingAgeSeconds
+        );
+    }
+
+    /**
+     * Policies in force for the given rules version.
+     */
+    private List<Policy> policies(int version) {
+        // The applicant chose the self-reported score: never approve on it unattended
+        String approveWhere = bureauEnabled ? APPROVE_WHERE + BUREAU_SCORED : APPROVE_WHERE;
+        Policy approve = new Policy(approvePolicyName(version), approveWhere,
+                List.<Object>of(approveMaxRiskScore, approveMaxAmount), LoanStatus.APPROVED);
+        if (!rejectEnabled) {
+            return List.of(approve);
+        }
+        return List.of(approve,
+                new Policy(rejectPolicyName(version), REJECT_WHERE, List.of(), LoanStatus.REJECTED));
+    }
+
+    private String approvePolicyName(int version) {
+        return "AUTO_APPROVE[risk<=" + approveMaxRiskScore + ",amount<=" + Math.round(approveMaxAmount)
+                + (bureauEnabled ? ",score=BUREAU" : "") + ",rules=v" + version + "]";
+    }
+
+    private String rejectPolicyName(int version) {
+        return "AUTO_REJECT[rules=v" + version + "]";
+    }
+
+    /**
+     * Maps a returned row to a detached loan carrying the event fields.
+     */
+    private LoanApplication mapRow(ResultSet rs, int rowNum) throws SQLException {
+        LoanApplication loan = new LoanApplication();
+        loan.setId(rs.getLong("id"));
+        loan.setStatus(LoanStatus.valueOf(rs.getString("status")));
+        loan.setEligibilityDecision(rs.getString("eligibility_decision"));
+        loan.setRiskScore(rs.getObject("risk_score", Integer.class));
+        loan.setAmount(rs.getObject("amount", Double.class));
+        loan.setPurpose(rs.getString("purpose"));
+        loan.setEmploymentType(rs.getString("employment_type"));
+        loan.setFullName(rs.getString("full_name"));
+        loan.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        return loan;
+    }
+}
@@ -0,0 +1,172 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.cache.TtlCache;
+import com.loanflow.loanflow.service.CreditBureauService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP-based implementation of CreditBureauService.
+ *
+ * Resilience features:
+ *  - Non-blocking calls via java.net.http.HttpClient#sendAsync
+ *  - Overall per-call timeout (orTimeout) and per-attempt request timeout
+ *  - Bulkhead: a semaphore caps concurrent bureau calls; when full, the
+ *    call fails fast instead of queueing
+ *  - Hedging: if the first attempt has not answered within the hedge delay
+ *    (or fails quickly), a second attempt is sent and the first answer wins
+ *  - TTL cache of recent scores per applicant
+ *
+ * Wire format: GET {baseUrl}/scores/{applicantKey} returning the score as
+ * a plain-text integer (see CreditBureauStubServer for a local stub).
+ */
+@Slf4j
+@Service
+public class CreditBureauServiceImpl implements CreditBureauService {
+
+    private final boolean enabled;
+    private final String baseUrl;
+    private final long timeoutMs;
+    private final long hedgeDelayMs;
+    private final Semaphore bulkhead;
+    private final TtlCache<String, Integer> cache;
+    private final HttpClient httpClient;
+
+    public CreditBureauServiceImpl(
+            @Value("${bureau.enabled:false}") boolean enabled,
+            @Value("${bureau.baseUrl:http://localhost:18089}") String baseUrl,
+            @Value("${bureau.timeoutMs:800}") long timeoutMs,
+            @Value("${bureau.hedgeDelayMs:150}") long hedgeDelayMs,
+            @Value("${bureau.maxConcurrent:32}") int maxConcurrent,
+            @Value("${bureau.cacheTtlSeconds:900}") long cacheTtlSeconds,
+            @Value("${bureau.cacheMaxEntries:100000}") int cacheMaxEntries
+    ) {
+        this.enabled = enabled;
+        this.baseUrl = baseUrl;
+        this.timeoutMs = timeoutMs;
+        this.hedgeDelayMs = hedgeDelayMs;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.cache = new TtlCache<>(cacheTtlSeconds * 1000, cacheMaxEntries);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(timeoutMs))
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<Integer> fetchScore(String applicantKey) {
+        if (!enabled || applicantKey == null || applicantKey.isBlank()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Serve recent pulls from cache without touching the bureau
+        Integer cached = cache.get(applicantKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        Call call = new Call(applicantKey);
+        launch(call);
+
+        // Hedge: send a second attempt if the first is slow
+        CompletableFuture.delayedExecutor(hedgeDelayMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (!call.result.isDone() && call.hedged.compareAndSet(false, true)) {
+                launch(call);
+            }
+        });
+
+        return call.result
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .handle((score, ex) -> {
+                    if (ex != null) {
+                        log.debug("Credit bureau lookup failed: {}", ex.toString());
+                        return null;
+                    }
+                    cache.put(applicantKey, score);
+                    return score;
+                });
+    }
+
+    /**
+     * State shared by the primary and hedged attempts of one lookup.
+     */
+    private static final class Call {
+        final String applicantKey;
+        final CompletableFuture<Integer> result = new CompletableFuture<>();
+        final AtomicBoolean hedged = new AtomicBoolean(false);
+        final AtomicInteger inFlight = new AtomicInteger(0);
+
+        Call(String applicantKey) {
+            this.applicantKey = applicantKey;
+        }
+    }
+
+    /**
+     * Sends one attempt if the bulkhead has capacity.
+     */
+    private void launch(Call call) {
+        if (call.result.isDone()) return;
+
+        // Fail fast when the bulkhead is full rather than queueing request threads
+        if (!bulkhead.tryAcquire()) {
+            if (call.inFlight.get() == 0) {
+                call.result.completeExceptionally(
+                        new RejectedExecutionException("Credit bureau bulkhead full"));
+            }
+            return;
+        }
+        call.inFlight.incrementAndGet();
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/scores/"
+                        + URLEncoder.encode(call.applicantKey, StandardCharsets.UTF_8)))
+                .timeout(Duration.ofMillis(timeoutMs))
+                .GET()
+                .build();
+
+        CompletableFuture<HttpResponse<String>> attempt =
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+
+        // Abort the losing attempt as soon as the lookup is resolved
+        call.result.whenComplete((r, e) -> attempt.cancel(true));
+
+        attempt.whenComplete((response, ex) -> {
+            bulkhead.release();
+            int remaining = call.inFlight.decrementAndGet();
+
+            Throwable failure = ex;
+            if (failure == null) {
+                try {
+                    if (response.statusCode() == 200) {
+                        call.result.complete(Integer.parseInt(response.body().trim()));
+                        return;
+                    }
+                    failure = new IllegalStateException("Credit bureau returned " + response.statusCode());
+                } catch (NumberFormatException nfe) {
+                    failure = nfe;
+                }
+            }
+
+            // A fast failure triggers the hedge immediately; otherwise fail once all attempts are done
+            if (call.hedged.compareAndSet(false, true)) {
+                launch(call);
+            } else if (remaining == 0) {
+                call.result.completeExceptionally(failure);
+            }
+        });
+    }
+}
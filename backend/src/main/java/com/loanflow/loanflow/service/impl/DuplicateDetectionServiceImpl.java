@@ -0,0 +1,94 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.cache.FingerprintWindow;
+import com.loanflow.loanflow.dto.LoanRequest;
+import com.loanflow.loanflow.service.DuplicateDetectionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * In-memory implementation of DuplicateDetectionService.
+ *
+ * Each request is reduced to a 64-bit fingerprint of:
+ *  - normalized full name (trimmed, single-spaced, upper-case)
+ *  - amount and monthly income rounded to cents
+ *  - self-reported credit score
+ *
+ * Fingerprints are kept in a fixed-size FingerprintWindow. With the default
+ * 2M slots (~24 MB) and a 24h window, ~1M applications per day stay well
+ * under half the capacity.
+ *
+ * Modes (duplicates.mode):
+ *  - FLAG:   accept the application but mark it as a suspected duplicate
+ *  - REJECT: fail with 409 Conflict before anything is inserted
+ *  - OFF:    disable detection
+ *
+ * An application that fails to persist is removed again (see forget), so
+ * retrying it is not treated as a duplicate.
+ *
+ * The index is per node; duplicates that hit different nodes are not caught.
+ */
+@Service
+public class DuplicateDetectionServiceImpl implements DuplicateDetectionService {
+
+    private final String mode;
+    private final FingerprintWindow window;
+
+    public DuplicateDetectionServiceImpl(
+            @Value("${duplicates.mode:FLAG}") String mode,
+            @Value("${duplicates.capacity:2097152}") int capacity,
+            @Value("${duplicates.windowMinutes:1440}") int windowMinutes
+    ) {
+        this.mode = mode.trim().toUpperCase();
+        this.window = new FingerprintWindow(capacity, windowMinutes * 60);
+    }
+
+    @Override
+    public boolean checkAndRecord(LoanRequest req) {
+        if ("OFF".equals(mode)) return false;
+
+        boolean duplicate = window.checkAndInsert(fingerprint(req));
+
+        if (duplicate && "REJECT".equals(mode)) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT, "Duplicate loan application"
+            );
+        }
+        return duplicate;
+    }
+
+    @Override
+    public void forget(LoanRequest req) {
+        if ("OFF".equals(mode)) return;
+        window.remove(fingerprint(req));
+    }
+
+    /**
+     * Computes a 64-bit FNV-1a hash over the normalized identifying fields.
+     */
+    private long fingerprint(LoanRequest req) {
+        String name = req.getFullName() == null
+                ? ""
+                : req.getFullName().trim().replaceAll("\\s+", " ").toUpperCase();
+
+        String key = name
+                + '|' + cents(req.getAmount())
+                + '|' + cents(req.getMonthlyIncome())
+                + '|' + (req.getCreditScore() == null ? "" : req.getCreditScore());
+
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private String cents(Double value) {
+        return value == null ? "" : String.valueOf(Math.round(value * 100));
+    }
+}
@@ -19,6 +19,13 @@ import org.springframework.stereotype.Service;
 @Service
 public class EligibilityServiceImpl implements EligibilityService {
 
+    /**
+     * Version of the rules implemented below.
+     * Increment whenever a threshold, weight, or rate changes so that the
+     * re-scoring backfill can identify loans scored with older rules.
+     */
+    private static final int RULES_VERSION = 1;
+
     /**
      * Evaluates a loan request and computes:
      *  - Debt-to-Income (DTI) ratio
@@ -89,6 +96,14 @@ public class EligibilityServiceImpl implements EligibilityService {
         return new EligibilityResult(dti, risk, decision, rate);
     }
 
+    /**
+     * Returns the version of the rules implemented by this service.
+     */
+    @Override
+    public int rulesVersion() {
+        return RULES_VERSION;
+    }
+
     /**
      * Normalizes string inputs safely by:
      *  - Handling null values
@@ -0,0 +1,229 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.cache.SingleFlight;
+import com.loanflow.loanflow.cache.TtlCache;
+import com.loanflow.loanflow.entity.IdempotencyRecord;
+import com.loanflow.loanflow.entity.LoanApplication;
+import com.loanflow.loanflow.repository.IdempotencyRecordRepository;
+import com.loanflow.loanflow.repository.LoanRepository;
+import com.loanflow.loanflow.service.IdempotencyService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier implementation of IdempotencyService.
+ *
+ * Lookup order for a key:
+ *  1. In-flight map: concurrent requests with the same key on this node
+ *     wait for the single execution already running
+ *  2. Memory tier: bounded TTL cache of recently completed keys
+ *  3. DB tier: idempotency_record table (survives restarts, shared by nodes)
+ *  4. Otherwise reserve the key in the DB, run the action, record the loan id
+ *
+ * Every tier also keeps the SHA-256 of the request body; a key reused with
+ * a different body gets 422 instead of the earlier loan.
+ *
+ * The loan and the loan id on its record commit in one transaction. A
+ * reservation still without a loan id therefore never has a loan behind
+ * it, so once it is older than idempotency.reservationTimeoutMinutes it can
+ * be taken over by the next retry or purged. If its original owner is
+ * still running, completing the reservation fails and its loan is rolled
+ * back, so a key never yields two loans.
+ *
+ * If another node holds a fresh reservation and has not finished yet,
+ * the caller receives 409 Conflict and can retry later.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final String RESERVE_SQL = "INSERT INTO idempotency_record "
+            + "(idempotency_key, loan_id, created_at, request_hash) VALUES (?, NULL, ?, ?) "
+            + "ON CONFLICT (idempotency_key) DO NOTHING";
+
+    private static final String RELEASE_SQL = "DELETE FROM idempotency_record "
+            + "WHERE idempotency_key = ? AND loan_id IS NULL AND created_at = ?";
+
+    /**
+     * A completed key: the loan and the hash of the body that created it.
+     */
+    private record Completed(String requestHash, LoanApplication loan) {
+    }
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final LoanRepository loanRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final TtlCache<String, Completed> recent;
+    private final long retentionHours;
+    private final Duration reservationTimeout;
+
+    /**
+     * Executions currently running on this node, keyed by idempotency key.
+     */
+    private final SingleFlight<String, Completed> inFlight = new SingleFlight<>();
+
+    public IdempotencyServiceImpl(
+            IdempotencyRecordRepository recordRepository,
+            LoanRepository loanRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            JsonMapper jsonMapper,
+            @Value("${idempotency.memoryTtlMinutes:10}") long memoryTtlMinutes,
+            @Value("${idempotency.memoryMaxEntries:50000}") int memoryMaxEntries,
+            @Value("${idempotency.retentionHours:24}") long retentionHours,
+            @Value("${idempotency.reservationTimeoutMinutes:5}") long reservationTimeoutMinutes
+    ) {
+        this.recordRepository = recordRepository;
+        this.loanRepository = loanRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.jsonMapper = jsonMapper;
+        this.recent = new TtlCache<>(memoryTtlMinutes * 60_000, memoryMaxEntries);
+        this.retentionHours = retentionHours;
+        this.reservationTimeout = Duration.ofMinutes(reservationTimeoutMinutes);
+    }
+
+    @Override
+    public LoanApplication applyOnce(String key, Object request, Supplier<LoanApplication> action) {
+        // Hash before the action runs: applying may modify the request object
+        String requestHash = hash(request);
+
+        // Memory tier: recent retries are answered without any DB access
+        Completed completed = recent.get(key);
+        if (completed == null) {
+            // Collapse concurrent duplicates onto a single in-flight execution
+            completed = inFlight.execute(key, () -> {
+                Completed result = resolve(key, requestHash, action);
+                recent.put(key, result);
+                return result;
+            });
+        }
+        return checked(completed, requestHash);
+    }
+
+    /**
+     * Resolves the key against the DB tier, running the action only if
+     * this caller wins the reservation.
+     */
+    private Completed resolve(String key, String requestHash, Supplier<LoanApplication> action) {
+        LocalDateTime reservedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        // DB tier: completed earlier (possibly on another node or before a restart)
+        IdempotencyRecord existing = recordRepository.findById(key).orElse(null);
+
+        // Reserve the key; the primary key makes concurrent reservations collide
+        if (existing == null && jdbcTemplate.update(RESERVE_SQL, key, Timestamp.valueOf(reservedAt), requestHash) == 0) {
+            existing = recordRepository.findById(key).orElseThrow(this::inProgress);
+        }
+
+        if (existing != null) {
+            if (existing.getLoanId() != null) {
+                return new Completed(existing.getRequestHash(), loan(existing.getLoanId()));
+            }
+            checked(new Completed(existing.getRequestHash(), null), requestHash);
+            takeOverIfStale(existing, reservedAt, requestHash);
+        }
+
+        try {
+            LoanApplication loan = transactionTemplate.execute(status -> {
+                LoanApplication created = action.get();
+                if (recordRepository.complete(key, reservedAt, created.getId()) == 0) {
+                    // Purged or taken over while running: roll the loan back
+                    throw inProgress();
+                }
+                return created;
+            });
+            return new Completed(requestHash, loan);
+        } catch (RuntimeException ex) {
+            // Release the reservation so the client can retry after a failure
+            jdbcTemplate.update(RELEASE_SQL, key, Timestamp.valueOf(reservedAt));
+            throw ex;
+        }
+    }
+
+    /**
+     * Claims an unfinished reservation once it is older than the timeout;
+     * a younger one may still be running, so the caller gets 409.
+     */
+    private void takeOverIfStale(IdempotencyRecord existing, LocalDateTime reservedAt, String requestHash) {
+        if (existing.getCreatedAt() != null
+                && existing.getCreatedAt().isAfter(reservedAt.minus(reservationTimeout))) {
+            throw inProgress();
+        }
+        if (recordRepository.takeOver(existing.getIdempotencyKey(), existing.getCreatedAt(),
+                reservedAt, requestHash) == 0) {
+            throw inProgress();
+        }
+    }
+
+    /**
+     * Returns the loan unless the key was first used with another body.
+     * Records written before bodies were hashed are not checked.
+     */
+    private LoanApplication checked(Completed completed, String requestHash) {
+        if (completed.requestHash() != null && !Objects.equals(completed.requestHash(), requestHash)) {
+            throw new ResponseStatusException(
+                    HttpStatus.UNPROCESSABLE_CONTENT,
+                    "This Idempotency-Key was already used with a different request body"
+            );
+        }
+        return completed.loan();
+    }
+
+    /**
+     * Loads the loan referenced by a completed record.
+     */
+    private LoanApplication loan(Long loanId) {
+        return loanRepository.findById(loanId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Loan not found"
+                ));
+    }
+
+    private ResponseStatusException inProgress() {
+        return new ResponseStatusException(
+                HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress"
+        );
+    }
+
+    /**
+     * SHA-256 (hex) of the request serialized as JSON; field order is
+     * fixed by the class, so equal bodies hash equally.
+     */
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(jsonMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Purges expired keys and abandoned reservations from the DB tier.
+     * Reservations without a loan id have no committed loan (see above),
+     * so nothing is lost by deleting them.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purgeIntervalMs:600000}")
+    void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        recordRepository.purge(now.minusHours(retentionHours), now.minus(reservationTimeout));
+    }
+}
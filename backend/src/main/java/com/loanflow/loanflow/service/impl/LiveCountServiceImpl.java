@@ -0,0 +1,300 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.entity.LoanStatus;
+import com.loanflow.loanflow.entity.UserRole;
+import com.loanflow.loanflow.event.LoanChangedEvent;
+import com.loanflow.loanflow.service.LiveCountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementation of LiveCountService backed by striped counters (LongAdder).
+ *
+ * Write path:
+ *  - LoanChangedEvents move loans between statuses / decisions once their
+ *    transaction commits
+ *    · SUBMITTED: +1 for the loan's status and decision
+ *    · DECIDED:   previous status -1, new status +1
+ *    · RESCORED:  previous decision -1, new decision +1
+ *  - UserAdminService and RegistrationService report user creations and
+ *    role changes from inside the transaction that makes them
+ *
+ * Reconciliation (at startup, then every counters.reconcileIntervalMs):
+ *  - Recounts with GROUP BY queries in a REPEATABLE READ snapshot and adds
+ *    the difference to the counters as they were when the snapshot was taken
+ *  - A read/write fence makes that exact for this node's writes: a write
+ *    holds the read side from just before its commit until its change has
+ *    been applied, and the snapshot and the counter read are taken together
+ *    under the write side. Every write is therefore either in both the
+ *    snapshot and the counters, or in neither (and applied on top later),
+ *    so a write racing the recount is never counted twice or lost
+ *
+ * Limits:
+ *  - Counters are local to this node. Writes made by other nodes, the
+ *    reactive API or manual SQL reach them only through the database, so
+ *    they show up at the next reconciliation and are never double-counted
+ *  - A change reported outside any transaction (the statement has already
+ *    committed) is applied at once without the fence. If it races a
+ *    reconciliation it is off by its own size until the next one; every
+ *    writer in this application reports inside its transaction
+ */
+@Slf4j
+@Service
+public class LiveCountServiceImpl implements LiveCountService {
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * New read-only REPEATABLE READ transaction, so every recount query
+     * sees the snapshot fixed under the fence.
+     */
+    private final TransactionTemplate snapshotTransaction;
+
+    /**
+     * Read side: a write between its commit and its counter update.
+     * Write side: a reconciliation fixing its snapshot and reading the counters.
+     */
+    private final ReentrantReadWriteLock fence = new ReentrantReadWriteLock();
+
+    /**
+     * Fixed key sets, populated up front so reads never allocate or lock.
+     */
+    private final Map<LoanStatus, LongAdder> loansByStatus = new EnumMap<>(LoanStatus.class);
+    private final Map<UserRole, LongAdder> usersByRole = new EnumMap<>(UserRole.class);
+
+    /**
+     * Eligibility decisions are free-form strings.
+     */
+    private final Map<String, LongAdder> loansByDecision = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime reconciledAt;
+
+    public LiveCountServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+        for (LoanStatus s : LoanStatus.values()) loansByStatus.put(s, new LongAdder());
+        for (UserRole r : UserRole.values()) usersByRole.put(r, new LongAdder());
+    }
+
+    @Override
+    public LiveCounts counts() {
+        return new LiveCounts(sums(loansByStatus), sums(loansByDecision), sums(usersByRole), reconciledAt);
+    }
+
+    @Override
+    public void userCreated(UserRole role) {
+        if (role == null) return;
+        record(() -> usersByRole.get(role).increment());
+    }
+
+    @Override
+    public void usersMoved(UserRole from, UserRole to, long users) {
+        if (from == to || users == 0) return;
+        record(() -> {
+            if (from != null) usersByRole.get(from).add(-users);
+            if (to != null) usersByRole.get(to).add(users);
+        });
+    }
+
+    /**
+     * Records a loan write, applied once its transaction commits.
+     */
+    @EventListener
+    public void onLoanChanged(LoanChangedEvent event) {
+        record(() -> apply(event));
+    }
+
+    private void apply(LoanChangedEvent event) {
+        switch (event.type()) {
+            case SUBMITTED -> {
+                if (event.status() != null) loansByStatus.get(event.status()).increment();
+                decision(event.eligibilityDecision()).increment();
+            }
+            case DECIDED -> {
+                if (event.previousStatus() == event.status()) return;
+                if (event.previousStatus() != null) loansByStatus.get(event.previousStatus()).decrement();
+                if (event.status() != null) loansByStatus.get(event.status()).increment();
+            }
+            case RESCORED -> {
+                String previous = key(event.previousDecision());
+                String current = key(event.eligibilityDecision());
+                if (previous.equals(current)) return;
+                decision(previous).decrement();
+                decision(current).increment();
+            }
+        }
+    }
+
+    /**
+     * Seeds the counters once the application (and DataSeeder) has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        scheduledReconcile();
+    }
+
+    @Scheduled(initialDelayString = "${counters.reconcileIntervalMs:600000}",
+            fixedDelayString = "${counters.reconcileIntervalMs:600000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            log.warn("Live count reconciliation failed; counts may drift until the next run", ex);
+        }
+    }
+
+    /**
+     * Must not be called from a write's commit callbacks: that thread holds
+     * the read side of the fence, which cannot be upgraded.
+     */
+    @Override
+    public synchronized LiveCounts reconcile() {
+        long drift = snapshotTransaction.execute(status -> recount());
+
+        if (reconciledAt != null && drift != 0) {
+            log.info("Corrected live count drift of {}", drift);
+        }
+        reconciledAt = LocalDateTime.now();
+        return counts();
+    }
+
+    /**
+     * Recounts in the current snapshot transaction and corrects the counters.
+     *
+     * @return total absolute correction applied
+     */
+    private long recount() {
+        Map<LoanStatus, Long> statusBefore;
+        Map<String, Long> decisionBefore;
+        Map<UserRole, Long> roleBefore;
+
+        fence.writeLock().lock();
+        try {
+            // The first statement fixes the snapshot: no write is between its commit and its
+            // counter update now, so the snapshot and the counters hold exactly the same writes
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            statusBefore = sums(loansByStatus);
+            decisionBefore = sums(loansByDecision);
+            roleBefore = sums(usersByRole);
+        } finally {
+            fence.writeLock().unlock();
+        }
+
+        Map<LoanStatus, Long> statusDb = new EnumMap<>(LoanStatus.class);
+        Map<String, Long> decisionDb = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT status, eligibility_decision, count(*) AS n FROM loan_application "
+                        + "GROUP BY status, eligibility_decision",
+                rs -> {
+                    long n = rs.getLong("n");
+                    String status = rs.getString("status");
+                    if (status != null) statusDb.merge(LoanStatus.valueOf(status), n, Long::sum);
+                    decisionDb.merge(key(rs.getString("eligibility_decision")), n, Long::sum);
+                });
+
+        Map<UserRole, Long> roleDb = new EnumMap<>(UserRole.class);
+        jdbcTemplate.query("SELECT role, count(*) AS n FROM users WHERE role IS NOT NULL GROUP BY role",
+                rs -> { roleDb.put(UserRole.valueOf(rs.getString("role")), rs.getLong("n")); });
+
+        // Writes applied since the counter read are in neither side, so they survive the correction
+        return correct(loansByStatus, statusBefore, statusDb)
+                + correct(loansByDecision, decisionBefore, decisionDb)
+                + correct(usersByRole, roleBefore, roleDb);
+    }
+
+    /**
+     * Applies a counter change once the current transaction commits, holding
+     * the read side of the fence from just before the commit until the change
+     * is applied. Without a transaction the write has already committed, so
+     * the change is applied at once.
+     */
+    private void record(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean held;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                fence.readLock().lock();
+                held = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (held) {
+                    held = false;
+                    fence.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds {@code db - before} to every counter.
+     *
+     * @return total absolute correction applied
+     */
+    private <K> long correct(Map<K, LongAdder> counters, Map<K, Long> before, Map<K, Long> db) {
+        long drift = 0;
+        for (K key : union(before, db)) {
+            long delta = db.getOrDefault(key, 0L) - before.getOrDefault(key, 0L);
+            if (delta == 0) continue;
+            counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+            drift += Math.abs(delta);
+        }
+        return drift;
+    }
+
+    private <K> Set<K> union(Map<K, Long> a, Map<K, Long> b) {
+        Set<K> keys = new LinkedHashSet<>(a.keySet());
+        keys.addAll(b.keySet());
+        return keys;
+    }
+
+    private LongAdder decision(String decision) {
+        return loansByDecision.computeIfAbsent(key(decision), k -> new LongAdder());
+    }
+
+    private String key(String decision) {
+        return (decision == null || decision.isBlank()) ? UNKNOWN : decision;
+    }
+
+    private <K> Map<K, Long> sums(Map<K, LongAdder> counters) {
+        Map<K, Long> result = new LinkedHashMap<>();
+        counters.forEach((k, v) -> result.put(k, v.sum()));
+        return result;
+    }
+}
@@ -1,13 +1,46 @@
 package com.loanflow.loanflow.service.impl;
 
+import com.loanflow.loanflow.cache.SingleFlight;
+import com.loanflow.loanflow.cache.TableVersions;
+import com.loanflow.loanflow.cache.TtlCache;
 import com.loanflow.loanflow.entity.LoanApplication;
 import com.loanflow.loanflow.entity.LoanStatus;
 import com.loanflow.loanflow.repository.LoanRepository;
+import com.loanflow.loanflow.repository.LoanSpecifications;
 import com.loanflow.loanflow.service.LoanQueryService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Implementation of LoanQueryService responsible for retrieving
@@ -15,6 +48,30 @@ import org.springframework.stereotype.Service;
  *
  * This service encapsulates query-related logic and keeps controllers
  * lightweight and focused on request handling.
+ *
+ * Identical concurrent list requests are coalesced (single-flight) so they
+ * share one query + count, and results can optionally be kept for a short
+ * TTL. Cache keys include the loans table version, so any committed loan
+ * write makes previously cached pages unreachable.
+ *
+ * Sparse-fieldset listings (fields=...) run as Criteria tuple queries that
+ * select only the requested attributes, returned as maps.
+ *
+ * Multi-filter searches are built from LoanSpecifications and served by the
+ * covering search indexes; sorting is limited to indexed columns.
+ *
+ * Faceted searches run as one native statement: a GROUPING SETS aggregate
+ * (per status, purpose, decision, and the grand total) folded into a JSON
+ * column, joined laterally with the requested page. Results are coalesced
+ * and cached per filter signature and loans table version.
+ *
+ * A user's own loans are keyset-paginated on (createdAt, id), newest
+ * first, over the (user_id, created_at, id) index; the cursor encodes the
+ * last row of the previous page.
+ *
+ * Applicant-name searches match lower(full_name) by prefix (btree,
+ * text_pattern_ops) and by trigram word similarity (GIN), see
+ * V9__loan_name_search.sql; only the matches are ranked.
  */
 @Service
 public class LoanQueryServiceImpl implements LoanQueryService {
@@ -24,13 +81,182 @@ public class LoanQueryServiceImpl implements LoanQueryService {
      */
     private final LoanRepository loanRepository;
 
+    /**
+     * Write-version counters used to invalidate cached pages.
+     */
+    private final TableVersions tableVersions;
+
+    /**
+     * Coalesces identical concurrent list queries.
+     */
+    private final SingleFlight<ListKey, Page<LoanApplication>> inFlight = new SingleFlight<>();
+
+    /**
+     * Optional micro-TTL result cache (disabled when the TTL is 0).
+     */
+    private final TtlCache<ListKey, Page<LoanApplication>> recentPages;
+
+    /**
+     * JDBC access for the single-statement faceted search.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Parses the facet JSON column.
+     */
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Coalesces identical concurrent faceted searches.
+     */
+    private final SingleFlight<FacetKey, FacetedLoanPage> facetInFlight = new SingleFlight<>();
+
+    /**
+     * Faceted results per filter signature (disabled when the TTL is 0).
+     */
+    private final TtlCache<FacetKey, FacetedLoanPage> recentFacets;
+
+    /**
+     * Criteria API access for sparse-fieldset (tuple) listings.
+     */
+    private final EntityManager entityManager;
+
     /**
      * Constructor-based dependency injection.
      */
-    public LoanQueryServiceImpl(LoanRepository loanRepository) {
+    public LoanQueryServiceImpl(
+            LoanRepository loanRepository,
+            TableVersions tableVersions,
+            EntityManager entityManager,
+            JdbcTemplate jdbcTemplate,
+            JsonMapper jsonMapper,
+            @Value("${loans.query.cacheTtlMs:0}") long cacheTtlMs,
+            @Value("${loans.query.cacheMaxEntries:1000}") int cacheMaxEntries,
+            @Value("${loans.search.facetCacheTtlMs:30000}") long facetCacheTtlMs
+    ) {
         this.loanRepository = loanRepository;
+        this.tableVersions = tableVersions;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+        this.recentPages = new TtlCache<>(cacheTtlMs, cacheMaxEntries);
+        this.recentFacets = new TtlCache<>(facetCacheTtlMs, cacheMaxEntries);
     }
 
+    /**
+     * Identity of a list query, including the table version it was read at.
+     */
+    private record ListKey(int page, int size, String sortBy, String direction,
+                           LoanStatus status, LocalDateTime from, LocalDateTime to, long version) {}
+
+    /**
+     * Identity of a faceted search, including the table version it was read at.
+     */
+    private record FacetKey(LoanSearchFilter filter, int page, int size, String sortBy,
+                            boolean ascending, long version) {}
+
+    /**
+     * Shape of the facet JSON column.
+     */
+    record Facets(long total, Map<String, Long> status, Map<String, Long> purpose,
+                  Map<String, Long> eligibilityDecision) {}
+
+    /**
+     * Lower bound used when only an upper createdAt bound is given.
+     */
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * Fields a search may be sorted by, and their columns.
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "amount", "amount",
+            "riskScore", "risk_score",
+            "creditScore", "credit_score",
+            "id", "id");
+
+    /**
+     * Facet counts and page in one statement.
+     * %1$s: filter predicate (used twice), %2$s: page order, %3$s: final order.
+     * GROUPING() bits: 3 = per status, 5 = per purpose, 6 = per decision, 7 = total.
+     */
+    private static final String FACETED_SQL =
+            "WITH facets AS ("
+                    + "SELECT json_build_object("
+                    + "'total', COALESCE(max(n) FILTER (WHERE g = 7), 0), "
+                    + "'status', COALESCE(json_object_agg(COALESCE(status, 'UNKNOWN'), n) FILTER (WHERE g = 3), '{}'::json), "
+                    + "'purpose', COALESCE(json_object_agg(COALESCE(purpose, 'UNKNOWN'), n) FILTER (WHERE g = 5), '{}'::json), "
+                    + "'eligibilityDecision', COALESCE(json_object_agg(COALESCE(eligibility_decision, 'UNKNOWN'), n) "
+                    + "FILTER (WHERE g = 6), '{}'::json)"
+                    + ")::text AS facets "
+                    + "FROM (SELECT status, purpose, eligibility_decision, "
+                    + "GROUPING(status, purpose, eligibility_decision) AS g, count(*) AS n "
+                    + "FROM loan_application l WHERE %1$s "
+                    + "GROUP BY GROUPING SETS ((status), (purpose), (eligibility_decision), ())) f) "
+                    + "SELECT p.*, facets.facets FROM facets LEFT JOIN LATERAL ("
+                    + "SELECT * FROM loan_application l WHERE %1$s ORDER BY %2$s LIMIT ? OFFSET ?) p ON true "
+                    + "ORDER BY %3$s";
+
+    /**
+     * Name search, step 1: names starting with the query, read in
+     * idx_loan_full_name_prefix order (~<~ is the text_pattern_ops ordering)
+     * so the scan stops after the limit however common the prefix is.
+     * Parameters: query, prefix pattern, limit.
+     */
+    private static final String NAME_PREFIX_SQL =
+            "SELECT id, full_name, status, eligibility_decision, amount, created_at, "
+                    + "true AS prefix_match, word_similarity(?, lower(full_name)) AS score "
+                    + "FROM loan_application WHERE lower(full_name) LIKE ? ESCAPE '\\' "
+                    + "ORDER BY lower(full_name) USING ~<~, id LIMIT ?";
+
+    /**
+     * Name search, step 2 (only when step 1 did not fill the limit): names
+     * containing a word similar to the query, from the trigram index.
+     * Parameters: query, query, prefix pattern, limit.
+     */
+    private static final String NAME_FUZZY_SQL =
+            "SELECT id, full_name, status, eligibility_decision, amount, created_at, "
+                    + "false AS prefix_match, word_similarity(?, lower(full_name)) AS score "
+                    + "FROM loan_application WHERE ? <% lower(full_name) "
+                    + "AND lower(full_name) NOT LIKE ? ESCAPE '\\' "
+                    + "ORDER BY score DESC, id DESC LIMIT ?";
+
+    /**
+     * Shortest name query accepted: one- and two-character prefixes match a
+     * large share of all loans and have no meaningful trigrams.
+     */
+    private static final int MIN_NAME_QUERY_LENGTH = 3;
+
+    private static final RowMapper<NameMatch> NAME_ROW = (rs, rowNum) -> new NameMatch(
+            rs.getLong("id"),
+            rs.getString("full_name"),
+            LoanStatus.valueOf(rs.getString("status")),
+            rs.getString("eligibility_decision"),
+            rs.getObject("amount", Double.class),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getBoolean("prefix_match"),
+            rs.getDouble("score")
+    );
+
+    private static final BeanPropertyRowMapper<LoanApplication> LOAN_ROW =
+            new BeanPropertyRowMapper<>(LoanApplication.class);
+
+    /**
+     * Fields a sparse-fieldset listing may select or sort by: every
+     * serialized LoanApplication attribute (the owning user is never exposed).
+     */
+    private static final Set<String> PROJECTABLE_FIELDS = new LinkedHashSet<>(List.of(
+            "id", "amount", "interestRate", "tenure", "status", "createdAt", "decisionPolicy", "decidedAt",
+            "fullName", "monthlyIncome", "monthlyDebt", "creditScore", "creditScoreSource", "employmentType",
+            "purpose", "dti", "riskScore", "eligibilityDecision", "rulesVersion", "duplicateSuspected",
+            "leasedBy", "leaseExpiresAt"));
+
+    /**
+     * Upper bound on the search page size.
+     */
+    private static final int MAX_SEARCH_PAGE_SIZE = 200;
+
     /**
      * Retrieves a paginated list of loans based on request parameters.
      *
@@ -38,12 +264,15 @@ public class LoanQueryServiceImpl implements LoanQueryService {
      *  - Pagination (page number and page size)
      *  - Dynamic sorting (field + direction)
      *  - Optional filtering by loan status
+     *  - Optional createdAt range (enables partition pruning)
      *
      * @param page      page index (0-based)
      * @param size      number of records per page
      * @param sortBy    entity field to sort by
      * @param direction sort direction (asc / desc)
      * @param status    optional loan status filter
+     * @param from      optional inclusive lower bound on createdAt
+     * @param to        optional inclusive upper bound on createdAt
      * @return paginated list of loan applications
      */
     @Override
@@ -52,7 +281,298 @@ public class LoanQueryServiceImpl implements LoanQueryService {
             int size,
             String sortBy,
             String direction,
-            LoanStatus status
+            LoanStatus status,
+            LocalDateTime from,
+            LocalDateTime to
+    ) {
+        ListKey key = new ListKey(page, size, sortBy, direction.toLowerCase(), status, from, to,
+                tableVersions.current(TableVersions.Table.LOANS));
+
+        Page<LoanApplication> cached = recentPages.get(key);
+        if (cached != null) return cached;
+
+        // Concurrent identical requests share one DB execution
+        return inFlight.execute(key, () -> {
+            Page<LoanApplication> result = query(page, size, sortBy, direction, status, from, to);
+            recentPages.put(key, result);
+            return result;
+        });
+    }
+
+    /**
+     * Lists loans as field maps through a Criteria tuple query.
+     *
+     * Only the requested attributes are selected (plus a COUNT for the page
+     * total), and each Tuple is copied straight into a map, so no entity is
+     * materialized or tracked by the persistence context.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> listLoanFields(
+            List<String> fields,
+            int page,
+            int size,
+            String sortBy,
+            String direction,
+            LoanStatus status,
+            LocalDateTime from,
+            LocalDateTime to
+    ) {
+        List<String> selected = fields.stream().map(String::trim).filter(f -> !f.isEmpty()).distinct().toList();
+        if (selected.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fields must name at least one field");
+        }
+        for (String field : selected) {
+            checkProjectable(field, "fields");
+        }
+        checkProjectable(sortBy, "sortBy");
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "page must be >= 0 and size between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> q = cb.createTupleQuery();
+        Root<LoanApplication> l = q.from(LoanApplication.class);
+        List<Selection<?>> selections = selected.stream().<Selection<?>>map(f -> l.get(f).alias(f)).toList();
+        q.select(cb.tuple(selections))
+                .where(listPredicates(cb, l, status, from, to))
+                .orderBy("desc".equalsIgnoreCase(direction) ? cb.desc(l.get(sortBy)) : cb.asc(l.get(sortBy)));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(q)
+                .setFirstResult((int) Math.min((long) page * size, Integer.MAX_VALUE))
+                .setMaxResults(size)
+                .getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : selected) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+
+        CriteriaQuery<Long> count = cb.createQuery(Long.class);
+        Root<LoanApplication> c = count.from(LoanApplication.class);
+        count.select(cb.count(c)).where(listPredicates(cb, c, status, from, to));
+        long total = entityManager.createQuery(count).getSingleResult();
+
+        return new PageImpl<>(rows, PageRequest.of(page, size), total);
+    }
+
+    /**
+     * Predicates of the plain listing; the createdAt bounds mirror
+     * {@link #query} so the same partitions are pruned.
+     */
+    private Predicate[] listPredicates(CriteriaBuilder cb, Root<LoanApplication> l,
+                                       LoanStatus status, LocalDateTime from, LocalDateTime to) {
+        List<Predicate> where = new ArrayList<>();
+        if (status != null) where.add(cb.equal(l.get("status"), status));
+        if (from != null || to != null) {
+            LocalDateTime lower = (from == null) ? EPOCH : from;
+            LocalDateTime upper = (to == null) ? LocalDateTime.now().plusDays(1) : to;
+            where.add(cb.between(l.<LocalDateTime>get("createdAt"), lower, upper));
+        }
+        return where.toArray(Predicate[]::new);
+    }
+
+    private void checkProjectable(String field, String param) {
+        if (!PROJECTABLE_FIELDS.contains(field)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    param + " must only contain " + PROJECTABLE_FIELDS);
+        }
+    }
+
+    /**
+     * Searches loans by any combination of filters.
+     *
+     * Pages are ordered by the requested field, then by id so that rows with
+     * equal sort values keep a stable order across pages.
+     */
+    @Override
+    public Page<LoanApplication> search(LoanSearchFilter filter, int page, int size,
+                                        String sortBy, String direction) {
+        checkSearchPaging(page, size, sortBy);
+
+        Sort.Direction dir = "asc".equalsIgnoreCase(direction) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = sortBy.equals("id") ? Sort.by(dir, "id") : Sort.by(dir, sortBy).and(Sort.by(dir, "id"));
+
+        return loanRepository.findAll(LoanSpecifications.matching(filter), PageRequest.of(page, size, sort));
+    }
+
+    @Override
+    public FacetedLoanPage facetedSearch(LoanSearchFilter filter, int page, int size,
+                                         String sortBy, String direction) {
+        checkSearchPaging(page, size, sortBy);
+
+        FacetKey key = new FacetKey(filter, page, size, sortBy, "asc".equalsIgnoreCase(direction),
+                tableVersions.current(TableVersions.Table.LOANS));
+
+        FacetedLoanPage cached = recentFacets.get(key);
+        if (cached != null) return cached;
+
+        return facetInFlight.execute(key, () -> {
+            FacetedLoanPage result = queryFaceted(key);
+            recentFacets.put(key, result);
+            return result;
+        });
+    }
+
+    /**
+     * Runs the faceted search statement.
+     */
+    private FacetedLoanPage queryFaceted(FacetKey key) {
+        List<Object> whereArgs = new ArrayList<>();
+        String where = where(key.filter(), whereArgs);
+
+        String dir = key.ascending() ? " ASC" : " DESC";
+        String column = SORT_COLUMNS.get(key.sortBy());
+        String pageOrder = column.equals("id") ? "id" + dir : column + dir + ", id" + dir;
+        String finalOrder = column.equals("id") ? "p.id" + dir : "p." + column + dir + ", p.id" + dir;
+
+        List<Object> args = new ArrayList<>(whereArgs);
+        args.addAll(whereArgs);
+        args.add(key.size());
+        args.add((long) key.page() * key.size());
+
+        List<LoanApplication> content = new ArrayList<>();
+        String[] facetJson = new String[1];
+        jdbcTemplate.query(String.format(FACETED_SQL, where, pageOrder, finalOrder), rs -> {
+            facetJson[0] = rs.getString("facets");
+            // An empty page still yields one row (LEFT JOIN) carrying the facets
+            if (rs.getObject("id") != null) {
+                content.add(LOAN_ROW.mapRow(rs, content.size()));
+            }
+        }, args.toArray());
+
+        Facets facets = jsonMapper.readValue(facetJson[0], Facets.class);
+        return new FacetedLoanPage(content, key.page(), key.size(), facets.total(),
+                facets.status(), facets.purpose(), facets.eligibilityDecision());
+    }
+
+    @Override
+    public LoanHistoryPage listForUser(Long userId, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE);
+
+        // Fetch one extra row only to tell whether another page exists
+        List<LoanApplication> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = loanRepository.findNewestByUser(userId, pageSize + 1);
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            rows = loanRepository.findByUserBefore(userId, after.createdAt(), after.id(), pageSize + 1);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new LoanHistoryPage(rows, null);
+        }
+        List<LoanApplication> page = List.copyOf(rows.subList(0, pageSize));
+        LoanApplication last = page.get(pageSize - 1);
+        return new LoanHistoryPage(page, new HistoryCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    /**
+     * Keyset position in a user's loan history: the last loan of a page.
+     * Encoded as URL-safe Base64 of "createdAt|id".
+     */
+    private record HistoryCursor(LocalDateTime createdAt, Long id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static HistoryCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+                int sep = raw.indexOf('|');
+                return new HistoryCursor(LocalDateTime.parse(raw.substring(0, sep)),
+                        Long.parseLong(raw.substring(sep + 1)));
+            } catch (RuntimeException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+    }
+
+    @Override
+    public List<NameMatch> searchByName(String query, int limit) {
+        String q = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (q.length() < MIN_NAME_QUERY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "q must be at least " + MIN_NAME_QUERY_LENGTH + " characters");
+        }
+        String prefix = escapeLike(q) + "%";
+
+        // Prefix hits first: at most limit index entries are read, then ranked among themselves
+        List<NameMatch> matches = new ArrayList<>(jdbcTemplate.query(NAME_PREFIX_SQL, NAME_ROW, q, prefix, limit));
+        matches.sort(Comparator.comparingDouble(NameMatch::score).reversed()
+                .thenComparing(Comparator.comparingLong(NameMatch::id).reversed()));
+
+        if (matches.size() < limit) {
+            matches.addAll(jdbcTemplate.query(NAME_FUZZY_SQL, NAME_ROW, q, q, prefix, limit - matches.size()));
+        }
+        return matches;
+    }
+
+    /**
+     * Escapes LIKE wildcards so the query is matched literally.
+     */
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Builds the native predicate equivalent of LoanSpecifications.matching,
+     * appending its parameters to {@code args}.
+     */
+    private String where(LoanSearchFilter f, List<Object> args) {
+        StringBuilder where = new StringBuilder("TRUE");
+
+        if (f.status() != null) append(where, args, "l.status = ?", f.status().name());
+        if (f.eligibilityDecision() != null) append(where, args, "l.eligibility_decision = ?", f.eligibilityDecision());
+        if (f.purpose() != null) append(where, args, "l.purpose = ?", f.purpose());
+        if (f.employmentType() != null) append(where, args, "l.employment_type = ?", f.employmentType());
+        if (f.minCreditScore() != null) append(where, args, "l.credit_score >= ?", f.minCreditScore());
+        if (f.maxCreditScore() != null) append(where, args, "l.credit_score <= ?", f.maxCreditScore());
+        if (f.minAmount() != null) append(where, args, "l.amount >= ?", f.minAmount());
+        if (f.maxAmount() != null) append(where, args, "l.amount <= ?", f.maxAmount());
+        if (f.minRiskScore() != null) append(where, args, "l.risk_score >= ?", f.minRiskScore());
+        if (f.maxRiskScore() != null) append(where, args, "l.risk_score <= ?", f.maxRiskScore());
+        if (f.from() != null) append(where, args, "l.created_at >= ?", Timestamp.valueOf(f.from()));
+        if (f.to() != null) append(where, args, "l.created_at <= ?", Timestamp.valueOf(f.to()));
+
+        return where.toString();
+    }
+
+    private void append(StringBuilder where, List<Object> args, String predicate, Object value) {
+        where.append(" AND ").append(predicate);
+        args.add(value);
+    }
+
+    /**
+     * Validates search paging and sorting parameters.
+     */
+    private void checkSearchPaging(int page, int size, String sortBy) {
+        if (!SORT_COLUMNS.containsKey(sortBy)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sortBy must be one of " + SORT_COLUMNS.keySet());
+        }
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "page must be >= 0 and size between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Executes the list query (and its count) against the database.
+     */
+    private Page<LoanApplication> query(
+            int page,
+            int size,
+            String sortBy,
+            String direction,
+            LoanStatus status,
+            LocalDateTime from,
+            LocalDateTime to
     ) {
 
         // Determine sorting direction dynamically
@@ -63,6 +583,16 @@ public class LoanQueryServiceImpl implements LoanQueryService {
         // Build pageable object combining pagination + sorting
         PageRequest pageable = PageRequest.of(page, size, sort);
 
+        // With a createdAt range, bound the query so only matching partitions are scanned
+        if (from != null || to != null) {
+            LocalDateTime lower = (from == null) ? EPOCH : from;
+            LocalDateTime upper = (to == null) ? LocalDateTime.now().plusDays(1) : to;
+
+            return (status == null)
+                    ? loanRepository.findByCreatedAtBetween(lower, upper, pageable)
+                    : loanRepository.findByStatusAndCreatedAtBetween(status, lower, upper, pageable);
+        }
+
         // If no status filter is provided, return all loans
         if (status == null) {
             return loanRepository.findAll(pageable);
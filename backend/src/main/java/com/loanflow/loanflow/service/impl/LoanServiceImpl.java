@@ -2,13 +2,29 @@ package com.loanflow.loanflow.service.impl;
 
 import com.loanflow.loanflow.dto.LoanRequest;
 import com.loanflow.loanflow.entity.*;
+import com.loanflow.loanflow.event.LoanChangedEvent;
 import com.loanflow.loanflow.repository.LoanRepository;
+import com.loanflow.loanflow.repository.UserRepository;
+import com.loanflow.loanflow.service.CreditBureauService;
+import com.loanflow.loanflow.service.DuplicateDetectionService;
 import com.loanflow.loanflow.service.EligibilityService;
 import com.loanflow.loanflow.service.LoanService;
+import com.loanflow.loanflow.service.LoanWorkQueueService;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Implementation of LoanService responsible for processing
@@ -16,14 +32,31 @@ import java.time.LocalDateTime;
  *
  * This service:
  *  - Accepts incoming loan requests
- *  - Evaluates eligibility and risk
+ *  - Flags (or rejects) duplicate submissions before any database access;
+ *    an application that is not persisted after all is forgotten again
+ *  - Evaluates eligibility and risk on the self-reported credit score
  *  - Maps request data into a LoanApplication entity
- *  - Persists the loan into the database
+ *  - Persists the loan into the database, linked to the applying user
+ *  - Once the loan has committed, asks the credit bureau for the applying
+ *    user's score and, if it arrives while the loan is still SUBMITTED,
+ *    re-scores the loan with it (published as RESCORED)
+ *  - Applies approve / reject decisions (respecting work queue leases)
+ *  - Publishes a LoanChangedEvent for every write
+ *
+ * The bureau call never holds the request thread: the applicant gets the
+ * self-reported evaluation at once, and the bureau score follows within
+ * bureau.timeoutMs. The self-reported score is kept in its own column.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class LoanServiceImpl implements LoanService {
 
+    /**
+     * Decision policy recorded for analyst decisions.
+     */
+    private static final String MANUAL_POLICY = "MANUAL";
+
     /**
      * Repository used to persist loan applications.
      */
@@ -34,15 +67,91 @@ public class LoanServiceImpl implements LoanService {
      */
     private final EligibilityService eligibilityService;
 
+    /**
+     * Client used to fetch bureau credit scores (bounded in time and concurrency).
+     */
+    private final CreditBureauService creditBureauService;
+
+    /**
+     * In-memory sliding-window index of recent applications.
+     */
+    private final DuplicateDetectionService duplicateDetectionService;
+
+    /**
+     * Publisher used to notify caches and dashboards about loan writes.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Analyst work queue; a decision ends the loan's lease.
+     */
+    private final LoanWorkQueueService workQueueService;
+
+    /**
+     * Used for owner references only; users are never loaded on apply.
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * Runs each bureau update with its RESCORED event, so listeners see
+     * the event when the update commits.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Applies bureau scores off the bureau client's threads (one short
+     * UPDATE each); daemon threads, so pending updates never block shutdown.
+     */
+    private final ExecutorService bureauUpdates = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "loan-bureau-rescore");
+        t.setDaemon(true);
+        return t;
+    });
+
     /**
      * Creates and persists a new loan application.
      *
-     * @param req loan request payload received from client
+     * @param req    loan request payload received from client
+     * @param userId id of the applying user (null if unknown)
      * @return saved LoanApplication entity
      */
     @Override
-    public LoanApplication applyLoan(LoanRequest req) {
+    @Transactional
+    public LoanApplication applyLoan(LoanRequest req, Long userId) {
 
+        // Constant-time duplicate check on the submitted values (throws 409 in REJECT mode)
+        boolean duplicate = duplicateDetectionService.checkAndRecord(req);
+        if (duplicate) {
+            return persist(req, userId, true);
+        }
+
+        // A failed application must not make its retry look like a duplicate: forget it
+        // once the surrounding transaction rolls back, or right away if there is none
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        if (inTransaction) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        duplicateDetectionService.forget(req);
+                    }
+                }
+            });
+        }
+        try {
+            return persist(req, userId, false);
+        } catch (RuntimeException ex) {
+            if (!inTransaction) {
+                duplicateDetectionService.forget(req);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Scores, maps and inserts the application, then publishes SUBMITTED.
+     */
+    private LoanApplication persist(LoanRequest req, Long userId, boolean duplicate) {
         // Evaluate eligibility, risk score, decision, and interest rate
         var eval = eligibilityService.evaluate(req);
 
@@ -55,6 +164,8 @@ public class LoanServiceImpl implements LoanService {
         loan.setMonthlyIncome(req.getMonthlyIncome());
         loan.setMonthlyDebt(req.getMonthlyDebt());
         loan.setCreditScore(req.getCreditScore());
+        loan.setSelfReportedCreditScore(req.getCreditScore());
+        loan.setCreditScoreSource("SELF_REPORTED");
         loan.setEmploymentType(req.getEmploymentType());
         loan.setPurpose(req.getPurpose());
 
@@ -62,13 +173,138 @@ public class LoanServiceImpl implements LoanService {
         loan.setDti(eval.dti());
         loan.setRiskScore(eval.riskScore());
         loan.setEligibilityDecision(eval.decision());
+        loan.setRulesVersion(eligibilityService.rulesVersion());
 
         // Assign derived loan attributes
         loan.setInterestRate(eval.recommendedRate());
         loan.setStatus(LoanStatus.SUBMITTED);
+        loan.setDuplicateSuspected(duplicate);
         loan.setCreatedAt(LocalDateTime.now());
 
-        // Persist and return the loan record
-        return loanRepository.save(loan);
+        // Link the owner by id only: a reference proxy supplies user_id without a SELECT
+        if (userId != null) {
+            loan.setUser(userRepository.getReferenceById(userId));
+        }
+
+        // Persist the loan record and notify listeners
+        LoanApplication saved = loanRepository.save(loan);
+        eventPublisher.publishEvent(LoanChangedEvent.submitted(saved));
+
+        // The bureau is keyed by the applying user; anonymous applications keep the self-reported score
+        if (userId != null) {
+            afterCommit(() -> requestBureauScore(saved.getId(), String.valueOf(userId)));
+        }
+        return saved;
+    }
+
+    /**
+     * Updates a loan's status and persists the change.
+     *
+     * The lease is ended first, in the same transaction: that statement
+     * locks the row, so no claim can lease the loan while it is being decided.
+     *
+     * @param id      loan identifier
+     * @param status  new status
+     * @param actorId deciding user (null for system decisions)
+     * @return updated LoanApplication entity
+     * @throws ResponseStatusException 404 if the loan does not exist,
+     *                                 409 if another analyst holds an active lease on it
+     */
+    @Override
+    @Transactional
+    public LoanApplication decide(Long id, LoanStatus status, Long actorId) {
+        boolean leaseEnded = workQueueService.endLeaseForDecision(id, actorId);
+
+        LoanApplication loan = loanRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Loan not found"));
+        if (!leaseEnded) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Loan is leased by another analyst");
+        }
+
+        LoanStatus previous = loan.getStatus();
+        loan.setStatus(status);
+        loan.setDecisionPolicy(MANUAL_POLICY);
+        loan.setDecidedAt(LocalDateTime.now());
+
+        LoanApplication saved = loanRepository.save(loan);
+        eventPublisher.publishEvent(LoanChangedEvent.decided(saved, previous));
+        return saved;
+    }
+
+    /**
+     * Runs the task once the current transaction commits (at once if there
+     * is none), so the bureau update never races the loan's own insert.
+     */
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * Fetches the applicant's bureau score without waiting for it; the
+     * future is bounded by bureau.timeoutMs and yields null on any failure.
+     */
+    private void requestBureauScore(Long loanId, String applicantKey) {
+        creditBureauService.fetchScore(applicantKey).thenAcceptAsync(score -> {
+            if (score == null) return;
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyBureauScore(loanId, score));
+            } catch (RuntimeException ex) {
+                log.warn("Could not apply the bureau score to loan {}", loanId, ex);
+            }
+        }, bureauUpdates);
+    }
+
+    /**
+     * Re-scores a still-pending loan with its bureau score. A loan decided
+     * in the meantime keeps the scores it was decided on.
+     */
+    private void applyBureauScore(Long loanId, int bureauScore) {
+        LoanApplication loan = loanRepository.findById(loanId).orElse(null);
+        if (loan == null || loan.getStatus() != LoanStatus.SUBMITTED) return;
+
+        LoanRequest req = new LoanRequest();
+        req.setFullName(loan.getFullName());
+        req.setAmount(loan.getAmount());
+        req.setTenure(loan.getTenure());
+        req.setMonthlyIncome(loan.getMonthlyIncome());
+        req.setMonthlyDebt(loan.getMonthlyDebt());
+        req.setCreditScore(bureauScore);
+        req.setEmploymentType(loan.getEmploymentType());
+        req.setPurpose(loan.getPurpose());
+        var eval = eligibilityService.evaluate(req);
+        int version = eligibilityService.rulesVersion();
+
+        int updated = loanRepository.applyBureauScoreIfPending(loan.getId(), loan.getCreatedAt(), LoanStatus.SUBMITTED,
+                bureauScore, eval.dti(), eval.riskScore(), eval.decision(), eval.recommendedRate(), version);
+        if (updated == 0) return;
+
+        // The update detached the loan, so these setters only shape the event
+        String previousDecision = loan.getEligibilityDecision();
+        loan.setCreditScore(bureauScore);
+        loan.setCreditScoreSource("BUREAU");
+        loan.setDti(eval.dti());
+        loan.setRiskScore(eval.riskScore());
+        loan.setEligibilityDecision(eval.decision());
+        loan.setInterestRate(eval.recommendedRate());
+        loan.setRulesVersion(version);
+        eventPublisher.publishEvent(LoanChangedEvent.rescored(loan, previousDecision));
+    }
+
+    /**
+     * Drops bureau updates still queued at shutdown; those loans keep the
+     * self-reported evaluation, as when the bureau is unavailable.
+     */
+    @PreDestroy
+    void shutdown() {
+        bureauUpdates.shutdownNow();
     }
 }
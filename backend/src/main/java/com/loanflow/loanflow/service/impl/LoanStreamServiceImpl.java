@@ -0,0 +1,367 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.event.LoanChangedEvent;
+import com.loanflow.loanflow.service.LoanStreamService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process broadcaster implementation of LoanStreamService.
+ *
+ * Fan-out:
+ *  - Committed SUBMITTED / DECIDED LoanChangedEvents are serialized to JSON
+ *    once, numbered, appended to a replay ring and offered to every
+ *    subscriber's bounded queue (stream.subscriberBuffer), all under one
+ *    lock, so every queue receives frames in id order; publishing never
+ *    blocks on a client
+ *  - A new subscriber is registered and handed its missed frames under the
+ *    same lock, so no frame falls between the replay and the live feed;
+ *    frames are also deduplicated by id per subscriber
+ *  - Sender threads drain the queues; at most one drain task runs per
+ *    subscriber, which keeps per-subscriber ordering
+ *
+ * Slow consumers: a subscriber whose queue is full is disconnected. Browsers
+ * reconnect with Last-Event-ID and receive the missed events from the replay
+ * ring, or a "reset" event (refetch the list) if they fell too far behind.
+ *
+ * Event ids are "<epoch>-<sequence>", the epoch being random per process
+ * start. The sequence only means something to the process that issued it,
+ * so a Last-Event-ID from another epoch (this node restarted, or the client
+ * reconnected to another node) always gets a "reset": its missed events are
+ * not in this replay ring.
+ *
+ * Stalled clients: SseEmitter writes block while the client's socket buffer
+ * is full, so a stalled client holds the thread sending to it.
+ *  - The sender pool grows on demand from stream.senderThreads up to
+ *    stream.maxSenderThreads, so a stalled client ties up only its own
+ *    drain; if every thread is busy, frames wait in the queues and the
+ *    drain is retried on the next frame or heartbeat
+ *  - A send still running after stream.writeTimeoutMs (checked at every
+ *    heartbeat) disconnects its subscriber; the thread itself is released
+ *    when the container's write timeout (server.tomcat.connection-timeout)
+ *    fails the write
+ *  - Emitters are only ever completed by their drain task, never by the
+ *    publishing or heartbeat thread, which would wait for the stalled send
+ *
+ * Idle connections hold no thread (async servlet); a periodic heartbeat
+ * comment keeps proxies from closing them and detects dead clients.
+ *
+ * Events are produced by writes on this node only; dashboards also refetch
+ * their list periodically to pick up writes made through other nodes.
+ */
+@Slf4j
+@Service
+public class LoanStreamServiceImpl implements LoanStreamService {
+
+    private final JsonMapper jsonMapper;
+    private final int subscriberBuffer;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+    private final long writeTimeoutNanos;
+
+    /**
+     * Prefix of every event id issued by this process.
+     */
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadPoolExecutor senders;
+
+    /**
+     * Most recent frames, indexed by sequence number modulo the ring size.
+     * Also the lock ordering numbering, broadcast and registration.
+     */
+    private final Frame[] replay;
+
+    /**
+     * One serialized SSE frame; a null id marks a heartbeat comment.
+     * The id is the sequence number, sent prefixed with the epoch.
+     */
+    private record Frame(Long id, String name, String data) {}
+
+    /**
+     * Connected client with its bounded outgoing queue.
+     */
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final Queue<Frame> queue = new ArrayBlockingQueue<>(subscriberBuffer);
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        /**
+         * System.nanoTime() when the current send started, 0 when idle.
+         */
+        volatile long sendingSince;
+
+        /**
+         * Highest event id queued so far (guarded by the replay lock).
+         */
+        long lastQueuedId;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues a frame unless its event was already queued. A reset carries
+         * the current sequence number, which may equal the last event queued.
+         *
+         * @return false if the queue is full
+         */
+        boolean offer(Frame frame) {
+            if (frame.id() != null && !RESET.equals(frame.name())) {
+                if (frame.id() <= lastQueuedId) return true;
+                lastQueuedId = frame.id();
+            }
+            return queue.offer(frame);
+        }
+    }
+
+    private static final String RESET = "reset";
+
+    public LoanStreamServiceImpl(
+            JsonMapper jsonMapper,
+            @Value("${stream.subscriberBuffer:256}") int subscriberBuffer,
+            @Value("${stream.maxSubscribers:10000}") int maxSubscribers,
+            @Value("${stream.timeoutMs:1800000}") long timeoutMs,
+            @Value("${stream.replaySize:4096}") int replaySize,
+            @Value("${stream.senderThreads:4}") int senderThreads,
+            @Value("${stream.maxSenderThreads:64}") int maxSenderThreads,
+            @Value("${stream.writeTimeoutMs:10000}") long writeTimeoutMs
+    ) {
+        this.jsonMapper = jsonMapper;
+        this.subscriberBuffer = subscriberBuffer;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+        this.writeTimeoutNanos = writeTimeoutMs * 1_000_000;
+        this.replay = new Frame[replaySize];
+
+        // No task queue: a drain either gets a thread at once or is retried later
+        AtomicInteger threadNo = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, Math.max(senderThreads, maxSenderThreads),
+                60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            Thread t = new Thread(r, "loan-stream-sender-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many stream subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber sub = new Subscriber(emitter);
+        emitter.onCompletion(() -> remove(sub));
+        emitter.onTimeout(() -> remove(sub));
+        emitter.onError(ex -> remove(sub));
+
+        // Register and replay under the broadcast lock: every frame is then either
+        // in the replay or broadcast to this subscriber afterwards, never neither
+        synchronized (replay) {
+            subscribers.add(sub);
+            for (Frame frame : missedSince(lastEventId)) {
+                sub.offer(frame);
+            }
+        }
+        schedule(sub);
+        return emitter;
+    }
+
+    /**
+     * Converts committed loan writes into stream events.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanChanged(LoanChangedEvent event) {
+        if (event.type() == LoanChangedEvent.ChangeType.RESCORED) return;
+
+        String json = jsonMapper.writeValueAsString(new LoanStreamEvent(
+                event.type().name(), event.loanId(), event.status(), event.previousStatus(),
+                event.eligibilityDecision(), event.riskScore(), event.amount(),
+                event.purpose(), event.fullName(), event.createdAt()));
+
+        synchronized (replay) {
+            // Numbering, ring insertion and broadcast together keep every queue ordered
+            long id = sequence.incrementAndGet();
+            Frame frame = new Frame(id, "loan", json);
+            replay[(int) (id % replay.length)] = frame;
+            broadcast(frame);
+        }
+    }
+
+    /**
+     * Sends a heartbeat comment to every subscriber and disconnects those
+     * whose current send has been blocked for longer than stream.writeTimeoutMs.
+     */
+    @Scheduled(fixedDelayString = "${stream.heartbeatMs:15000}")
+    void heartbeat() {
+        if (subscribers.isEmpty()) return;
+
+        long now = System.nanoTime();
+        for (Subscriber sub : subscribers) {
+            long since = sub.sendingSince;
+            if (since != 0 && now - since > writeTimeoutNanos) {
+                log.debug("Dropping stalled loan stream subscriber");
+                close(sub);
+            }
+        }
+        synchronized (replay) {
+            broadcast(new Frame(null, null, "ping"));
+        }
+    }
+
+    /**
+     * Offers a frame to every subscriber; never blocks. Call with the replay lock held.
+     */
+    private void broadcast(Frame frame) {
+        for (Subscriber sub : subscribers) {
+            if (sub.offer(frame)) {
+                schedule(sub);
+            } else {
+                // Slow consumer: disconnect; the client resumes via Last-Event-ID
+                log.debug("Dropping slow loan stream subscriber");
+                close(sub);
+            }
+        }
+    }
+
+    /**
+     * Starts a drain task for the subscriber unless one is already running:
+     * to send its queued frames, or to complete its emitter once closed.
+     */
+    private void schedule(Subscriber sub) {
+        if ((sub.closed || !sub.queue.isEmpty()) && sub.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(sub));
+            } catch (RejectedExecutionException ex) {
+                // Every sender is busy: retried on the next frame or heartbeat (a closed
+                // subscriber's emitter is then left to its timeout)
+                sub.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber sub) {
+        try {
+            Frame frame;
+            while (!sub.closed && (frame = sub.queue.poll()) != null) {
+                sub.sendingSince = System.nanoTime();
+                sub.emitter.send(frame.id() == null
+                        ? SseEmitter.event().comment(frame.data())
+                        : SseEmitter.event().id(epoch + "-" + frame.id()).name(frame.name()).data(frame.data()));
+                sub.sendingSince = 0;
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away; the emitter callbacks may not fire for a broken socket
+            remove(sub);
+        } finally {
+            sub.sendingSince = 0;
+        }
+
+        if (sub.closed) {
+            // Draining stays set: nothing is sent to this subscriber again
+            try {
+                sub.emitter.complete();
+            } catch (RuntimeException ignored) {
+                // Already completed by the container
+            }
+            return;
+        }
+        sub.draining.set(false);
+
+        // A frame may have arrived after the loop ended but before the flag was cleared
+        schedule(sub);
+    }
+
+    /**
+     * Frames after the client's last event id, or a single "reset" frame if
+     * some of them are not in the replay ring: they were issued under another
+     * epoch, or have been overwritten since.
+     */
+    private List<Frame> missedSince(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) return List.of();
+
+        long last = -1;
+        String received = lastEventId.trim();
+        int dash = received.lastIndexOf('-');
+        if (dash > 0 && received.substring(0, dash).equals(epoch)) {
+            try {
+                last = Long.parseLong(received.substring(dash + 1));
+            } catch (NumberFormatException ex) {
+                // Treated like an id from another epoch
+            }
+        }
+
+        synchronized (replay) {
+            long current = sequence.get();
+            if (last < 0 || current - last > replay.length) {
+                return List.of(new Frame(current, RESET, "{}"));
+            }
+            if (last >= current) return List.of();
+            List<Frame> frames = new ArrayList<>((int) (current - last));
+            for (long id = last + 1; id <= current; id++) {
+                frames.add(replay[(int) (id % replay.length)]);
+            }
+            return frames.size() > subscriberBuffer
+                    ? List.of(new Frame(current, RESET, "{}"))
+                    : frames;
+        }
+    }
+
+    /**
+     * Disconnects a subscriber. Its drain task completes the emitter: a send
+     * blocked on a stalled client holds the emitter until the write fails.
+     */
+    private void close(Subscriber sub) {
+        if (sub.closed) return;
+        remove(sub);
+        schedule(sub);
+    }
+
+    private void remove(Subscriber sub) {
+        sub.closed = true;
+        if (subscribers.remove(sub)) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Closes all streams when the application stops.
+     */
+    @PreDestroy
+    void shutdown() {
+        for (Subscriber sub : subscribers) {
+            close(sub);
+        }
+        senders.shutdown();
+    }
+}
@@ -0,0 +1,181 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.cache.TableVersions;
+import com.loanflow.loanflow.entity.LoanApplication;
+import com.loanflow.loanflow.repository.LoanRepository;
+import com.loanflow.loanflow.service.LoanWorkQueueService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implementation of LoanWorkQueueService on top of the loan table itself.
+ *
+ * A claim is a single statement:
+ *  1. Pick the next SUBMITTED loans that are unleased or whose lease expired,
+ *     in queue order, with FOR UPDATE SKIP LOCKED
+ *  2. Stamp them with the analyst id and a new expiry
+ *
+ * SKIP LOCKED makes concurrent claimers (on any node) pass over rows another
+ * claimer is leasing instead of queueing behind it, so claims never wait on
+ * each other. The head of each ordering is a partial index over SUBMITTED
+ * loans (V6), and lease expiry is evaluated with the database clock, so
+ * node clocks never need to agree.
+ *
+ * Lease columns are excluded from JPA updates and written only here.
+ * They are part of the serialized loan, so claims, renewals and releases
+ * bump the LOANS table version: cached listings and ETags must not keep
+ * showing the old lease state.
+ */
+@Service
+public class LoanWorkQueueServiceImpl implements LoanWorkQueueService {
+
+    private static final String CLAIM_SQL =
+            "WITH next AS ("
+                    + "SELECT id, created_at FROM loan_application "
+                    + "WHERE status = 'SUBMITTED' "
+                    + "AND (lease_expires_at IS NULL OR lease_expires_at < LOCALTIMESTAMP) "
+                    + "ORDER BY %s LIMIT ? "
+                    + "FOR UPDATE SKIP LOCKED) "
+                    + "UPDATE loan_application l "
+                    + "SET leased_by = ?, lease_expires_at = LOCALTIMESTAMP + ? * INTERVAL '1 second' "
+                    + "FROM next WHERE l.id = next.id AND l.created_at = next.created_at "
+                    + "RETURNING l.id, l.lease_expires_at";
+
+    private static final String RENEW_SQL =
+            "UPDATE loan_application "
+                    + "SET lease_expires_at = LOCALTIMESTAMP + ? * INTERVAL '1 second' "
+                    + "WHERE id = ANY(?) AND leased_by = ? AND status = 'SUBMITTED' "
+                    + "RETURNING id, lease_expires_at";
+
+    private static final String RELEASE_SQL =
+            "UPDATE loan_application SET leased_by = NULL, lease_expires_at = NULL "
+                    + "WHERE id = ANY(?) AND leased_by = ?";
+
+    /**
+     * Clears the lease unless another analyst holds it and it is still active.
+     * Matches (and locks) the row even when there is no lease to clear.
+     */
+    private static final String END_LEASE_SQL =
+            "UPDATE loan_application SET leased_by = NULL, lease_expires_at = NULL "
+                    + "WHERE id = ? AND (leased_by IS NULL OR leased_by = ? "
+                    + "OR lease_expires_at < LOCALTIMESTAMP)";
+
+    private static final String RISK_ORDER = "risk_score DESC NULLS LAST, created_at";
+    private static final String AGE_ORDER = "created_at";
+
+    /**
+     * In-memory equivalents of the two orderings.
+     */
+    private static final Comparator<LoanApplication> BY_AGE =
+            Comparator.comparing(LoanApplication::getCreatedAt);
+
+    private static final Comparator<LoanApplication> BY_RISK =
+            Comparator.comparing(LoanApplication::getRiskScore, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(BY_AGE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoanRepository loanRepository;
+    private final TableVersions tableVersions;
+
+    /**
+     * Lease duration granted by claims and renewals.
+     */
+    private final int leaseSeconds;
+
+    /**
+     * Upper bound on loans per claim or renewal.
+     */
+    private final int maxBatch;
+
+    public LoanWorkQueueServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            LoanRepository loanRepository,
+            TableVersions tableVersions,
+            @Value("${workqueue.leaseSeconds:300}") int leaseSeconds,
+            @Value("${workqueue.maxBatch:50}") int maxBatch
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.loanRepository = loanRepository;
+        this.tableVersions = tableVersions;
+        this.leaseSeconds = leaseSeconds;
+        this.maxBatch = maxBatch;
+    }
+
+    @Override
+    public Claim claim(Long analystId, int count, QueueOrder order) {
+        if (count < 1 || count > maxBatch) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "count must be between 1 and " + maxBatch);
+        }
+
+        String sql = String.format(CLAIM_SQL, order == QueueOrder.AGE ? AGE_ORDER : RISK_ORDER);
+        List<Long> ids = new ArrayList<>();
+        LocalDateTime[] expiresAt = new LocalDateTime[1];
+
+        jdbcTemplate.query(sql, rs -> {
+            ids.add(rs.getLong("id"));
+            expiresAt[0] = rs.getTimestamp("lease_expires_at").toLocalDateTime();
+        }, count, analystId, leaseSeconds);
+
+        if (ids.isEmpty()) {
+            return new Claim(List.of(), null);
+        }
+        leaseChanged();
+
+        // RETURNING has no defined order; restore the queue order
+        List<LoanApplication> loans = new ArrayList<>(loanRepository.findAllById(ids));
+        loans.sort(order == QueueOrder.AGE ? BY_AGE : BY_RISK);
+        return new Claim(loans, expiresAt[0]);
+    }
+
+    @Override
+    public Renewal renew(Long analystId, List<Long> loanIds) {
+        Long[] ids = checkIds(loanIds);
+        List<Long> renewed = new ArrayList<>();
+        LocalDateTime[] expiresAt = new LocalDateTime[1];
+
+        jdbcTemplate.query(RENEW_SQL, rs -> {
+            renewed.add(rs.getLong("id"));
+            expiresAt[0] = rs.getTimestamp("lease_expires_at").toLocalDateTime();
+        }, leaseSeconds, ids, analystId);
+
+        if (!renewed.isEmpty()) leaseChanged();
+        return new Renewal(renewed, expiresAt[0]);
+    }
+
+    @Override
+    public int release(Long analystId, List<Long> loanIds) {
+        int released = jdbcTemplate.update(RELEASE_SQL, checkIds(loanIds), analystId);
+        if (released > 0) leaseChanged();
+        return released;
+    }
+
+    @Override
+    public boolean endLeaseForDecision(Long loanId, Long actorId) {
+        return jdbcTemplate.update(END_LEASE_SQL, loanId, actorId) > 0;
+    }
+
+    /**
+     * Invalidates cached loan reads after a lease write. Claim, renew and
+     * release each run as one auto-committed statement, so the write is
+     * already visible here. (endLeaseForDecision runs inside the decision's
+     * transaction, whose DECIDED event bumps the version after commit.)
+     */
+    private void leaseChanged() {
+        tableVersions.bump(TableVersions.Table.LOANS);
+    }
+
+    private Long[] checkIds(List<Long> loanIds) {
+        if (loanIds == null || loanIds.isEmpty() || loanIds.size() > maxBatch) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "between 1 and " + maxBatch + " loan ids are required");
+        }
+        return loanIds.toArray(Long[]::new);
+    }
+}
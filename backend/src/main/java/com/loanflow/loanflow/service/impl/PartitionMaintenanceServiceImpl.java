@@ -0,0 +1,149 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.cache.TableVersions;
+import com.loanflow.loanflow.service.LiveCountService;
+import com.loanflow.loanflow.service.PartitionMaintenanceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of PartitionMaintenanceService for PostgreSQL.
+ *
+ * loan_application is range-partitioned by created_at month (see the V2
+ * migration). Partitions are named loan_application_YYYY_MM.
+ *
+ * A daily job:
+ *  1. Pre-creates partitions for upcoming months, so new rows never land
+ *     in the DEFAULT partition
+ *  2. Detaches partitions older than partitions.archiveAfterMonths that no
+ *     longer hold SUBMITTED loans and moves them to the loan_archive schema,
+ *     both in one transaction: a failure in between cannot leave a detached
+ *     table behind in public, where neither the loan table nor the archive
+ *     sees it
+ *
+ * Detached partitions disappear from the hot table and its indexes, while
+ * the data stays queryable in loan_archive. Live loan counts are
+ * reconciled afterwards, since those loans are no longer in the table.
+ * DETACH fires no DML trigger, so the loans table version is bumped here.
+ */
+@Slf4j
+@Service
+public class PartitionMaintenanceServiceImpl implements PartitionMaintenanceService {
+
+    private static final String PREFIX = "loan_application_";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LiveCountService liveCountService;
+    private final TableVersions tableVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int archiveAfterMonths;
+
+    public PartitionMaintenanceServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            LiveCountService liveCountService,
+            TableVersions tableVersions,
+            TransactionTemplate transactionTemplate,
+            @Value("${partitions.monthsAhead:3}") int monthsAhead,
+            @Value("${partitions.archiveAfterMonths:12}") int archiveAfterMonths
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.liveCountService = liveCountService;
+        this.tableVersions = tableVersions;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+        this.archiveAfterMonths = archiveAfterMonths;
+    }
+
+    /**
+     * Runs maintenance once at startup and then on the configured schedule.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${partitions.cron:0 15 3 * * *}")
+    public void maintain() {
+        try {
+            ensureFuturePartitions();
+            archiveDecidedPartitions();
+        } catch (RuntimeException ex) {
+            log.warn("Loan partition maintenance failed", ex);
+        }
+    }
+
+    @Override
+    public List<String> ensureFuturePartitions() {
+        List<String> created = new ArrayList<>();
+        YearMonth month = YearMonth.now();
+
+        for (int i = 0; i <= monthsAhead; i++, month = month.plusMonths(1)) {
+            String name = PREFIX + month.format(SUFFIX);
+            if (exists(name)) continue;
+
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE %s PARTITION OF loan_application FOR VALUES FROM ('%s') TO ('%s')",
+                    name, month.atDay(1), month.plusMonths(1).atDay(1)));
+            created.add(name);
+            log.info("Created loan partition {}", name);
+        }
+        return created;
+    }
+
+    @Override
+    public List<String> archiveDecidedPartitions() {
+        List<String> archived = new ArrayList<>();
+        LocalDate cutoff = YearMonth.now().minusMonths(archiveAfterMonths).atDay(1);
+
+        // Attached monthly partitions, oldest first
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i "
+                        + "JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "JOIN pg_class p ON p.oid = i.inhparent "
+                        + "WHERE p.relname = 'loan_application' AND c.relname ~ '^loan_application_[0-9]{4}_[0-9]{2}$' "
+                        + "ORDER BY c.relname",
+                String.class);
+
+        for (String name : partitions) {
+            YearMonth month = YearMonth.parse(name.substring(PREFIX.length()), SUFFIX);
+            if (month.plusMonths(1).atDay(1).isAfter(cutoff)) continue;
+
+            Boolean moved = transactionTemplate.execute(tx -> {
+                // Keep partitions that still hold loans awaiting a decision
+                Boolean hasSubmitted = jdbcTemplate.queryForObject(
+                        "SELECT EXISTS (SELECT 1 FROM " + name + " WHERE status = 'SUBMITTED')", Boolean.class);
+                if (Boolean.TRUE.equals(hasSubmitted)) return false;
+
+                jdbcTemplate.execute("ALTER TABLE loan_application DETACH PARTITION " + name);
+                jdbcTemplate.execute("ALTER TABLE " + name + " SET SCHEMA loan_archive");
+                return true;
+            });
+            if (!Boolean.TRUE.equals(moved)) continue;
+
+            archived.add(name);
+            log.info("Archived loan partition {} to loan_archive", name);
+        }
+
+        if (!archived.isEmpty()) {
+            tableVersions.bump(TableVersions.Table.LOANS);
+            liveCountService.reconcile();
+        }
+        return archived;
+    }
+
+    private boolean exists(String table) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT to_regclass(CAST(? AS text)) IS NOT NULL", Boolean.class, "public." + table);
+        return Boolean.TRUE.equals(exists);
+    }
+}
@@ -0,0 +1,143 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.cache.BloomFilter;
+import com.loanflow.loanflow.cache.TableVersions;
+import com.loanflow.loanflow.entity.User;
+import com.loanflow.loanflow.entity.UserRole;
+import com.loanflow.loanflow.repository.UserRepository;
+import com.loanflow.loanflow.service.LiveCountService;
+import com.loanflow.loanflow.service.RegistrationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implementation of RegistrationService that relies on the unique
+ * constraint on users.username instead of a check-then-insert.
+ *
+ * Flow:
+ *  1. Look the username up in an in-memory Bloom filter of known usernames
+ *     · definitely absent (the common case): go straight to step 2
+ *     · possibly taken: confirm with an index-only existence query and
+ *       reject with 409 before paying for BCrypt and a failing INSERT
+ *  2. Hash the password and INSERT once; a unique violation (concurrent
+ *     signup, or a user created on another node) is mapped to 409
+ *  3. Count the new user (inside the INSERT's transaction) and add the
+ *     username to the filter
+ *
+ * The filter is rebuilt from the users table at startup, in keyset-ordered
+ * chunks. Until it is ready every signup takes the confirm path, so results
+ * are always correct; the filter only decides how much work a signup costs.
+ */
+@Slf4j
+@Service
+public class RegistrationServiceImpl implements RegistrationService {
+
+    private static final int REBUILD_CHUNK = 50_000;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final LiveCountService liveCountService;
+    private final TableVersions tableVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final BloomFilter usernames;
+
+    /**
+     * Set once the filter holds every username that existed at startup.
+     */
+    private volatile boolean ready;
+
+    public RegistrationServiceImpl(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            JdbcTemplate jdbcTemplate,
+            LiveCountService liveCountService,
+            TableVersions tableVersions,
+            TransactionTemplate transactionTemplate,
+            @Value("${registration.bloom.expectedUsers:4000000}") long expectedUsers,
+            @Value("${registration.bloom.falsePositiveRate:0.01}") double falsePositiveRate
+    ) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.liveCountService = liveCountService;
+        this.tableVersions = tableVersions;
+        this.transactionTemplate = transactionTemplate;
+        this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+    }
+
+    /**
+     * Loads existing usernames in the background once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        CompletableFuture.runAsync(() -> {
+            try {
+                long lastId = 0, loaded = 0;
+                List<Map<String, Object>> chunk;
+                do {
+                    chunk = jdbcTemplate.queryForList(
+                            "SELECT id, username FROM users WHERE id > ? ORDER BY id LIMIT ?",
+                            lastId, REBUILD_CHUNK);
+                    for (Map<String, Object> row : chunk) {
+                        usernames.put((String) row.get("username"));
+                        lastId = ((Number) row.get("id")).longValue();
+                    }
+                    loaded += chunk.size();
+                } while (chunk.size() == REBUILD_CHUNK);
+
+                ready = true;
+                log.info("Username Bloom filter ready: {} users, {} KB", loaded, usernames.sizeInBytes() / 1024);
+            } catch (RuntimeException ex) {
+                log.warn("Username Bloom filter rebuild failed; registrations will always check the database", ex);
+            }
+        });
+    }
+
+    @Override
+    public void register(String username, String rawPassword) {
+
+        // Possibly taken: confirm cheaply before hashing and inserting
+        if ((!ready || usernames.mightContain(username)) && userRepository.existsByUsername(username)) {
+            usernames.put(username);
+            throw taken();
+        }
+
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(passwordEncoder.encode(rawPassword));
+
+        // Default role for new registrations (keeps role assignment controlled)
+        user.setRole(UserRole.CUSTOMER);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAndFlush(user);
+                liveCountService.userCreated(UserRole.CUSTOMER);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Lost a race with a concurrent signup for the same username
+            usernames.put(username);
+            throw taken();
+        }
+        usernames.put(username);
+        tableVersions.bump(TableVersions.Table.USERS);
+    }
+
+    private ResponseStatusException taken() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Username already exists");
+    }
+}
@@ -0,0 +1,325 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.dto.LoanRequest;
+import com.loanflow.loanflow.entity.BackfillCheckpoint;
+import com.loanflow.loanflow.entity.LoanApplication;
+import com.loanflow.loanflow.entity.LoanStatus;
+import com.loanflow.loanflow.event.LoanChangedEvent;
+import com.loanflow.loanflow.repository.BackfillCheckpointRepository;
+import com.loanflow.loanflow.repository.LoanRepository;
+import com.loanflow.loanflow.service.EligibilityService;
+import com.loanflow.loanflow.service.RescoreBackfillService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of RescoreBackfillService.
+ *
+ * The job runs on a dedicated background thread and processes loans in
+ * id-ordered chunks:
+ *  1. Load the next chunk of SUBMITTED loans after the checkpointed id
+ *  2. Re-evaluate each loan with the current EligibilityService rules
+ *  3. Write only loans whose scores or rules version changed, as one JDBC
+ *     batch of UPDATEs of the scoring columns guarded by status = 'SUBMITTED'
+ *     (a loan approved or rejected meanwhile is left untouched)
+ *  4. Publish a RESCORED event for every row the batch actually updated
+ *  5. Save the checkpoint in the same transaction as the updates
+ *  6. Sleep as needed to stay under the configured rows/sec throttle
+ *
+ * Because the checkpoint commits atomically with the chunk, a restart
+ * never skips or double-counts rows.
+ */
+@Slf4j
+@Service
+public class RescoreBackfillServiceImpl implements RescoreBackfillService {
+
+    /**
+     * Job name used as the checkpoint key.
+     */
+    private static final String JOB_NAME = "loan-rescore";
+
+    /**
+     * Writes the new scores of a loan that is still pending; createdAt lets
+     * PostgreSQL prune to the loan's partition.
+     */
+    private static final String RESCORE_SQL =
+            "UPDATE loan_application SET dti = ?, risk_score = ?, eligibility_decision = ?, "
+                    + "interest_rate = ?, rules_version = ? "
+                    + "WHERE id = ? AND created_at = ? AND status = 'SUBMITTED'";
+
+    private final LoanRepository loanRepository;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final EligibilityService eligibilityService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Number of loans loaded and committed per transaction.
+     */
+    private final int chunkSize;
+
+    /**
+     * Throughput limit applied when the caller does not provide one.
+     */
+    private final int defaultRowsPerSecond;
+
+    /**
+     * Single background worker; at most one backfill runs per node.
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "loan-rescore-backfill");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile boolean stopRequested;
+    private volatile int throttleRowsPerSecond;
+    private volatile LocalDateTime startedAt;
+    private volatile long runStartNanos;
+    private volatile long runScanned;
+    private volatile BackfillCheckpoint current;
+
+    public RescoreBackfillServiceImpl(
+            LoanRepository loanRepository,
+            BackfillCheckpointRepository checkpointRepository,
+            EligibilityService eligibilityService,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            JdbcTemplate jdbcTemplate,
+            @Value("${backfill.rescore.chunkSize:500}") int chunkSize,
+            @Value("${backfill.rescore.rowsPerSecond:500}") int defaultRowsPerSecond
+    ) {
+        this.loanRepository = loanRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.eligibilityService = eligibilityService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.defaultRowsPerSecond = defaultRowsPerSecond;
+        this.throttleRowsPerSecond = defaultRowsPerSecond;
+    }
+
+    @Override
+    public BackfillStatus start(Integer rowsPerSecond) {
+        // Only one run at a time; a second start simply reports progress
+        if (!running.compareAndSet(false, true)) {
+            return status();
+        }
+
+        throttleRowsPerSecond = (rowsPerSecond != null && rowsPerSecond > 0)
+                ? rowsPerSecond
+                : defaultRowsPerSecond;
+        stopRequested = false;
+        startedAt = LocalDateTime.now();
+        runStartNanos = System.nanoTime();
+        runScanned = 0;
+
+        executor.submit(this::runJob);
+        return status();
+    }
+
+    @Override
+    public BackfillStatus stop() {
+        stopRequested = true;
+        return status();
+    }
+
+    @Override
+    public BackfillStatus status() {
+        BackfillCheckpoint cp = (current != null)
+                ? current
+                : checkpointRepository.findById(JOB_NAME).orElse(null);
+
+        boolean isRunning = running.get();
+        double rate = 0;
+        if (isRunning) {
+            double seconds = (System.nanoTime() - runStartNanos) / 1_000_000_000.0;
+            rate = seconds > 0 ? runScanned / seconds : 0;
+        }
+
+        return new BackfillStatus(
+                isRunning,
+                cp == null ? eligibilityService.rulesVersion() : cp.getRulesVersion(),
+                cp == null ? 0 : cp.getLastId(),
+                cp == null ? 0 : cp.getScanned(),
+                cp == null ? 0 : cp.getUpdated(),
+                cp != null && cp.isCompleted(),
+                Math.round(rate * 10.0) / 10.0,
+                throttleRowsPerSecond,
+                startedAt,
+                cp == null ? null : cp.getUpdatedAt()
+        );
+    }
+
+    /**
+     * Main loop executed on the background thread.
+     */
+    private void runJob() {
+        try {
+            int version = eligibilityService.rulesVersion();
+            current = loadOrReset(version);
+
+            while (!stopRequested && !current.isCompleted()) {
+                BackfillCheckpoint cp = current;
+                Integer processed = transactionTemplate.execute(tx -> processChunk(cp, version));
+                runScanned += (processed == null ? 0 : processed);
+                throttle();
+            }
+
+            log.info("Rescore backfill {} at id {}: scanned={}, updated={}, {} rows/sec",
+                    current.isCompleted() ? "completed" : "stopped",
+                    current.getLastId(), current.getScanned(), current.getUpdated(),
+                    status().rowsPerSecond());
+        } catch (Exception ex) {
+            log.error("Rescore backfill failed; it can be resumed from the last checkpoint", ex);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Loads the checkpoint for the current rules version, or starts a new one
+     * when the rules changed or the previous run already completed.
+     */
+    private BackfillCheckpoint loadOrReset(int version) {
+        BackfillCheckpoint cp = checkpointRepository.findById(JOB_NAME).orElse(null);
+
+        if (cp == null || !Objects.equals(cp.getRulesVersion(), version) || cp.isCompleted()) {
+            cp = new BackfillCheckpoint(JOB_NAME, version, 0L, 0, 0, false, LocalDateTime.now());
+        }
+        return cp;
+    }
+
+    /**
+     * Processes a single chunk inside the caller's transaction.
+     *
+     * @return number of rows scanned
+     */
+    private int processChunk(BackfillCheckpoint cp, int version) {
+        List<LoanApplication> chunk = loanRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                LoanStatus.SUBMITTED, cp.getLastId(), Limit.of(chunkSize));
+
+        List<LoanApplication> rescored = new ArrayList<>();
+        List<String> previousDecisions = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        for (LoanApplication loan : chunk) {
+            String previousDecision = loan.getEligibilityDecision();
+            Object[] params = rescore(loan, version);
+            if (params == null) continue;
+            rescored.add(loan);
+            previousDecisions.add(previousDecision);
+            batch.add(params);
+        }
+
+        int changed = 0;
+        if (!batch.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(RESCORE_SQL, batch);
+            for (int i = 0; i < counts.length; i++) {
+                // 0: decided since the chunk was read, and left as it was
+                if (counts[i] == 0) continue;
+                changed++;
+                // Delivered to listeners only after the chunk commits
+                eventPublisher.publishEvent(LoanChangedEvent.rescored(rescored.get(i), previousDecisions.get(i)));
+            }
+        }
+
+        // Advance the checkpoint; it commits together with the batch
+        cp.setScanned(cp.getScanned() + chunk.size());
+        cp.setUpdated(cp.getUpdated() + changed);
+        if (!chunk.isEmpty()) {
+            cp.setLastId(chunk.get(chunk.size() - 1).getId());
+        }
+        cp.setCompleted(chunk.size() < chunkSize);
+        cp.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(cp);
+
+        return chunk.size();
+    }
+
+    /**
+     * Re-evaluates a loan and, if something differs, applies the new scores
+     * to it in memory (the chunk is read-only, so they are never flushed).
+     * Unchanged rows are never written.
+     *
+     * @return RESCORE_SQL parameters, or null if nothing changed
+     */
+    private Object[] rescore(LoanApplication loan, int version) {
+        var eval = eligibilityService.evaluate(toRequest(loan));
+
+        boolean changed = !Objects.equals(loan.getDti(), eval.dti())
+                || !Objects.equals(loan.getRiskScore(), eval.riskScore())
+                || !Objects.equals(loan.getEligibilityDecision(), eval.decision())
+                || !Objects.equals(loan.getInterestRate(), eval.recommendedRate())
+                || !Objects.equals(loan.getRulesVersion(), version);
+        if (!changed) {
+            return null;
+        }
+
+        // These setters only shape the event
+        loan.setDti(eval.dti());
+        loan.setRiskScore(eval.riskScore());
+        loan.setEligibilityDecision(eval.decision());
+        loan.setInterestRate(eval.recommendedRate());
+        loan.setRulesVersion(version);
+
+        return new Object[]{eval.dti(), eval.riskScore(), eval.decision(), eval.recommendedRate(), version,
+                loan.getId(), Timestamp.valueOf(loan.getCreatedAt())};
+    }
+
+    /**
+     * Rebuilds the scoring inputs from a stored loan.
+     */
+    private LoanRequest toRequest(LoanApplication loan) {
+        LoanRequest req = new LoanRequest();
+        req.setFullName(loan.getFullName());
+        req.setAmount(loan.getAmount());
+        req.setTenure(loan.getTenure());
+        req.setMonthlyIncome(loan.getMonthlyIncome());
+        req.setMonthlyDebt(loan.getMonthlyDebt());
+        req.setCreditScore(loan.getCreditScore());
+        req.setEmploymentType(loan.getEmploymentType());
+        req.setPurpose(loan.getPurpose());
+        return req;
+    }
+
+    /**
+     * Sleeps long enough to keep the run's average rate at or below the throttle.
+     */
+    private void throttle() throws InterruptedException {
+        long expectedNanos = (long) (runScanned * 1_000_000_000.0 / throttleRowsPerSecond);
+        long elapsedNanos = System.nanoTime() - runStartNanos;
+
+        if (expectedNanos > elapsedNanos) {
+            TimeUnit.NANOSECONDS.sleep(expectedNanos - elapsedNanos);
+        }
+    }
+
+    /**
+     * Stops the worker when the application shuts down; the last committed
+     * checkpoint remains valid for the next start.
+     */
+    @PreDestroy
+    void shutdown() {
+        stopRequested = true;
+        executor.shutdown();
+    }
+}
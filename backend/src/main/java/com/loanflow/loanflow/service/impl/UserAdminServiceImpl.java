@@ -0,0 +1,295 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.cache.TableVersions;
+import com.loanflow.loanflow.entity.UserRole;
+import com.loanflow.loanflow.security.TokenRevocationList;
+import com.loanflow.loanflow.service.ArchiveSegmentService;
+import com.loanflow.loanflow.service.LiveCountService;
+import com.loanflow.loanflow.service.UserAdminService;
+import com.loanflow.loanflow.service.UserQueryService.UserSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC implementation of UserAdminService.
+ *
+ * Every write is a single statement, so no entity is loaded first. Role
+ * changes and deactivations also revoke the users' existing tokens: a
+ * data-modifying CTE upserts token_revocation rows for the changed ids in
+ * the same statement, and the ids are applied to the local
+ * TokenRevocationList as soon as the statement returns.
+ *
+ * Bulk writes are executed in chunks:
+ *  WITH changed AS (
+ *    UPDATE users SET col = :value
+ *    FROM (SELECT id, role FROM users WHERE col IS DISTINCT FROM :value AND &lt;selection&gt;
+ *          ORDER BY id LIMIT :chunk FOR UPDATE) prev
+ *    WHERE users.id = prev.id
+ *    RETURNING id, prev.role AS previous_role),
+ *  revoked AS (INSERT INTO token_revocation ... SELECT id ... FROM changed ...)
+ *  SELECT id, previous_role FROM changed
+ *
+ * The locked pre-update role of each changed row keeps the live per-role
+ * user counts exact without a separate query; each statement reports its
+ * role changes from inside its own transaction, so they are counted when
+ * it commits.
+ *
+ * Updated rows no longer match "col IS DISTINCT FROM :value", so the loop
+ * simply repeats until a chunk comes back short. Each chunk commits on its
+ * own, which keeps row locks short during large clean-up campaigns.
+ *
+ * The noLoansSince criterion also checks loans already moved to the cold
+ * archive. It is refused (409) while loans without a recorded owner exist in
+ * the window: loans submitted before applications were linked to their user
+ * have user_id = NULL, so "no loan since" cannot be decided for anyone.
+ */
+@Slf4j
+@Service
+public class UserAdminServiceImpl implements UserAdminService {
+
+    private static final int MAX_IDS = 100_000;
+
+    /**
+     * Records a token revocation for every changed user in the same statement
+     * (expects the "changed" CTE to return id; parameter: revoked_before).
+     * updated_at comes from the database clock, so every node's poll
+     * watermark follows one clock whatever the writer's JVM clock says.
+     */
+    private static final String REVOKE_CTE =
+            ", revoked AS (INSERT INTO token_revocation (user_id, revoked_before, updated_at) "
+                    + "SELECT id, ?, clock_timestamp() FROM changed "
+                    + "ON CONFLICT (user_id) DO UPDATE SET "
+                    + "revoked_before = GREATEST(token_revocation.revoked_before, EXCLUDED.revoked_before), "
+                    + "updated_at = EXCLUDED.updated_at) ";
+
+    private static final RowMapper<UserSummary> SUMMARY = (rs, n) -> new UserSummary(
+            rs.getLong("id"),
+            rs.getString("username"),
+            rs.getString("role") == null ? null : UserRole.valueOf(rs.getString("role")),
+            rs.getBoolean("active")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TokenRevocationList revocationList;
+    private final ArchiveSegmentService archiveSegmentService;
+    private final TableVersions tableVersions;
+    private final LiveCountService liveCountService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public UserAdminServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            TokenRevocationList revocationList,
+            ArchiveSegmentService archiveSegmentService,
+            TableVersions tableVersions,
+            LiveCountService liveCountService,
+            TransactionTemplate transactionTemplate,
+            @Value("${users.bulk.chunkSize:5000}") int chunkSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.revocationList = revocationList;
+        this.archiveSegmentService = archiveSegmentService;
+        this.tableVersions = tableVersions;
+        this.liveCountService = liveCountService;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public UserSummary updateRole(Long id, UserRole role) {
+        return updateOne("role", role.name(), id, true);
+    }
+
+    @Override
+    public UserSummary updateActive(Long id, boolean active) {
+        // Only deactivation needs to invalidate existing tokens
+        return updateOne("active", active, id, !active);
+    }
+
+    @Override
+    public BulkResult bulkUpdateRole(UserSelection selection, UserRole role) {
+        if (role == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Role is required");
+        }
+        return bulkUpdate("role", role.name(), selection, true);
+    }
+
+    @Override
+    public BulkResult bulkUpdateActive(UserSelection selection, boolean active) {
+        return bulkUpdate("active", active, selection, !active);
+    }
+
+    private UserSummary updateOne(String column, Object value, Long id, boolean revoke) {
+        long now = System.currentTimeMillis();
+        String sql = "WITH changed AS (UPDATE users SET " + column + " = ? "
+                + "FROM (SELECT id, role FROM users WHERE id = ? FOR UPDATE) prev WHERE users.id = prev.id "
+                + "RETURNING users.id, users.username, users.role, users.active, prev.role AS previous_role)"
+                + (revoke ? REVOKE_CTE : " ")
+                + "SELECT id, username, role, active, previous_role FROM changed";
+
+        Object[] params = revoke
+                ? new Object[]{value, id, new Timestamp(now)}
+                : new Object[]{value, id};
+
+        List<UserSummary> rows = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, rs -> {
+            UserSummary changed = SUMMARY.mapRow(rs, rows.size());
+            rows.add(changed);
+            liveCountService.usersMoved(role(rs.getString("previous_role")), changed.role(), 1);
+        }, params));
+        if (rows.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+
+        UserSummary user = rows.get(0);
+        if (revoke) revocationList.revokeLocally(List.of(id), now);
+        tableVersions.bump(TableVersions.Table.USERS);
+        return user;
+    }
+
+    /**
+     * Applies {@code column = value} to every selected user, one chunk per statement.
+     */
+    private BulkResult bulkUpdate(String column, Object value, UserSelection selection, boolean revoke) {
+        if (selection == null || selection.isEmpty()) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "At least one selection criterion is required");
+        }
+        if (selection.ids() != null && selection.ids().size() > MAX_IDS) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "At most " + MAX_IDS + " ids per request");
+        }
+
+        List<Object> args = new ArrayList<>();
+        args.add(value);
+        String where = where(column, value, selection, args);
+        args.add(chunkSize);
+
+        String sql = "WITH changed AS (UPDATE users SET " + column + " = ? FROM ("
+                + "SELECT u.id, u.role FROM users u WHERE " + where + " ORDER BY u.id LIMIT ? FOR UPDATE"
+                + ") prev WHERE users.id = prev.id RETURNING users.id, prev.role AS previous_role)"
+                + (revoke ? REVOKE_CTE : " ")
+                + "SELECT id, previous_role FROM changed";
+
+        int updated = 0, statements = 0;
+        List<Long> ids;
+        do {
+            long now = System.currentTimeMillis();
+            List<Object> params = new ArrayList<>(args);
+            if (revoke) {
+                params.add(new Timestamp(now));
+            }
+
+            List<Long> chunk = new ArrayList<>();
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<UserRole, Long> previousRoles = new EnumMap<>(UserRole.class);
+                jdbcTemplate.query(sql, rs -> {
+                    chunk.add(rs.getLong("id"));
+                    UserRole previous = role(rs.getString("previous_role"));
+                    if (previous != null) previousRoles.merge(previous, 1L, Long::sum);
+                }, params.toArray());
+
+                // Counted when the chunk commits
+                if (column.equals("role")) {
+                    UserRole role = UserRole.valueOf((String) value);
+                    previousRoles.forEach((previous, n) -> liveCountService.usersMoved(previous, role, n));
+                }
+            });
+            ids = chunk;
+            statements++;
+            updated += ids.size();
+
+            // Apply right after each chunk commits so the change takes effect immediately
+            if (revoke) revocationList.revokeLocally(ids, now);
+        } while (ids.size() == chunkSize);
+
+        tableVersions.bump(TableVersions.Table.USERS);
+        log.info("Bulk update set users.{} = {} on {} users in {} statements", column, value, updated, statements);
+        return new BulkResult(updated, statements);
+    }
+
+    /**
+     * Builds the selection predicate, appending its parameters to {@code args}.
+     */
+    private String where(String column, Object value, UserSelection s, List<Object> args) {
+        StringBuilder where = new StringBuilder("u." + column + " IS DISTINCT FROM ?");
+        args.add(value);
+
+        if (s.ids() != null && !s.ids().isEmpty()) {
+            where.append(" AND u.id = ANY(?)");
+            args.add(s.ids().toArray(Long[]::new));
+        }
+        if (s.role() != null) {
+            where.append(" AND u.role = ?");
+            args.add(s.role().name());
+        }
+        if (s.active() != null) {
+            where.append(" AND u.active = ?");
+            args.add(s.active());
+        }
+        if (s.usernamePrefix() != null && !s.usernamePrefix().isBlank()) {
+            where.append(" AND u.username LIKE ?");
+            args.add(escapeLike(s.usernamePrefix().trim()) + "%");
+        }
+        if (s.noLoansSince() != null) {
+            requireOwnedLoansSince(s.noLoansSince());
+            where.append(" AND NOT EXISTS (SELECT 1 FROM loan_application l "
+                    + "WHERE l.user_id = u.id AND l.created_at >= ?)");
+            args.add(Timestamp.valueOf(s.noLoansSince()));
+
+            Set<Long> archived = archiveSegmentService.userIdsWithLoansSince(s.noLoansSince());
+            if (!archived.isEmpty()) {
+                where.append(" AND NOT (u.id = ANY(?))");
+                args.add(archived.toArray(Long[]::new));
+            }
+        }
+        return where.toString();
+    }
+
+    /**
+     * Rejects a noLoansSince cutoff that unlinked (ownerless) loans fall after,
+     * since their applicants would wrongly look inactive.
+     */
+    private void requireOwnedLoansSince(LocalDateTime since) {
+        // Served by the (user_id, created_at, id) index: NULL user_ids are indexed too
+        Timestamp latest = jdbcTemplate.queryForObject(
+                "SELECT max(created_at) FROM loan_application WHERE user_id IS NULL AND created_at >= ?",
+                Timestamp.class, Timestamp.valueOf(since));
+
+        if (latest != null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Loans without a recorded owner exist up to " + latest.toLocalDateTime()
+                            + "; use a noLoansSince after that time");
+        }
+        if (archiveSegmentService.hasUnlinkedLoansSince(since)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Archived loans without a recorded owner exist after " + since
+                            + "; use a later noLoansSince");
+        }
+    }
+
+    private UserRole role(String role) {
+        return role == null ? null : UserRole.valueOf(role);
+    }
+
+    /**
+     * Escapes LIKE wildcards so the prefix is matched literally.
+     */
+    private String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,80 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.entity.User;
+import com.loanflow.loanflow.entity.UserRole;
+import com.loanflow.loanflow.service.UserQueryService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of UserQueryService using a JPA Criteria query.
+ *
+ * Query shape:
+ *  - Selects only id, username, role and active (never the password hash)
+ *  - Adds a predicate only for filters that are present, so PostgreSQL can
+ *    pick the matching index (see the V3 migration):
+ *    · role         -> (role, id)
+ *    · active       -> (active, id)
+ *    · prefix       -> username varchar_pattern_ops
+ *  - Keyset pagination: WHERE id > :afterId ORDER BY id LIMIT size + 1;
+ *    the extra row only tells whether another page exists
+ *
+ * Unlike OFFSET pagination, the cost of a page does not grow with its depth.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserQueryServiceImpl implements UserQueryService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserPage listUsers(Long afterId, int size, UserRole role, Boolean active, String usernamePrefix) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserSummary> q = cb.createQuery(UserSummary.class);
+        Root<User> u = q.from(User.class);
+
+        List<Predicate> where = new ArrayList<>();
+        if (afterId != null) where.add(cb.greaterThan(u.get("id"), afterId));
+        if (role != null) where.add(cb.equal(u.get("role"), role));
+        if (active != null) where.add(cb.equal(u.get("active"), active));
+        if (usernamePrefix != null && !usernamePrefix.isBlank()) {
+            where.add(cb.like(u.get("username"), escapeLike(usernamePrefix.trim()) + "%", '\\'));
+        }
+
+        q.select(cb.construct(UserSummary.class,
+                        u.get("id"), u.get("username"), u.get("role"), u.get("active")))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(u.get("id")));
+
+        List<UserSummary> rows = entityManager.createQuery(q)
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+
+        if (rows.size() <= pageSize) {
+            return new UserPage(rows, null);
+        }
+        List<UserSummary> page = rows.subList(0, pageSize);
+        return new UserPage(List.copyOf(page), page.get(pageSize - 1).id());
+    }
+
+    /**
+     * Escapes LIKE wildcards so the prefix is matched literally.
+     */
+    private String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
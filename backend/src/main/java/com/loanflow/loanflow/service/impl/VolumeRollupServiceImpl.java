@@ -0,0 +1,419 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.entity.LoanVolumeRollup;
+import com.loanflow.loanflow.event.LoanChangedEvent;
+import com.loanflow.loanflow.repository.LoanVolumeRollupRepository;
+import com.loanflow.loanflow.service.VolumeRollupService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementation of VolumeRollupService.
+ *
+ * Write path:
+ *  - Listens to LoanChangedEvents and applies them once their transaction commits
+ *  - Adds +1 / -1 deltas (count and amount) to striped in-memory accumulators
+ *    (LongAdder / DoubleAdder), keyed by bucket and dimension value
+ *    · SUBMITTED: +1 for the loan's status, decision, purpose and employment type
+ *    · DECIDED:   moves the loan from its previous status to the new one
+ *    · RESCORED:  moves the loan from its previous decision to the new one
+ *  - Buckets are based on the loan's createdAt (hour and day)
+ *
+ * Flush path (every rollup.flushIntervalMs):
+ *  - Drains each accumulator with sumThenReset (no concurrent add is lost)
+ *  - Writes all non-zero deltas as one JDBC batch of additive upserts
+ *  - Re-adds the deltas if the write fails, so they are retried next time
+ *
+ * Reconciliation (at startup, then every rollup.reconcileIntervalMs):
+ *  - Replaces every bucket from the day of the oldest loan in loan_application
+ *    on with a GROUP BY recount of the loans, in one REPEATABLE READ
+ *    transaction; older buckets belong to archived partitions and are kept
+ *  - Picks up loans the deltas never saw (written before the rollup existed,
+ *    by the reactive API or by manual SQL), so deciding one of them cannot
+ *    leave its buckets negative for good
+ *  - The same read/write fence as LiveCountServiceImpl keeps it exact for
+ *    this node: under the write side the snapshot is fixed and the pending
+ *    deltas of the recounted buckets are dropped, as the snapshot already
+ *    holds every write they came from. Later writes stay pending, and flush
+ *    waits for the recount to commit before adding them on top
+ *
+ * Limits:
+ *  - Deltas other nodes have not flushed yet when the snapshot is taken are
+ *    added on top of the recount; the overcount is at most one flush
+ *    interval of their writes and is corrected by the next recount
+ *  - A flush by another node that touches a recounted row first makes the
+ *    recount fail with a serialization error; its dropped deltas are put
+ *    back and it is retried at the next interval
+ *
+ * Accumulators of old buckets are pruned once idle; the rollup table is
+ * the source of truth for reads. An accumulator is only pruned when no add
+ * is in progress on it, and it is retired first: an add that finds it
+ * retired retries on a fresh one, so no delta is lost to pruning.
+ */
+@Slf4j
+@Service
+public class VolumeRollupServiceImpl implements VolumeRollupService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO loan_volume_rollup "
+                    + "(granularity, bucket_start, dimension, dimension_value, application_count, amount_sum) "
+                    + "VALUES (?, ?, ?, ?, ?, ?) "
+                    + "ON CONFLICT (granularity, bucket_start, dimension, dimension_value) DO UPDATE SET "
+                    + "application_count = loan_volume_rollup.application_count + EXCLUDED.application_count, "
+                    + "amount_sum = loan_volume_rollup.amount_sum + EXCLUDED.amount_sum";
+
+    /**
+     * Recount of every bucket from the given day on (same query as V13).
+     */
+    private static final String RECOUNT_SQL =
+            "INSERT INTO loan_volume_rollup "
+                    + "(granularity, bucket_start, dimension, dimension_value, application_count, amount_sum) "
+                    + "SELECT g.granularity, date_trunc(g.unit, l.created_at), d.dimension, "
+                    + "COALESCE(NULLIF(btrim(d.value), ''), 'UNKNOWN'), count(*), sum(COALESCE(l.amount, 0)) "
+                    + "FROM loan_application l "
+                    + "CROSS JOIN (VALUES ('HOUR', 'hour'), ('DAY', 'day')) AS g (granularity, unit) "
+                    + "CROSS JOIN LATERAL (VALUES ('status', l.status), "
+                    + "('eligibilityDecision', l.eligibility_decision), ('purpose', l.purpose), "
+                    + "('employmentType', l.employment_type)) AS d (dimension, value) "
+                    + "WHERE l.created_at >= ? "
+                    + "GROUP BY 1, 2, 3, 4";
+
+    /**
+     * Idle accumulators are removed after this many milliseconds.
+     */
+    private static final long IDLE_PRUNE_MS = 10 * 60 * 1000;
+
+    private final LoanVolumeRollupRepository rollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * New REPEATABLE READ transaction, so the recount reads the snapshot
+     * fixed under the fence.
+     */
+    private final TransactionTemplate snapshotTransaction;
+
+    /**
+     * Read side: a write between its commit and its deltas being added.
+     * Write side: a recount fixing its snapshot and dropping pending deltas.
+     */
+    private final ReentrantReadWriteLock fence = new ReentrantReadWriteLock();
+
+    /**
+     * Pending deltas keyed by rollup key.
+     */
+    private final Map<LoanVolumeRollup.Key, Delta> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Striped counters for one rollup key.
+     */
+    private static final class Delta {
+        private static final int RETIRED = Integer.MIN_VALUE;
+
+        final LongAdder count = new LongAdder();
+        final DoubleAdder amount = new DoubleAdder();
+        volatile long lastTouchedMs = System.currentTimeMillis();
+
+        /**
+         * Adds in progress, or RETIRED once removed from the map.
+         */
+        private final AtomicInteger writers = new AtomicInteger();
+
+        /**
+         * Registers an add; false if this accumulator has been retired.
+         */
+        boolean enter() {
+            for (int w = writers.get(); w != RETIRED; w = writers.get()) {
+                if (writers.compareAndSet(w, w + 1)) return true;
+            }
+            return false;
+        }
+
+        void exit() {
+            writers.decrementAndGet();
+        }
+
+        /**
+         * Retires the accumulator if no add is in progress. Every add that
+         * entered before has also exited, so a drain after this sees them all.
+         */
+        boolean retire() {
+            return writers.compareAndSet(0, RETIRED);
+        }
+    }
+
+    public VolumeRollupServiceImpl(LoanVolumeRollupRepository rollupRepository, JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @Override
+    public List<VolumeBucket> volume(String granularity, String dimension,
+                                     LocalDateTime from, LocalDateTime to) {
+        String g = granularity.trim().toUpperCase();
+        if (!g.equals("HOUR") && !g.equals("DAY")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "granularity must be HOUR or DAY");
+        }
+        if (!DIMENSIONS.contains(dimension)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "dimension must be one of " + DIMENSIONS);
+        }
+
+        return rollupRepository.findRange(g, dimension, from, to).stream()
+                .map(r -> new VolumeBucket(
+                        r.getId().getBucketStart(),
+                        r.getId().getDimensionValue(),
+                        r.getApplicationCount(),
+                        r.getAmountSum()))
+                .toList();
+    }
+
+    /**
+     * Converts loan writes into rollup deltas, added once their transaction commits.
+     */
+    @EventListener
+    public void onLoanChanged(LoanChangedEvent event) {
+        if (event.createdAt() == null) return;
+        record(() -> apply(event));
+    }
+
+    private void apply(LoanChangedEvent event) {
+
+        double amount = event.amount() == null ? 0 : event.amount();
+
+        switch (event.type()) {
+            case SUBMITTED -> {
+                add(event.createdAt(), "status", name(event.status()), 1, amount);
+                add(event.createdAt(), "eligibilityDecision", event.eligibilityDecision(), 1, amount);
+                add(event.createdAt(), "purpose", event.purpose(), 1, amount);
+                add(event.createdAt(), "employmentType", event.employmentType(), 1, amount);
+            }
+            case DECIDED -> {
+                if (event.previousStatus() == event.status()) return;
+                add(event.createdAt(), "status", name(event.previousStatus()), -1, -amount);
+                add(event.createdAt(), "status", name(event.status()), 1, amount);
+            }
+            case RESCORED -> {
+                if (String.valueOf(event.previousDecision()).equals(String.valueOf(event.eligibilityDecision()))) return;
+                add(event.createdAt(), "eligibilityDecision", event.previousDecision(), -1, -amount);
+                add(event.createdAt(), "eligibilityDecision", event.eligibilityDecision(), 1, amount);
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${rollup.flushIntervalMs:5000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        List<LoanVolumeRollup.Key> keys = new ArrayList<>();
+        List<double[]> drained = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        for (Map.Entry<LoanVolumeRollup.Key, Delta> e : pending.entrySet()) {
+            Delta d = e.getValue();
+            long count = d.count.sumThenReset();
+            double amount = d.amount.sumThenReset();
+
+            if (count == 0 && amount == 0) {
+                // Prune idle accumulators so old buckets do not accumulate in memory
+                if (now - d.lastTouchedMs > IDLE_PRUNE_MS && d.retire()) {
+                    pending.remove(e.getKey(), d);
+                    // Adds that completed between the drain above and retire() are still here
+                    count = d.count.sumThenReset();
+                    amount = d.amount.sumThenReset();
+                }
+                if (count == 0 && amount == 0) continue;
+            }
+
+            LoanVolumeRollup.Key k = e.getKey();
+            batch.add(new Object[]{
+                    k.getGranularity(), Timestamp.valueOf(k.getBucketStart()),
+                    k.getDimension(), k.getDimensionValue(), count, amount
+            });
+            keys.add(k);
+            drained.add(new double[]{count, amount});
+        }
+
+        if (batch.isEmpty()) return;
+
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        } catch (RuntimeException ex) {
+            // Put the deltas back so the next flush retries them
+            for (int i = 0; i < keys.size(); i++) {
+                addTo(keys.get(i), (long) drained.get(i)[0], drained.get(i)[1]);
+            }
+            log.warn("Volume rollup flush failed; {} deltas will be retried", keys.size(), ex);
+        }
+    }
+
+    /**
+     * Rebuilds the recounted buckets once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        scheduledReconcile();
+    }
+
+    @Scheduled(initialDelayString = "${rollup.reconcileIntervalMs:3600000}",
+            fixedDelayString = "${rollup.reconcileIntervalMs:3600000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            log.warn("Volume rollup reconciliation failed; buckets may drift until the next run", ex);
+        }
+    }
+
+    /**
+     * Synchronized with flush, so no delta of a write made after the
+     * snapshot reaches the table before the recount replaces it. Must not
+     * be called from a write's commit callbacks (see LiveCountServiceImpl).
+     */
+    @Override
+    public synchronized void reconcile() {
+        Map<LoanVolumeRollup.Key, double[]> dropped = new HashMap<>();
+        try {
+            snapshotTransaction.executeWithoutResult(status -> recount(dropped));
+        } catch (RuntimeException ex) {
+            // The recount did not commit: the dropped deltas are not in the table yet
+            dropped.forEach((k, d) -> addTo(k, (long) d[0], d[1]));
+            throw ex;
+        }
+    }
+
+    /**
+     * Replaces the buckets from the oldest loan's day on, in the current
+     * snapshot transaction.
+     *
+     * @param dropped receives the pending deltas dropped under the fence
+     */
+    private void recount(Map<LoanVolumeRollup.Key, double[]> dropped) {
+        Timestamp from;
+
+        fence.writeLock().lock();
+        try {
+            // The first statement fixes the snapshot: no write is between its commit and
+            // its deltas now, so every pending delta from this day on is already in it
+            from = jdbcTemplate.queryForObject(
+                    "SELECT date_trunc('day', min(created_at)) FROM loan_application", Timestamp.class);
+            if (from == null) return;
+
+            LocalDateTime start = from.toLocalDateTime();
+            for (Map.Entry<LoanVolumeRollup.Key, Delta> e : pending.entrySet()) {
+                if (e.getKey().getBucketStart().isBefore(start)) continue;
+                long count = e.getValue().count.sumThenReset();
+                double amount = e.getValue().amount.sumThenReset();
+                if (count != 0 || amount != 0) dropped.put(e.getKey(), new double[]{count, amount});
+            }
+        } finally {
+            fence.writeLock().unlock();
+        }
+
+        int deleted = jdbcTemplate.update("DELETE FROM loan_volume_rollup WHERE bucket_start >= ?", from);
+        int inserted = jdbcTemplate.update(RECOUNT_SQL, from);
+        log.debug("Recounted volume rollup from {}: {} rows replaced by {}", from, deleted, inserted);
+    }
+
+    /**
+     * Adds a write's deltas once the current transaction commits, holding
+     * the read side of the fence from just before the commit until they are
+     * added. Without a transaction the write has already committed, so the
+     * deltas are added at once.
+     */
+    private void record(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean held;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                fence.readLock().lock();
+                held = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (held) {
+                    held = false;
+                    fence.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Flushes pending deltas before the application stops.
+     */
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Adds a delta to the hourly and daily bucket of the given dimension value.
+     */
+    private void add(LocalDateTime createdAt, String dimension, String value, long count, double amount) {
+        String v = (value == null || value.isBlank()) ? "UNKNOWN" : value;
+
+        addTo(new LoanVolumeRollup.Key("HOUR", createdAt.truncatedTo(ChronoUnit.HOURS), dimension, v), count, amount);
+        addTo(new LoanVolumeRollup.Key("DAY", createdAt.truncatedTo(ChronoUnit.DAYS), dimension, v), count, amount);
+    }
+
+    private void addTo(LoanVolumeRollup.Key key, long count, double amount) {
+        for (;;) {
+            Delta d = pending.computeIfAbsent(key, k -> new Delta());
+            if (d.enter()) {
+                try {
+                    d.count.add(count);
+                    d.amount.add(amount);
+                    d.lastTouchedMs = System.currentTimeMillis();
+                } finally {
+                    d.exit();
+                }
+                return;
+            }
+            // Pruned by a concurrent flush: drop the stale entry if still mapped and retry
+            pending.remove(key, d);
+        }
+    }
+
+    private String name(Enum<?> e) {
+        return e == null ? null : e.name();
+    }
+}
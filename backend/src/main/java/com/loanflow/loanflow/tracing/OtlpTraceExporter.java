@@ -0,0 +1,190 @@
+package com.loanflow.loanflow.tracing;
+
+import com.loanflow.loanflow.tracing.TraceRecord.SpanRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ships finished traces to an OpenTelemetry collector using OTLP/HTTP with
+ * the JSON encoding (POST {tracing.otlp.endpoint}, usually
+ * http://localhost:4318/v1/traces).
+ *
+ * Behaviour:
+ *  - Disabled while tracing.otlp.endpoint is blank; traces then live only
+ *    in the Tracer ring buffer
+ *  - Request threads only enqueue; a scheduled flush batches the queue into
+ *    one ExportTraceServiceRequest per tracing.otlp.maxBatch traces
+ *  - The queue is bounded (tracing.otlp.maxQueued); when the collector is
+ *    down or slow, new traces are dropped rather than buffered without limit
+ *  - Sends are asynchronous and failures are only logged: tracing must never
+ *    affect request handling
+ */
+@Slf4j
+@Component
+public class OtlpTraceExporter {
+
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int SPAN_KIND_SERVER = 2;
+    private static final int STATUS_CODE_ERROR = 2;
+
+    private final String endpoint;
+    private final String serviceName;
+    private final int maxQueued;
+    private final int maxBatch;
+    private final Duration timeout;
+    private final JsonMapper jsonMapper;
+    private final HttpClient httpClient;
+
+    private final Queue<TraceRecord> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public OtlpTraceExporter(
+            @Value("${tracing.otlp.endpoint:}") String endpoint,
+            @Value("${tracing.otlp.serviceName:loanflow}") String serviceName,
+            @Value("${tracing.otlp.maxQueued:10000}") int maxQueued,
+            @Value("${tracing.otlp.maxBatch:512}") int maxBatch,
+            @Value("${tracing.otlp.timeoutMs:2000}") long timeoutMs,
+            JsonMapper jsonMapper
+    ) {
+        this.endpoint = endpoint.trim();
+        this.serviceName = serviceName;
+        this.maxQueued = maxQueued;
+        this.maxBatch = maxBatch;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.jsonMapper = jsonMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * Queues a finished trace for the next flush (no-op when export is disabled).
+     */
+    void enqueue(TraceRecord trace) {
+        if (endpoint.isEmpty()) {
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        queue.add(trace);
+    }
+
+    /**
+     * Sends everything queued so far, in batches of tracing.otlp.maxBatch traces.
+     */
+    @Scheduled(fixedDelayString = "${tracing.otlp.flushIntervalMs:5000}")
+    public void flush() {
+        if (endpoint.isEmpty()) {
+            return;
+        }
+
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            log.warn("OTLP export queue full; dropped {} traces", lost);
+        }
+
+        List<TraceRecord> batch = new ArrayList<>();
+        do {
+            batch.clear();
+            TraceRecord trace;
+            while (batch.size() < maxBatch && (trace = queue.poll()) != null) {
+                batch.add(trace);
+            }
+            queued.addAndGet(-batch.size());
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        } while (batch.size() == maxBatch);
+    }
+
+    private void send(List<TraceRecord> batch) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(endpoint))
+                .header("Content-Type", "application/json")
+                .timeout(timeout)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(toOtlp(batch))))
+                .build();
+
+        int traces = batch.size();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, ex) -> {
+                    if (ex != null) {
+                        log.warn("OTLP export of {} traces failed: {}", traces, ex.toString());
+                    } else if (response.statusCode() >= 300) {
+                        log.warn("OTLP collector rejected {} traces: HTTP {}", traces, response.statusCode());
+                    }
+                });
+    }
+
+    /**
+     * Builds an ExportTraceServiceRequest in the OTLP JSON mapping
+     * (hex ids, 64-bit integers as strings).
+     */
+    private Map<String, Object> toOtlp(List<TraceRecord> batch) {
+        List<Map<String, Object>> spans = new ArrayList<>();
+        for (TraceRecord trace : batch) {
+            long startEpochNanos = epochNanos(trace.startedAt());
+            for (SpanRecord span : trace.spans()) {
+                long start = startEpochNanos + span.startOffsetMicros() * 1000;
+                boolean root = span.parentSpanId() == null;
+
+                List<Map<String, Object>> attributes = new ArrayList<>();
+                attributes.add(attribute("db.statement.count", Map.of("intValue", Integer.toString(span.statements()))));
+                if (root) {
+                    attributes.add(attribute("http.response.status_code",
+                            Map.of("intValue", Integer.toString(trace.httpStatus()))));
+                }
+
+                Map<String, Object> otlpSpan = new LinkedHashMap<>();
+                otlpSpan.put("traceId", trace.traceId());
+                otlpSpan.put("spanId", span.spanId());
+                if (!root) {
+                    otlpSpan.put("parentSpanId", span.parentSpanId());
+                }
+                otlpSpan.put("name", span.name());
+                otlpSpan.put("kind", root ? SPAN_KIND_SERVER : SPAN_KIND_INTERNAL);
+                otlpSpan.put("startTimeUnixNano", Long.toString(start));
+                otlpSpan.put("endTimeUnixNano", Long.toString(start + span.durationMicros() * 1000));
+                otlpSpan.put("attributes", attributes);
+                if (span.error() != null) {
+                    otlpSpan.put("status", Map.of("code", STATUS_CODE_ERROR, "message", span.error()));
+                }
+                spans.add(otlpSpan);
+            }
+        }
+
+        Map<String, Object> resource = Map.of("attributes",
+                List.of(attribute("service.name", Map.of("stringValue", serviceName))));
+        Map<String, Object> scopeSpans = Map.of("scope", Map.of("name", "com.loanflow.loanflow.tracing"), "spans", spans);
+        return Map.of("resourceSpans", List.of(Map.of("resource", resource, "scopeSpans", List.of(scopeSpans))));
+    }
+
+    private static Map<String, Object> attribute(String key, Map<String, Object> value) {
+        return Map.of("key", key, "value", value);
+    }
+
+    private static long epochNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+}
@@ -0,0 +1,61 @@
+package com.loanflow.loanflow.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One timed unit of work inside a sampled request.
+ *
+ * Spans are created and ended by Tracer on the request thread only, so
+ * their fields are plain (unsynchronized). Once the root span ends, the
+ * trace is converted to an immutable TraceRecord and the spans are dropped.
+ */
+public final class Span {
+
+    /**
+     * State shared by every span of one trace.
+     */
+    static final class Trace {
+        final String traceId;
+        final Instant startedAt;
+        final List<Span> spans = new ArrayList<>();
+
+        Trace(String traceId, Instant startedAt) {
+            this.traceId = traceId;
+            this.startedAt = startedAt;
+        }
+    }
+
+    final Trace trace;
+    final Span parent;
+    final String spanId;
+    final String name;
+    final long startNanos;
+    long durationNanos;
+    int statements;
+    String error;
+
+    Span(Trace trace, Span parent, String spanId, String name) {
+        this.trace = trace;
+        this.parent = parent;
+        this.spanId = spanId;
+        this.name = name;
+        this.startNanos = System.nanoTime();
+        trace.spans.add(this);
+    }
+
+    /**
+     * Counts one SQL statement executed while this span was current.
+     */
+    public void recordStatement() {
+        statements++;
+    }
+
+    /**
+     * Marks the span as failed (the exception type is kept, not the message).
+     */
+    public void recordError(Throwable ex) {
+        error = ex.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,50 @@
+package com.loanflow.loanflow.tracing;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a finished trace, as kept in the ring buffer and
+ * returned by GET /api/admin/traces.
+ *
+ * Spans are listed in start order; the first one is the root (the HTTP
+ * request as seen by JwtAuthFilter). Times are in microseconds.
+ *
+ * @param traceId         32 hex chars (OTLP trace id)
+ * @param name            root span name, e.g. "POST /api/loans"
+ * @param httpStatus      response status when the filter chain returned
+ * @param startedAt       wall-clock start of the request
+ * @param durationMicros  duration of the root span
+ * @param statements      SQL statements over all spans
+ * @param spans           every span of the trace
+ */
+public record TraceRecord(
+        String traceId,
+        String name,
+        int httpStatus,
+        Instant startedAt,
+        long durationMicros,
+        int statements,
+        List<SpanRecord> spans
+) {
+
+    /**
+     * @param spanId            16 hex chars (OTLP span id)
+     * @param parentSpanId      null for the root span
+     * @param name              "Class.method" for proxied beans
+     * @param startOffsetMicros start relative to the root span
+     * @param durationMicros    wall time spent in the span, children included
+     * @param statements        SQL statements issued while this span was current
+     *                          (children not included)
+     * @param error             exception type if the span failed, else null
+     */
+    public record SpanRecord(
+            String spanId,
+            String parentSpanId,
+            String name,
+            long startOffsetMicros,
+            long durationMicros,
+            int statements,
+            String error
+    ) {}
+}
@@ -0,0 +1,215 @@
+package com.loanflow.loanflow.tracing;
+
+import com.loanflow.loanflow.tracing.TraceRecord.SpanRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lightweight, head-sampled request tracer.
+ *
+ * How it works:
+ *  - JwtAuthFilter calls startTrace() for every request; a fraction
+ *    (tracing.sampleRate) of them get a root span bound to the request thread.
+ *  - Proxied beans (see TracingBeanPostProcessor) open a child span per
+ *    method call, but only when the thread already carries a span.
+ *  - SQL statements are counted against the current span
+ *    (TracingStatementInspector for Hibernate, JdbcTemplate calls directly).
+ *  - When the root span ends, the trace is frozen into a TraceRecord, kept
+ *    in a fixed-size ring buffer and handed to the OTLP exporter.
+ *
+ * Cost when a request is not sampled: one random draw in the filter and one
+ * ThreadLocal read per proxied call; nothing is allocated. With
+ * tracing.sampleRate=0 (the default) even the random draw is skipped.
+ *
+ * Work handed to other threads (credit bureau lookups, SSE fan-out,
+ * @Async listeners) is not part of the trace.
+ */
+@Component
+public class Tracer {
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final double sampleRate;
+    private final int maxSpansPerTrace;
+    private final OtlpTraceExporter exporter;
+
+    /**
+     * Ring buffer of finished traces; next is the total number ever written.
+     */
+    private final AtomicReferenceArray<TraceRecord> ring;
+    private final AtomicLong next = new AtomicLong();
+
+    public Tracer(
+            @Value("${tracing.sampleRate:0}") double sampleRate,
+            @Value("${tracing.bufferSize:512}") int bufferSize,
+            @Value("${tracing.maxSpansPerTrace:256}") int maxSpansPerTrace,
+            OtlpTraceExporter exporter
+    ) {
+        this.sampleRate = Math.max(0, Math.min(1, sampleRate));
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        this.exporter = exporter;
+        this.ring = new AtomicReferenceArray<>(Math.max(1, bufferSize));
+    }
+
+    /**
+     * Starts a trace on the current thread if this request is sampled.
+     *
+     * @param method HTTP method
+     * @param path   request path; with the method it names the root span
+     *               (joined only once sampled, to keep unsampled requests allocation-free)
+     * @return the root span, or null if the request is not sampled
+     */
+    public Span startTrace(String method, String path) {
+        if (sampleRate <= 0 || CURRENT.get() != null) {
+            return null;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (sampleRate < 1 && random.nextDouble() >= sampleRate) {
+            return null;
+        }
+
+        String traceId = HEX.toHexDigits(random.nextLong()) + HEX.toHexDigits(random.nextLong());
+        Span root = new Span(new Span.Trace(traceId, Instant.now()), null, newSpanId(random), method + " " + path);
+        CURRENT.set(root);
+        return root;
+    }
+
+    /**
+     * Opens a child of the current span.
+     *
+     * @param name span name
+     * @return the new span, or null when the thread is not traced (or the
+     *         trace already holds tracing.maxSpansPerTrace spans)
+     */
+    public Span startSpan(String name) {
+        Span parent = CURRENT.get();
+        if (parent == null || parent.trace.spans.size() >= maxSpansPerTrace) {
+            return null;
+        }
+        Span span = new Span(parent.trace, parent, newSpanId(ThreadLocalRandom.current()), name);
+        CURRENT.set(span);
+        return span;
+    }
+
+    /**
+     * Ends a span opened by startSpan(); null is ignored.
+     */
+    public void endSpan(Span span) {
+        if (span == null) {
+            return;
+        }
+        span.durationNanos = System.nanoTime() - span.startNanos;
+        CURRENT.set(span.parent);
+    }
+
+    /**
+     * Ends the root span, detaches the trace from the thread and publishes it.
+     *
+     * @param root       span returned by startTrace(); null is ignored
+     * @param httpStatus response status to record
+     */
+    public void endTrace(Span root, int httpStatus) {
+        if (root == null) {
+            return;
+        }
+        root.durationNanos = System.nanoTime() - root.startNanos;
+        // remove() rather than set(parent): a span left open by mistake must not leak into the next request
+        CURRENT.remove();
+
+        TraceRecord record = toRecord(root, httpStatus);
+        ring.set((int) (next.getAndIncrement() % ring.length()), record);
+        exporter.enqueue(record);
+    }
+
+    /**
+     * @return true if the current thread carries a sampled trace
+     */
+    static boolean isTracing() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Counts one SQL statement against the current span, if any.
+     * Static so Hibernate-instantiated hooks can reach it.
+     */
+    static void recordStatement() {
+        Span span = CURRENT.get();
+        if (span != null) {
+            span.recordStatement();
+        }
+    }
+
+    /**
+     * Newest traces first.
+     *
+     * @param limit         maximum number of traces
+     * @param minDurationMs only traces at least this slow
+     * @return matching traces from the ring buffer
+     */
+    public List<TraceRecord> recent(int limit, long minDurationMs) {
+        long minMicros = minDurationMs * 1000;
+        long end = next.get();
+        long start = Math.max(0, end - ring.length());
+
+        List<TraceRecord> result = new ArrayList<>(Math.min(limit, ring.length()));
+        for (long i = end - 1; i >= start && result.size() < limit; i--) {
+            TraceRecord record = ring.get((int) (i % ring.length()));
+            if (record != null && record.durationMicros() >= minMicros) {
+                result.add(record);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the trace with this id if it is still in the ring buffer, else null
+     */
+    public TraceRecord find(String traceId) {
+        for (int i = 0; i < ring.length(); i++) {
+            TraceRecord record = ring.get(i);
+            if (record != null && record.traceId().equals(traceId)) {
+                return record;
+            }
+        }
+        return null;
+    }
+
+    private static TraceRecord toRecord(Span root, int httpStatus) {
+        List<Span> spans = root.trace.spans;
+        List<SpanRecord> records = new ArrayList<>(spans.size());
+        int statements = 0;
+
+        for (Span span : spans) {
+            statements += span.statements;
+            records.add(new SpanRecord(
+                    span.spanId,
+                    span.parent == null ? null : span.parent.spanId,
+                    span.name,
+                    (span.startNanos - root.startNanos) / 1000,
+                    span.durationNanos / 1000,
+                    span.statements,
+                    span.error
+            ));
+        }
+
+        return new TraceRecord(root.trace.traceId, root.name, httpStatus, root.trace.startedAt,
+                root.durationNanos / 1000, statements, List.copyOf(records));
+    }
+
+    private static String newSpanId(ThreadLocalRandom random) {
+        long id;
+        do {
+            id = random.nextLong();
+        } while (id == 0); // all-zero ids are invalid in OTLP
+        return HEX.toHexDigits(id);
+    }
+}
@@ -0,0 +1,151 @@
+package com.loanflow.loanflow.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Wraps the beans on the request path with a span-per-method-call interceptor.
+ *
+ * Traced beans:
+ *  - Beans named in tracing.beans (by default LoanController, LoanServiceImpl
+ *    and EligibilityServiceImpl)
+ *  - Every Spring Data repository declared in com.loanflow
+ *  - JdbcTemplate: one span per query/update call, counted as one SQL statement
+ *    (these statements bypass Hibernate and its StatementInspector)
+ *
+ * Beans that are already AOP proxies (repositories, @Transactional services)
+ * get the interceptor added in front of their existing advice, so the span
+ * also covers the transaction commit. Other beans are wrapped in a
+ * class-based proxy, so injection by concrete type keeps working.
+ *
+ * The interceptor costs one ThreadLocal read when the request is not sampled.
+ */
+@Component
+public class TracingBeanPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<Tracer> tracerProvider;
+    private final Set<String> tracedBeans;
+
+    public TracingBeanPostProcessor(
+            ObjectProvider<Tracer> tracerProvider,
+            @Value("${tracing.beans:loanController,loanServiceImpl,eligibilityServiceImpl}") String[] tracedBeans
+    ) {
+        this.tracerProvider = tracerProvider;
+        this.tracedBeans = Set.copyOf(Arrays.asList(tracedBeans));
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        String label = label(bean, beanName);
+        if (label == null) {
+            return bean;
+        }
+
+        SpanInterceptor interceptor = new SpanInterceptor(tracerProvider, label, bean instanceof JdbcTemplate);
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+
+        ProxyFactory factory = new ProxyFactory(bean);
+        factory.setProxyTargetClass(!AopUtils.isJdkDynamicProxy(bean));
+        factory.addAdvice(interceptor);
+        return factory.getProxy(ClassUtils.getDefaultClassLoader());
+    }
+
+    /**
+     * @return span name prefix for the bean, or null if it is not traced
+     */
+    private String label(Object bean, String beanName) {
+        if (bean instanceof JdbcTemplate) {
+            return "JdbcTemplate";
+        }
+        if (bean instanceof Repository<?, ?>) {
+            for (Class<?> type : ClassUtils.getAllInterfaces(bean)) {
+                if (Repository.class.isAssignableFrom(type) && type.getName().startsWith("com.loanflow.")) {
+                    return type.getSimpleName();
+                }
+            }
+            return null;
+        }
+        if (tracedBeans.contains(beanName)) {
+            return AopUtils.getTargetClass(bean).getSimpleName();
+        }
+        return null;
+    }
+
+    /**
+     * Opens a span named "Label.method" around each call on a traced thread.
+     */
+    private static final class SpanInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<Tracer> tracerProvider;
+        private final String label;
+        private final boolean jdbc;
+        private volatile Tracer tracer;
+
+        SpanInterceptor(ObjectProvider<Tracer> tracerProvider, String label, boolean jdbc) {
+            this.tracerProvider = tracerProvider;
+            this.label = label;
+            this.jdbc = jdbc;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            // Untraced thread: no allocation, no lookup
+            if (!Tracer.isTracing()) {
+                return invocation.proceed();
+            }
+            String method = invocation.getMethod().getName();
+            if (ReflectionUtils.isObjectMethod(invocation.getMethod()) || (jdbc && !isStatement(method))) {
+                return invocation.proceed();
+            }
+
+            Tracer t = tracer();
+            Span span = t.startSpan(label + "." + method);
+            if (span == null) {
+                return invocation.proceed();
+            }
+            if (jdbc) {
+                span.recordStatement();
+            }
+
+            try {
+                return invocation.proceed();
+            } catch (Throwable ex) {
+                span.recordError(ex);
+                throw ex;
+            } finally {
+                t.endSpan(span);
+            }
+        }
+
+        private Tracer tracer() {
+            Tracer t = tracer;
+            if (t == null) {
+                t = tracerProvider.getObject();
+                tracer = t;
+            }
+            return t;
+        }
+
+        private static boolean isStatement(String method) {
+            return method.startsWith("query") || method.startsWith("update") || method.startsWith("batchUpdate")
+                    || method.startsWith("execute") || method.startsWith("call");
+        }
+    }
+}
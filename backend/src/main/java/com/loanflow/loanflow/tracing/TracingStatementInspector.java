@@ -0,0 +1,22 @@
+package com.loanflow.loanflow.tracing;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts SQL statements prepared by Hibernate against the current span.
+ *
+ * Registered through
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector, so
+ * Hibernate instantiates it (not Spring) and it reaches the tracer through
+ * a static hook. The SQL text is returned unchanged.
+ *
+ * A JDBC batch is prepared once, so it counts as one statement.
+ */
+public class TracingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        Tracer.recordStatement();
+        return sql;
+    }
+}
@@ -0,0 +1,140 @@
+package com.loanflow.loanflow.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process credit bureau stub used for local development and offline
+ * load testing of CreditBureauServiceImpl.
+ *
+ * ⚠️ Only started when bureau.stub.enabled=true. Never enable in production.
+ *
+ * Serves GET /scores/{applicantKey} with a deterministic score (550–849)
+ * derived from the key, after a simulated latency drawn from a configurable
+ * distribution:
+ *  - FIXED:     always latencyMs
+ *  - UNIFORM:   uniform in [0, 2 * latencyMs]
+ *  - LOGNORMAL: median latencyMs, spread controlled by sigma
+ * On top of that, slowFraction of requests take slowLatencyMs (tail latency)
+ * and errorRate of requests fail with HTTP 503.
+ *
+ * Responses are delayed on a scheduler rather than by sleeping, so thousands
+ * of slow requests can be outstanding without thousands of threads.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "bureau.stub.enabled", havingValue = "true")
+public class CreditBureauStubServer {
+
+    private final int port;
+    private final String distribution;
+    private final long latencyMs;
+    private final double sigma;
+    private final double slowFraction;
+    private final long slowLatencyMs;
+    private final double errorRate;
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    private HttpServer server;
+
+    public CreditBureauStubServer(
+            @Value("${bureau.stub.port:18089}") int port,
+            @Value("${bureau.stub.distribution:LOGNORMAL}") String distribution,
+            @Value("${bureau.stub.latencyMs:40}") long latencyMs,
+            @Value("${bureau.stub.sigma:0.5}") double sigma,
+            @Value("${bureau.stub.slowFraction:0.02}") double slowFraction,
+            @Value("${bureau.stub.slowLatencyMs:1500}") long slowLatencyMs,
+            @Value("${bureau.stub.errorRate:0.0}") double errorRate
+    ) {
+        this.port = port;
+        this.distribution = distribution.trim().toUpperCase();
+        this.latencyMs = latencyMs;
+        this.sigma = sigma;
+        this.slowFraction = slowFraction;
+        this.slowLatencyMs = slowLatencyMs;
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Binds the stub to localhost and starts serving.
+     */
+    @PostConstruct
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.createContext("/scores/", this::handle);
+        server.setExecutor(scheduler);
+        server.start();
+        log.warn("Credit bureau stub listening on 127.0.0.1:{} ({} latency, median {} ms)",
+                port, distribution, latencyMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (server != null) server.stop(0);
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Schedules the response after the simulated latency.
+     */
+    private void handle(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getRawPath();
+        String key = URLDecoder.decode(path.substring("/scores/".length()), StandardCharsets.UTF_8);
+
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        boolean fail = rnd.nextDouble() < errorRate;
+        long delay = rnd.nextDouble() < slowFraction ? slowLatencyMs : sampleLatency(rnd);
+
+        scheduler.schedule(() -> respond(exchange, fail ? 503 : 200,
+                fail ? "unavailable" : String.valueOf(scoreFor(key))), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Draws a latency from the configured distribution.
+     */
+    private long sampleLatency(ThreadLocalRandom rnd) {
+        return switch (distribution) {
+            case "FIXED" -> latencyMs;
+            case "UNIFORM" -> (long) (rnd.nextDouble() * 2 * latencyMs);
+            default -> (long) (latencyMs * Math.exp(sigma * rnd.nextGaussian()));
+        };
+    }
+
+    /**
+     * Deterministic score so repeated pulls for the same applicant agree.
+     */
+    private int scoreFor(String key) {
+        return 550 + Math.floorMod(key.hashCode(), 300);
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (IOException ex) {
+            // Client went away (e.g. cancelled hedge); nothing to do
+        } finally {
+            exchange.close();
+        }
+    }
+}
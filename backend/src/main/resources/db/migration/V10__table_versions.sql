@@ -0,0 +1,32 @@
+-- Database-side table versions (read by TableVersions for cache keys and ETags).
+--
+-- Every INSERT / UPDATE / DELETE / TRUNCATE statement on loan_application or
+-- users advances the table's version sequence, whichever process issued it
+-- (any backend node, the reactive API, migrations, manual SQL), so no writer
+-- can skip invalidation.
+--  * Sequences, not a counter row: nextval never blocks and is not rolled
+--    back, so concurrent writers do not serialize on the version
+--  * Statement-level, so a 500-row batch costs one nextval, not 500
+--  * On the partitioned parent, so every partition is covered
+-- Partition DDL (DETACH / ATTACH) fires no DML trigger; PartitionMaintenanceService
+-- bumps the version itself after detaching.
+
+CREATE SEQUENCE IF NOT EXISTS loan_application_version_seq;
+CREATE SEQUENCE IF NOT EXISTS users_version_seq;
+
+CREATE OR REPLACE FUNCTION bump_table_version() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    PERFORM nextval(TG_ARGV[0]::regclass);
+    RETURN NULL;
+END $$;
+
+DROP TRIGGER IF EXISTS loan_application_version ON loan_application;
+CREATE TRIGGER loan_application_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON loan_application
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version('loan_application_version_seq');
+
+DROP TRIGGER IF EXISTS users_version ON users;
+CREATE TRIGGER users_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON users
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version('users_version_seq');
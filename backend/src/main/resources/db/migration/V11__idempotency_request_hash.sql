@@ -0,0 +1,6 @@
+-- Idempotency keys are bound to the request they were first used with:
+-- SHA-256 (hex) of the parsed request body. Null for keys recorded before
+-- this column existed; those are not checked.
+
+ALTER TABLE idempotency_record
+    ADD COLUMN IF NOT EXISTS request_hash varchar(64);
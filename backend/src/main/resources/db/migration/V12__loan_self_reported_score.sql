@@ -0,0 +1,10 @@
+-- Keep the applicant's self-reported credit score next to the score used
+-- for scoring (credit_score, which holds the bureau score when one was
+-- found; see credit_score_source).
+--
+-- Not backfilled: for SELF_REPORTED loans the value is credit_score, and
+-- for BUREAU loans submitted before this column the self-reported score
+-- was overwritten and is gone.
+
+ALTER TABLE loan_application
+    ADD COLUMN IF NOT EXISTS self_reported_credit_score integer;
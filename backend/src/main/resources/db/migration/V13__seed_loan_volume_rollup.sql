@@ -0,0 +1,28 @@
+-- Rebuilds loan_volume_rollup from the loans it summarises.
+--
+-- The rollup was only ever fed by deltas from LoanChangedEvents, so loans
+-- written before it existed (or by the reactive API, or manual SQL) were
+-- missing, and deciding one of them pushed its buckets negative.
+--
+-- Buckets from the day of the oldest loan still in loan_application on are
+-- replaced; older ones belong to archived partitions and are kept as they are.
+-- VolumeRollupServiceImpl.reconcile() runs the same recount periodically.
+
+DELETE FROM loan_volume_rollup
+WHERE bucket_start >= (SELECT date_trunc('day', min(created_at)) FROM loan_application);
+
+INSERT INTO loan_volume_rollup
+    (granularity, bucket_start, dimension, dimension_value, application_count, amount_sum)
+SELECT g.granularity,
+       date_trunc(g.unit, l.created_at),
+       d.dimension,
+       COALESCE(NULLIF(btrim(d.value), ''), 'UNKNOWN'),
+       count(*),
+       sum(COALESCE(l.amount, 0))
+FROM loan_application l
+CROSS JOIN (VALUES ('HOUR', 'hour'), ('DAY', 'day')) AS g (granularity, unit)
+CROSS JOIN LATERAL (VALUES ('status', l.status),
+                           ('eligibilityDecision', l.eligibility_decision),
+                           ('purpose', l.purpose),
+                           ('employmentType', l.employment_type)) AS d (dimension, value)
+GROUP BY 1, 2, 3, 4;
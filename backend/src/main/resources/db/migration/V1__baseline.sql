@@ -0,0 +1,62 @@
+-- Baseline schema, equivalent to what Hibernate ddl-auto produced.
+-- Written idempotently so it also upgrades databases that were created
+-- by ddl-auto before migrations were introduced.
+
+CREATE TABLE IF NOT EXISTS users (
+    id       bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    password varchar(255),
+    role     varchar(255),
+    username varchar(255) NOT NULL UNIQUE,
+    active   boolean      NOT NULL DEFAULT true,
+    CONSTRAINT users_role_check CHECK (role IN ('ADMIN', 'ANALYST', 'CUSTOMER'))
+);
+
+CREATE TABLE IF NOT EXISTS loan_application (
+    id                   bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount               double precision,
+    created_at           timestamp(6),
+    interest_rate        double precision,
+    status               varchar(255),
+    tenure               integer,
+    user_id              bigint REFERENCES users (id),
+    credit_score         integer,
+    dti                  double precision,
+    eligibility_decision varchar(255),
+    employment_type      varchar(255),
+    full_name            varchar(255),
+    monthly_debt         double precision,
+    monthly_income       double precision,
+    purpose              varchar(255),
+    risk_score           integer,
+    CONSTRAINT loan_application_status_check CHECK (status IN ('SUBMITTED', 'APPROVED', 'REJECTED'))
+);
+
+ALTER TABLE loan_application ADD COLUMN IF NOT EXISTS credit_score_source varchar(255);
+ALTER TABLE loan_application ADD COLUMN IF NOT EXISTS rules_version integer;
+ALTER TABLE loan_application ADD COLUMN IF NOT EXISTS duplicate_suspected boolean;
+
+CREATE TABLE IF NOT EXISTS backfill_checkpoint (
+    job_name      varchar(255) PRIMARY KEY,
+    rules_version integer,
+    last_id       bigint,
+    scanned       bigint  NOT NULL,
+    updated       bigint  NOT NULL,
+    completed     boolean NOT NULL,
+    updated_at    timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS idempotency_record (
+    idempotency_key varchar(255) PRIMARY KEY,
+    loan_id         bigint,
+    created_at      timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS loan_volume_rollup (
+    granularity       varchar(255)     NOT NULL,
+    bucket_start      timestamp(6)     NOT NULL,
+    dimension         varchar(255)     NOT NULL,
+    dimension_value   varchar(255)     NOT NULL,
+    application_count bigint           NOT NULL,
+    amount_sum        double precision NOT NULL,
+    PRIMARY KEY (granularity, bucket_start, dimension, dimension_value)
+);
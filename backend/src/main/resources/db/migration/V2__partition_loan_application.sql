@@ -0,0 +1,75 @@
+-- Converts loan_application into a table range-partitioned by created_at month.
+--
+--  * The primary key must include the partition key, so it becomes (id, created_at);
+--    ids stay unique because they all come from a single sequence.
+--  * Monthly partitions are created from the oldest loan up to three months ahead;
+--    PartitionMaintenanceService keeps creating future months.
+--  * A DEFAULT partition catches rows outside the pre-created ranges.
+
+ALTER TABLE loan_application RENAME TO loan_application_legacy;
+ALTER TABLE loan_application_legacy RENAME CONSTRAINT loan_application_pkey TO loan_application_legacy_pkey;
+
+CREATE SEQUENCE loan_application_seq;
+SELECT setval('loan_application_seq', COALESCE((SELECT max(id) FROM loan_application_legacy), 0) + 1, false);
+
+CREATE TABLE loan_application (
+    id                   bigint       NOT NULL DEFAULT nextval('loan_application_seq'),
+    amount               double precision,
+    created_at           timestamp(6) NOT NULL DEFAULT now(),
+    interest_rate        double precision,
+    status               varchar(255),
+    tenure               integer,
+    user_id              bigint REFERENCES users (id),
+    credit_score         integer,
+    credit_score_source  varchar(255),
+    dti                  double precision,
+    eligibility_decision varchar(255),
+    employment_type      varchar(255),
+    full_name            varchar(255),
+    monthly_debt         double precision,
+    monthly_income       double precision,
+    purpose              varchar(255),
+    risk_score           integer,
+    rules_version        integer,
+    duplicate_suspected  boolean,
+    CONSTRAINT loan_application_status_check CHECK (status IN ('SUBMITTED', 'APPROVED', 'REJECTED')),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE loan_application_seq OWNED BY loan_application.id;
+
+CREATE TABLE loan_application_default PARTITION OF loan_application DEFAULT;
+
+DO $$
+DECLARE
+    m      date;
+    last_m date;
+BEGIN
+    SELECT date_trunc('month', COALESCE(min(created_at), now()))::date INTO m FROM loan_application_legacy;
+    last_m := (date_trunc('month', now()) + interval '3 months')::date;
+
+    WHILE m <= last_m LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF loan_application FOR VALUES FROM (%L) TO (%L)',
+                       'loan_application_' || to_char(m, 'YYYY_MM'), m, (m + interval '1 month')::date);
+        m := (m + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO loan_application (
+    id, amount, created_at, interest_rate, status, tenure, user_id, credit_score,
+    credit_score_source, dti, eligibility_decision, employment_type, full_name,
+    monthly_debt, monthly_income, purpose, risk_score, rules_version, duplicate_suspected
+)
+SELECT id, amount, COALESCE(created_at, now()), interest_rate, status, tenure, user_id, credit_score,
+       credit_score_source, dti, eligibility_decision, employment_type, full_name,
+       monthly_debt, monthly_income, purpose, risk_score, rules_version, duplicate_suspected
+FROM loan_application_legacy;
+
+DROP TABLE loan_application_legacy;
+
+-- Indexes are declared on the parent and created on every partition
+CREATE INDEX idx_loan_application_created_at ON loan_application (created_at);
+CREATE INDEX idx_loan_application_status_created_at ON loan_application (status, created_at);
+
+-- Detached partitions of decided loans are moved here
+CREATE SCHEMA IF NOT EXISTS loan_archive;
@@ -0,0 +1,8 @@
+-- Indexes backing the keyset-paginated admin user listing
+-- (WHERE <filters> AND id > :cursor ORDER BY id LIMIT n).
+
+CREATE INDEX IF NOT EXISTS idx_users_role_id ON users (role, id);
+CREATE INDEX IF NOT EXISTS idx_users_active_id ON users (active, id);
+
+-- Prefix search (username LIKE 'abc%') regardless of database collation
+CREATE INDEX IF NOT EXISTS idx_users_username_pattern ON users (username varchar_pattern_ops);
@@ -0,0 +1,6 @@
+-- Per-user loan lookups by recency, e.g. the "no loans since" bulk user
+-- filter (NOT EXISTS ... WHERE user_id = ? AND created_at >= ?).
+-- Created on the partitioned parent, so every partition gets it.
+
+CREATE INDEX IF NOT EXISTS idx_loan_application_user_created
+    ON loan_application (user_id, created_at, id);
@@ -0,0 +1,10 @@
+-- Per-user JWT revocation: tokens issued before revoked_before are rejected.
+-- Polled by every node on updated_at; rows older than the token lifetime are purged.
+
+CREATE TABLE IF NOT EXISTS token_revocation (
+    user_id        bigint PRIMARY KEY REFERENCES users (id),
+    revoked_before timestamp(6) with time zone NOT NULL,
+    updated_at     timestamp(6) with time zone NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_token_revocation_updated_at ON token_revocation (updated_at);
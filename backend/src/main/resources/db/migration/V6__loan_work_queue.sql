@@ -0,0 +1,18 @@
+-- Lease-based analyst work queue over SUBMITTED loans.
+-- A loan is claimable when it has no lease or its lease has expired;
+-- claims use SELECT ... FOR UPDATE SKIP LOCKED, so concurrent claimers
+-- never wait on each other and expired leases are reclaimed implicitly.
+
+ALTER TABLE loan_application
+    ADD COLUMN IF NOT EXISTS leased_by        bigint,
+    ADD COLUMN IF NOT EXISTS lease_expires_at timestamp(6);
+
+-- Queue heads for "riskiest first" and "oldest first" claims.
+-- Partial, so decided loans never enter these indexes.
+CREATE INDEX IF NOT EXISTS idx_loan_application_queue_risk
+    ON loan_application (risk_score DESC NULLS LAST, created_at)
+    WHERE status = 'SUBMITTED';
+
+CREATE INDEX IF NOT EXISTS idx_loan_application_queue_age
+    ON loan_application (created_at)
+    WHERE status = 'SUBMITTED';
@@ -0,0 +1,13 @@
+-- Auto-decisioning: record which policy decided each loan and when.
+-- decision_policy is MANUAL for analyst decisions and the policy
+-- descriptor (e.g. AUTO_APPROVE[...]) for the background worker.
+
+ALTER TABLE loan_application
+    ADD COLUMN IF NOT EXISTS decision_policy varchar(100),
+    ADD COLUMN IF NOT EXISTS decided_at      timestamp(6);
+
+-- Oldest-first scans of SUBMITTED loans per eligibility decision,
+-- used by the worker's batches and its lag measurement.
+CREATE INDEX IF NOT EXISTS idx_loan_application_pending_decision
+    ON loan_application (eligibility_decision, created_at)
+    WHERE status = 'SUBMITTED';
@@ -0,0 +1,22 @@
+-- Covering indexes for the multi-filter loan search (GET /api/loans/search).
+--
+-- Each index leads with the columns of a common filter combination and
+-- INCLUDEs every other searchable column, so any additional filters are
+-- evaluated inside the index and COUNT queries run as index-only scans.
+-- The createdAt range is served by partition pruning.
+--
+--  * status / decision / risk band:  triage views ("SUBMITTED, REVIEW, risk 40-60")
+--  * purpose / amount range:         product views ("HOME loans above 100k")
+--  * employment / credit score range: applicant-profile views
+
+CREATE INDEX IF NOT EXISTS idx_loan_search_status_decision_risk
+    ON loan_application (status, eligibility_decision, risk_score)
+    INCLUDE (credit_score, amount, purpose, employment_type, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_loan_search_purpose_amount
+    ON loan_application (purpose, amount)
+    INCLUDE (status, eligibility_decision, risk_score, credit_score, employment_type, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_loan_search_employment_credit
+    ON loan_application (employment_type, credit_score)
+    INCLUDE (status, eligibility_decision, risk_score, amount, purpose, created_at);
@@ -0,0 +1,18 @@
+-- Applicant-name search (GET /api/loans/by-name).
+--
+--  * Prefix matches ("jo" -> "John Smith") use a btree over lower(full_name)
+--    with text_pattern_ops, so LIKE 'jo%' is an index range scan.
+--  * Fuzzy / whole-word matches ("smth", "smith") use a trigram GIN index,
+--    which serves the word-similarity operator (<%) without a full scan.
+--
+-- Both are expression indexes on lower(full_name); queries must use the same
+-- expression. pg_trgm ships with PostgreSQL (contrib) but creating it needs
+-- CREATE privilege on the database.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_loan_full_name_prefix
+    ON loan_application (lower(full_name) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_loan_full_name_trgm
+    ON loan_application USING gin (lower(full_name) gin_trgm_ops);
@@ -0,0 +1,169 @@
+package com.loanflow.loanflow.archive;
+
+import com.loanflow.loanflow.entity.LoanStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips through the segment file format; no database involved.
+ */
+class LoanSegmentTests {
+
+    private static final ArchiveFilter ALL = new ArchiveFilter(null, null, null, null, null);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void everyColumnSurvivesTheRoundTrip() throws IOException {
+        List<ArchivedLoan> rows = List.of(
+                full(5L, LocalDateTime.of(2024, 1, 3, 10, 15, 30, 123_000_000)),
+                empty(9L, LocalDateTime.of(2024, 1, 3, 10, 15, 31)),
+                full(1_000_000_007L, LocalDateTime.of(2024, 1, 31, 23, 59, 59, 999_000_000)));
+
+        LoanSegment segment = writeAndOpen(rows);
+        segment.verify();
+
+        assertEquals(3, segment.rowCount());
+        assertEquals(LoanSegment.toMillis(rows.get(2).createdAt()), segment.maxCreatedMillis());
+
+        // Rows come back newest (last id) first
+        List<ArchivedLoan> scanned = segment.scan(ALL, 10);
+        assertEquals(List.of(rows.get(2), rows.get(1), rows.get(0)), scanned);
+    }
+
+    @Test
+    void nullsStayDistinctFromZeroAndFalse() throws IOException {
+        ArchivedLoan zeros = new ArchivedLoan(1L, LocalDateTime.of(2024, 2, 1, 0, 0), LoanStatus.REJECTED,
+                0, 0.0, 0.0, 0, 0, 0.0, 0.0, 0.0, 0L, "", "", "", "", "",
+                0, 0, false, "", LocalDateTime.of(1970, 1, 1, 0, 0), 0L, LocalDateTime.of(1970, 1, 1, 0, 0));
+        ArchivedLoan nulls = empty(2L, LocalDateTime.of(2024, 2, 1, 0, 1));
+
+        LoanSegment segment = writeAndOpen(List.of(zeros, nulls));
+        segment.verify();
+
+        assertEquals(List.of(nulls, zeros), segment.scan(ALL, 10));
+    }
+
+    @Test
+    void deltaEncodingHandlesLargeGapsAndTimesBeforeTheEpoch() throws IOException {
+        List<ArchivedLoan> rows = List.of(
+                empty(1L, LocalDateTime.of(1969, 12, 31, 23, 59, 59, 500_000_000)),
+                empty(2L, LocalDateTime.of(2024, 6, 1, 12, 0)),
+                empty(Long.MAX_VALUE / 2, LocalDateTime.of(2024, 6, 1, 12, 0)));
+
+        LoanSegment segment = writeAndOpen(rows);
+        segment.verify();
+
+        List<ArchivedLoan> scanned = segment.scan(ALL, 10);
+        assertEquals(List.of(rows.get(2), rows.get(1), rows.get(0)), scanned);
+    }
+
+    @Test
+    void scanAppliesTheFilterAndLimit() throws IOException {
+        List<ArchivedLoan> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(withRisk(i + 1L, LocalDateTime.of(2024, 3, 1 + i, 9, 0), i * 10,
+                    i % 2 == 0 ? LoanStatus.APPROVED : LoanStatus.REJECTED));
+        }
+        LoanSegment segment = writeAndOpen(rows);
+
+        ArchiveFilter approvedRisky = new ArchiveFilter(null, null, LoanStatus.APPROVED, 40, null);
+        List<ArchivedLoan> scanned = segment.scan(approvedRisky, 2);
+
+        assertEquals(List.of(9L, 7L), scanned.stream().map(ArchivedLoan::id).toList());
+    }
+
+    @Test
+    void zoneMapSkipsSegmentsThatCannotMatch() throws IOException {
+        LoanSegment segment = writeAndOpen(List.of(
+                withRisk(1L, LocalDateTime.of(2024, 4, 1, 0, 0), 20, LoanStatus.APPROVED),
+                withRisk(2L, LocalDateTime.of(2024, 4, 30, 0, 0), 30, LoanStatus.APPROVED)));
+
+        assertTrue(segment.mayMatch(ALL));
+        assertFalse(segment.mayMatch(new ArchiveFilter(LocalDateTime.of(2024, 5, 1, 0, 0), null, null, null, null)));
+        assertFalse(segment.mayMatch(new ArchiveFilter(null, LocalDateTime.of(2024, 4, 1, 0, 0), null, null, null)));
+        assertFalse(segment.mayMatch(new ArchiveFilter(null, null, LoanStatus.REJECTED, null, null)));
+        assertFalse(segment.mayMatch(new ArchiveFilter(null, null, null, 31, null)));
+        assertFalse(segment.mayMatch(new ArchiveFilter(null, null, null, null, 19)));
+        assertEquals(List.of(), segment.scan(new ArchiveFilter(null, null, LoanStatus.REJECTED, null, null), 10));
+    }
+
+    @Test
+    void segmentWithoutRiskScoresNeverMatchesARiskBound() throws IOException {
+        LoanSegment segment = writeAndOpen(List.of(empty(1L, LocalDateTime.of(2024, 4, 1, 0, 0))));
+
+        assertFalse(segment.mayMatch(new ArchiveFilter(null, null, null, 0, null)));
+        assertFalse(segment.mayMatch(new ArchiveFilter(null, null, null, null, 100)));
+    }
+
+    @Test
+    void emptySegmentRoundTrips() throws IOException {
+        LoanSegment segment = writeAndOpen(List.of());
+        segment.verify();
+
+        assertEquals(0, segment.rowCount());
+        assertFalse(segment.mayMatch(ALL));
+        assertEquals(List.of(), segment.scan(ALL, 10));
+    }
+
+    @Test
+    void versionOneFileIsRejected() throws IOException {
+        Path file = dir.resolve("v1.seg");
+        ByteBuffer header = ByteBuffer.allocate(40 + 17 * 12);
+        header.putInt(0x4C465347).putInt(1).putInt(0);
+        Files.write(file, header.array());
+
+        assertThrows(IOException.class, () -> LoanSegment.open(file));
+    }
+
+    @Test
+    void truncatedFileFailsVerification() throws IOException {
+        Path file = dir.resolve("truncated.seg");
+        LoanSegment.write(file, List.of(full(1L, LocalDateTime.of(2024, 1, 1, 0, 0))));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 8));
+
+        LoanSegment segment = LoanSegment.open(file);
+        assertThrows(IOException.class, segment::verify);
+    }
+
+    private LoanSegment writeAndOpen(List<ArchivedLoan> rows) throws IOException {
+        Path file = dir.resolve("segment-" + rows.size() + "-" + System.nanoTime() + ".seg");
+        LoanSegment.write(file, rows);
+        assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+        return LoanSegment.open(file);
+    }
+
+    private static ArchivedLoan full(long id, LocalDateTime createdAt) {
+        return new ArchivedLoan(id, createdAt, LoanStatus.APPROVED, 35, 25_000.5, 11.25, 36, 742,
+                6_500.0, 1_200.75, 0.18, 42L, "Zoë Ångström", "SALARIED", "HOME", "ELIGIBLE", "BUREAU",
+                698, 3, true, "AUTO_APPROVE[risk<=40,amount<=50000,rules=v3]",
+                createdAt.plusSeconds(90), 7L, createdAt.plusMinutes(15));
+    }
+
+    private static ArchivedLoan empty(long id, LocalDateTime createdAt) {
+        return new ArchivedLoan(id, createdAt, null, null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    private static ArchivedLoan withRisk(long id, LocalDateTime createdAt, int risk, LoanStatus status) {
+        return new ArchivedLoan(id, createdAt, status, risk, 1_000.0, 10.0, 12, 700, 5_000.0, 500.0, 0.1,
+                null, "Applicant " + id, "SALARIED", "PERSONAL", "ELIGIBLE", "SELF_REPORTED",
+                700, 3, false, "MANUAL", createdAt.plusHours(1), null, null);
+    }
+}
@@ -0,0 +1,108 @@
+package com.loanflow.loanflow.benchmark;
+
+import com.loanflow.loanflow.entity.LoanApplication;
+import com.loanflow.loanflow.entity.LoanStatus;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the wire formats offered by GET /api/loans: payload size and
+ * serialize / deserialize cost per 1,000 loans for JSON, Smile and CBOR.
+ *
+ * Not a unit test (the name does not end in Test, so Surefire skips it).
+ * Run after a test-compile:
+ *
+ *   ./mvnw -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *        com.loanflow.loanflow.benchmark.LoanEncodingBenchmark
+ *
+ * Each format is warmed up before measuring, so the numbers reflect
+ * steady-state (JIT-compiled) cost rather than class loading.
+ */
+public class LoanEncodingBenchmark {
+
+    private static final int LOANS = 1_000;
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURED_ROUNDS = 5_000;
+
+    private static final TypeReference<List<LoanApplication>> LOAN_LIST = new TypeReference<>() {};
+
+    public static void main(String[] args) {
+        List<LoanApplication> loans = sampleLoans(LOANS);
+
+        System.out.printf("%-6s %12s %14s %16s%n", "format", "bytes/1000", "serialize ms", "deserialize ms");
+        run("JSON", JsonMapper.builder().build(), loans);
+        run("Smile", SmileMapper.builder().build(), loans);
+        run("CBOR", CBORMapper.builder().build(), loans);
+    }
+
+    private static void run(String name, ObjectMapper mapper, List<LoanApplication> loans) {
+        byte[] payload = mapper.writeValueAsBytes(loans);
+
+        // Keep results live so the JIT cannot drop the work
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += mapper.writeValueAsBytes(loans).length;
+            sink += mapper.readValue(payload, LOAN_LIST).size();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += mapper.writeValueAsBytes(loans).length;
+        }
+        double serializeMs = (System.nanoTime() - start) / 1e6 / MEASURED_ROUNDS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += mapper.readValue(payload, LOAN_LIST).size();
+        }
+        double deserializeMs = (System.nanoTime() - start) / 1e6 / MEASURED_ROUNDS;
+
+        System.out.printf("%-6s %12d %14.3f %16.3f%s%n", name, payload.length, serializeMs, deserializeMs,
+                sink == 42 ? " " : "");
+    }
+
+    /**
+     * Loans with the field shapes produced by LoanServiceImpl.applyLoan.
+     */
+    private static List<LoanApplication> sampleLoans(int count) {
+        Random random = new Random(42);
+        String[] purposes = {"HOME", "AUTO", "EDUCATION", "PERSONAL", "BUSINESS"};
+        String[] employment = {"SALARIED", "SELF_EMPLOYED", "UNEMPLOYED"};
+        String[] decisions = {"ELIGIBLE", "REVIEW", "REJECT"};
+        LocalDateTime now = LocalDateTime.now();
+
+        List<LoanApplication> loans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LoanApplication loan = new LoanApplication();
+            loan.setId(1_000_000L + i);
+            loan.setAmount((double) Math.round(1_000 + random.nextDouble() * 499_000));
+            loan.setInterestRate(Math.round((8 + random.nextDouble() * 5) * 100) / 100.0);
+            loan.setTenure(12 * (1 + random.nextInt(5)));
+            loan.setStatus(LoanStatus.values()[random.nextInt(LoanStatus.values().length)]);
+            loan.setCreatedAt(now.minusMinutes(random.nextInt(1_000_000)));
+            loan.setFullName("Applicant " + i);
+            loan.setMonthlyIncome((double) Math.round(2_000 + random.nextDouble() * 18_000));
+            loan.setMonthlyDebt((double) Math.round(random.nextDouble() * 5_000));
+            loan.setCreditScore(300 + random.nextInt(551));
+            loan.setCreditScoreSource(random.nextBoolean() ? "BUREAU" : "SELF_REPORTED");
+            loan.setEmploymentType(employment[random.nextInt(employment.length)]);
+            loan.setPurpose(purposes[random.nextInt(purposes.length)]);
+            loan.setDti(Math.round(random.nextDouble() * 6_000) / 100.0);
+            loan.setRiskScore(random.nextInt(101));
+            loan.setEligibilityDecision(decisions[random.nextInt(decisions.length)]);
+            loan.setRulesVersion(1);
+            loan.setDuplicateSuspected(false);
+            loans.add(loan);
+        }
+        return loans;
+    }
+}
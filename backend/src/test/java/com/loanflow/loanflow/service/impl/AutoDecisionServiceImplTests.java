@@ -0,0 +1,70 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.service.AutoDecisionService;
+import com.loanflow.loanflow.service.EligibilityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Auto-approval with the credit bureau enabled, against the real schema.
+ *
+ * The approve policy is narrowed to risk score 0 and rejection is off, so
+ * a run only touches the loans inserted here.
+ */
+@SpringBootTest(properties = {
+        "bureau.enabled=true",
+        "autodecide.minAgeMs=0",
+        "autodecide.approve.maxRiskScore=0",
+        "autodecide.reject.enabled=false"
+})
+class AutoDecisionServiceImplTests {
+
+    @Autowired
+    private AutoDecisionService autoDecisionService;
+
+    @Autowired
+    private EligibilityService eligibilityService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String prefix = "autotest-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM loan_application WHERE full_name LIKE ?", prefix + "%");
+    }
+
+    @Test
+    void selfReportedEligibleLoanIsNotAutoApproved() {
+        long selfReported = insertEligibleLoan("self", "SELF_REPORTED");
+        long bureau = insertEligibleLoan("bureau", "BUREAU");
+
+        autoDecisionService.runOnce();
+
+        assertEquals("SUBMITTED", status(selfReported));
+        assertEquals("APPROVED", status(bureau));
+    }
+
+    private long insertEligibleLoan(String name, String scoreSource) {
+        return jdbcTemplate.queryForObject("INSERT INTO loan_application (amount, tenure, interest_rate, status, "
+                        + "created_at, full_name, eligibility_decision, risk_score, rules_version, credit_score, "
+                        + "credit_score_source) VALUES (1000, 12, 10.5, 'SUBMITTED', ?, ?, 'ELIGIBLE', 0, ?, 800, ?) "
+                        + "RETURNING id",
+                Long.class, Timestamp.valueOf(LocalDateTime.now().minusHours(1)), prefix + name,
+                eligibilityService.rulesVersion(), scoreSource);
+    }
+
+    private String status(long id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM loan_application WHERE id = ?", String.class, id);
+    }
+}
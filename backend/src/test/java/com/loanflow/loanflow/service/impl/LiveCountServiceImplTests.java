@@ -0,0 +1,122 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.dto.LoanRequest;
+import com.loanflow.loanflow.entity.LoanStatus;
+import com.loanflow.loanflow.service.LiveCountService;
+import com.loanflow.loanflow.service.LoanService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reconciliation racing concurrent loan writes, against the real schema.
+ */
+@SpringBootTest
+class LiveCountServiceImplTests {
+
+    private static final int WRITERS = 8;
+    private static final int LOANS_PER_WRITER = 50;
+
+    @Autowired
+    private LiveCountService liveCountService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String prefix = "counttest-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM loan_application WHERE full_name LIKE ?", prefix + "%");
+        liveCountService.reconcile();
+    }
+
+    @Test
+    void reconcilingWhileLoansAreSubmittedNeitherLosesNorDoubleCounts() throws Exception {
+        liveCountService.reconcile();
+
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + 1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            Future<Integer> reconciler = pool.submit(() -> {
+                int runs = 0;
+                while (writing.get()) {
+                    liveCountService.reconcile();
+                    runs++;
+                }
+                return runs;
+            });
+
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < LOANS_PER_WRITER; i++) {
+                        loanService.applyLoan(request(prefix + writer + "-" + i), null);
+                    }
+                }));
+            }
+            for (Future<?> f : writers) {
+                f.get(2, TimeUnit.MINUTES);
+            }
+            writing.set(false);
+            assertTrue(reconciler.get(1, TimeUnit.MINUTES) > 0);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // No reconciliation after the writers: the counters must already match
+        LiveCountService.LiveCounts counts = liveCountService.counts();
+        assertEquals(countLoans(), counts.loans());
+        assertEquals(countByStatus(), nonZero(counts.loansByStatus()));
+    }
+
+    private LoanRequest request(String fullName) {
+        LoanRequest req = new LoanRequest();
+        req.setFullName(fullName);
+        req.setAmount(10000.0);
+        req.setTenure(12);
+        req.setMonthlyIncome(5000.0);
+        req.setMonthlyDebt(500.0);
+        req.setCreditScore(720);
+        req.setEmploymentType("SALARIED");
+        req.setPurpose("PERSONAL");
+        return req;
+    }
+
+    private long countLoans() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM loan_application", Long.class);
+    }
+
+    private Map<LoanStatus, Long> countByStatus() {
+        Map<LoanStatus, Long> counts = new EnumMap<>(LoanStatus.class);
+        jdbcTemplate.query("SELECT status, count(*) AS n FROM loan_application WHERE status IS NOT NULL GROUP BY status",
+                rs -> { counts.put(LoanStatus.valueOf(rs.getString("status")), rs.getLong("n")); });
+        return counts;
+    }
+
+    private Map<LoanStatus, Long> nonZero(Map<LoanStatus, Long> counts) {
+        Map<LoanStatus, Long> result = new EnumMap<>(LoanStatus.class);
+        counts.forEach((status, n) -> { if (n != 0) result.put(status, n); });
+        return result;
+    }
+}
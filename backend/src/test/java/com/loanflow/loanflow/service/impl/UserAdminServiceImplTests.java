@@ -0,0 +1,103 @@
+package com.loanflow.loanflow.service.impl;
+
+import com.loanflow.loanflow.entity.UserRole;
+import com.loanflow.loanflow.service.UserAdminService;
+import com.loanflow.loanflow.service.UserAdminService.BulkResult;
+import com.loanflow.loanflow.service.UserAdminService.UserSelection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bulk deactivation by the noLoansSince criterion, against the real schema.
+ */
+@SpringBootTest
+class UserAdminServiceImplTests {
+
+    @Autowired
+    private UserAdminService userAdminService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String prefix = "bulktest-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM loan_application WHERE full_name LIKE ?", prefix + "%");
+        jdbcTemplate.update("DELETE FROM token_revocation WHERE user_id IN "
+                + "(SELECT id FROM users WHERE username LIKE ?)", prefix + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", prefix + "%");
+    }
+
+    @Test
+    void customerWithRecentLoanIsNotDeactivated() {
+        long withLoan = insertCustomer("recent");
+        insertLoan(withLoan, LocalDateTime.now().minusHours(1));
+
+        BulkResult result = userAdminService.bulkUpdateActive(selectionSince(LocalDateTime.now().minusDays(30)), false);
+
+        assertEquals(0, result.updated());
+        assertTrue(isActive(withLoan));
+    }
+
+    @Test
+    void customerWithOnlyOlderLoansIsDeactivated() {
+        long withRecentLoan = insertCustomer("recent");
+        insertLoan(withRecentLoan, LocalDateTime.now().minusHours(1));
+        long withOldLoan = insertCustomer("old");
+        insertLoan(withOldLoan, LocalDateTime.now().minusDays(90));
+
+        BulkResult result = userAdminService.bulkUpdateActive(selectionSince(LocalDateTime.now().minusDays(30)), false);
+
+        assertEquals(1, result.updated());
+        assertTrue(isActive(withRecentLoan));
+        assertFalse(isActive(withOldLoan));
+    }
+
+    @Test
+    void unlinkedLoansInWindowRefuseTheCriterion() {
+        long customer = insertCustomer("legacy");
+        insertLoan(null, LocalDateTime.now().minusHours(1));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> userAdminService.bulkUpdateActive(selectionSince(LocalDateTime.now().minusDays(30)), false));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        assertTrue(isActive(customer));
+    }
+
+    private UserSelection selectionSince(LocalDateTime since) {
+        return new UserSelection(null, UserRole.CUSTOMER, true, prefix, since);
+    }
+
+    private long insertCustomer(String name) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, password, role, active) VALUES (?, 'x', 'CUSTOMER', true) RETURNING id",
+                Long.class, prefix + name);
+    }
+
+    private void insertLoan(Long userId, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO loan_application (amount, tenure, interest_rate, status, created_at, "
+                        + "user_id, full_name) VALUES (10000, 12, 10.5, 'SUBMITTED', ?, ?, ?)",
+                Timestamp.valueOf(createdAt), userId, prefix + "applicant");
+    }
+
+    private boolean isActive(long userId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT active FROM users WHERE id = ?", Boolean.class, userId));
+    }
+}
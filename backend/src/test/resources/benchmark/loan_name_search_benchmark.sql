@@ -0,0 +1,68 @@
+-- Applicant-name search benchmark: plans of GET /api/loans/by-name over 10M loans.
+--
+-- Run against the THROWAWAY database populated by loan_search_benchmark.sql,
+-- migrated up to V9:
+--   psql -d loanflow_bench -f loan_name_search_benchmark.sql
+--
+-- Expected plans:
+--   * Prefix step: Limit -> Incremental Sort -> Merge Append of Index Scans on
+--     idx_loan_full_name_prefix; "rows" on each index scan stays at or below the
+--     limit even for a prefix shared by millions of names ('first1%')
+--   * Fuzzy step:  Bitmap Index Scan on idx_loan_full_name_trgm, then a top-N
+--     sort of the trigram matches
+--   * No Seq Scan on any partition
+-- Record the "Execution Time" lines of the prefix statements for 'first1'
+-- (over half of all names) and 'jonathan' (1 in 100000) in the change that
+-- alters these statements; they should be within the same order of magnitude.
+
+\timing on
+
+-- ---------------------------------------------------------------------------
+-- 1. Realistic names (~40k distinct first/last combinations)
+-- ---------------------------------------------------------------------------
+WITH first_names AS (
+    SELECT array_agg('First' || i) AS a FROM generate_series(1, 200) i
+), last_names AS (
+    SELECT array_agg('Surname' || i) AS a FROM generate_series(1, 200) i
+)
+UPDATE loan_application
+SET full_name = (SELECT a[1 + (id % 200)] FROM first_names) || ' '
+             || (SELECT a[1 + ((id / 200) % 200)] FROM last_names);
+
+-- A handful of real-looking names to search for
+UPDATE loan_application SET full_name = 'Jonathan Smith' WHERE id % 100000 = 1;
+UPDATE loan_application SET full_name = 'Joanna Smyth'   WHERE id % 100000 = 2;
+
+VACUUM ANALYZE loan_application;
+
+-- ---------------------------------------------------------------------------
+-- 2. Search plans (same statements as LoanQueryServiceImpl.searchByName)
+-- ---------------------------------------------------------------------------
+
+-- Common prefix: 111 of the 200 first names (~5.5M rows) start with 'first1'; only ~20 index entries should be read
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, full_name, true AS prefix_match, word_similarity('first1', lower(full_name)) AS score
+FROM loan_application
+WHERE lower(full_name) LIKE 'first1%' ESCAPE '\'
+ORDER BY lower(full_name) USING ~<~, id LIMIT 20;
+
+-- Rare prefix
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, full_name, true AS prefix_match, word_similarity('jonathan', lower(full_name)) AS score
+FROM loan_application
+WHERE lower(full_name) LIKE 'jonathan%' ESCAPE '\'
+ORDER BY lower(full_name) USING ~<~, id LIMIT 20;
+
+-- Typo-tolerant surname match (fuzzy step)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, full_name, false AS prefix_match, word_similarity('smith', lower(full_name)) AS score
+FROM loan_application
+WHERE 'smith' <% lower(full_name) AND lower(full_name) NOT LIKE 'smith%' ESCAPE '\'
+ORDER BY score DESC, id DESC LIMIT 20;
+
+-- Full name with a typo (fuzzy step)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, full_name, false AS prefix_match, word_similarity('jonathon smith', lower(full_name)) AS score
+FROM loan_application
+WHERE 'jonathon smith' <% lower(full_name) AND lower(full_name) NOT LIKE 'jonathon smith%' ESCAPE '\'
+ORDER BY score DESC, id DESC LIMIT 20;
@@ -0,0 +1,104 @@
+-- Loan search benchmark: 10M loans, plans of the multi-filter search queries.
+--
+-- Run against a THROWAWAY database that Flyway has migrated (V1..V8):
+--   psql -d loanflow_bench -f loan_search_benchmark.sql
+--
+-- The queries mirror what LoanRepository.findAll(LoanSpecifications.matching(...), pageable)
+-- sends: a COUNT(*) for the page total and an ordered OFFSET/FETCH page query.
+-- Expected plans:
+--   * COUNT queries:  Index Only Scan on idx_loan_search_* per partition, with
+--                     "Heap Fetches: 0" (requires the VACUUM below)
+--   * Page queries:   Index Scan feeding a Limit; only the returned rows touch the heap
+--   * Date-bounded:   partitions outside the range are absent from the plan
+
+\timing on
+
+-- ---------------------------------------------------------------------------
+-- 1. Monthly partitions for the last 24 months
+-- ---------------------------------------------------------------------------
+DO $$
+DECLARE
+    m date := (date_trunc('month', now()) - interval '24 months')::date;
+BEGIN
+    WHILE m <= date_trunc('month', now())::date LOOP
+        IF to_regclass('public.loan_application_' || to_char(m, 'YYYY_MM')) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF loan_application FOR VALUES FROM (%L) TO (%L)',
+                           'loan_application_' || to_char(m, 'YYYY_MM'), m, (m + interval '1 month')::date);
+        END IF;
+        m := (m + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+-- ---------------------------------------------------------------------------
+-- 2. 10M loans with the value distributions produced by EligibilityServiceImpl
+-- ---------------------------------------------------------------------------
+INSERT INTO loan_application (
+    amount, created_at, interest_rate, status, tenure, credit_score, credit_score_source,
+    dti, eligibility_decision, employment_type, full_name, monthly_debt, monthly_income,
+    purpose, risk_score, rules_version, duplicate_suspected
+)
+SELECT round((1000 + random() * 499000)::numeric, 2),
+       now() - random() * interval '720 days',
+       round((8 + random() * 5)::numeric, 2),
+       (ARRAY['SUBMITTED', 'APPROVED', 'APPROVED', 'REJECTED'])[1 + (g % 4)],
+       (ARRAY[12, 24, 36, 48, 60])[1 + (g % 5)],
+       cs,
+       'SELF_REPORTED',
+       round(dti::numeric, 4),
+       CASE WHEN cs < 600 OR dti > 0.60 THEN 'REJECT'
+            WHEN cs < 680 OR dti > 0.45 THEN 'REVIEW'
+            ELSE 'ELIGIBLE' END,
+       (ARRAY['SALARIED', 'SALARIED', 'SELF_EMPLOYED', 'STUDENT', 'UNEMPLOYED'])[1 + (g % 5)],
+       'Applicant ' || g,
+       0, 0,
+       (ARRAY['HOME', 'AUTO', 'PERSONAL', 'EDUCATION', 'MEDICAL'])[1 + ((g / 7) % 5)],
+       LEAST(100, (random() * 100)::int),
+       1,
+       false
+FROM (
+    SELECT g, 300 + (random() * 550)::int AS cs, random() * 0.9 AS dti
+    FROM generate_series(1, 10000000) AS g
+) src;
+
+-- Visibility map + statistics; without VACUUM, index-only scans still visit the heap
+VACUUM (ANALYZE) loan_application;
+
+-- ---------------------------------------------------------------------------
+-- 3. Search plans
+-- ---------------------------------------------------------------------------
+
+-- Triage: status + decision + risk band (idx_loan_search_status_decision_risk)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM loan_application
+WHERE status = 'SUBMITTED' AND eligibility_decision = 'REVIEW' AND risk_score BETWEEN 40 AND 60;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM loan_application
+WHERE status = 'SUBMITTED' AND eligibility_decision = 'REVIEW' AND risk_score BETWEEN 40 AND 60
+ORDER BY risk_score DESC, id DESC
+OFFSET 0 ROWS FETCH FIRST 20 ROWS ONLY;
+
+-- Product view: purpose + amount range, plus a credit filter evaluated inside the index
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM loan_application
+WHERE purpose = 'HOME' AND amount >= 400000 AND credit_score >= 700;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM loan_application
+WHERE purpose = 'HOME' AND amount >= 400000 AND credit_score >= 700
+ORDER BY amount DESC, id DESC
+OFFSET 0 ROWS FETCH FIRST 20 ROWS ONLY;
+
+-- Applicant profile: employment + credit range, bounded to the last 90 days (partition pruning)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM loan_application
+WHERE employment_type = 'SELF_EMPLOYED' AND credit_score BETWEEN 650 AND 700
+  AND created_at >= now() - interval '90 days' AND created_at <= now();
+
+-- Every filter at once
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM loan_application
+WHERE status = 'SUBMITTED' AND eligibility_decision = 'ELIGIBLE' AND purpose = 'AUTO'
+  AND employment_type = 'SALARIED' AND credit_score BETWEEN 700 AND 800
+  AND amount BETWEEN 10000 AND 50000 AND risk_score <= 30
+  AND created_at >= now() - interval '180 days' AND created_at <= now();
@@ -13,6 +13,8 @@ export type AdminMetrics = {
   analysts: number;
   admins: number;
   loans: number;
+  loansByStatus?: Record<string, number>;
+  loansByDecision?: Record<string, number>;
 };
 
 /**
@@ -34,13 +36,33 @@ export async function getAdminMetrics(): Promise<AdminMetrics> {
 }
 
 /**
- * Retrieves a list of users.
- * Optionally filters users by role.
+ * One keyset-paginated page of users.
+ * Pass nextCursor as `after` to load the next page (null on the last page).
  */
-export async function listAdminUsers(role?: Role): Promise<AdminUser[]> {
-  const res = await client.get("/api/admin/users", {
-    params: role ? { role } : {},
-  });
+export type AdminUserPage = {
+  items: AdminUser[];
+  nextCursor: number | null;
+};
+
+/**
+ * Optional filters for the user listing.
+ */
+export type AdminUserQuery = {
+  role?: Role;
+  active?: boolean;
+  q?: string;
+  after?: number;
+  size?: number;
+};
+
+/**
+ * Retrieves one page of users.
+ * Optionally filters by role, active flag and username prefix.
+ */
+export async function listAdminUsers(
+  query: AdminUserQuery = {}
+): Promise<AdminUserPage> {
+  const res = await client.get("/api/admin/users", { params: query });
   return res.data;
 }
 
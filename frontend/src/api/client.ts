@@ -8,7 +8,7 @@ import axios from "axios";
  *  - Consistent base API URL
  *  - Automatic attachment of authentication headers
  */
-const API_BASE_URL =
+export const API_BASE_URL =
   process.env.REACT_APP_API_URL || "http://localhost:8080";
 
 const client = axios.create({
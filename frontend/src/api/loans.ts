@@ -1,5 +1,5 @@
 // src/api/loans.ts
-import client from "./client";
+import client, { API_BASE_URL } from "./client";
 
 /**
  * Must match backend enum exactly:
@@ -34,6 +34,8 @@ export type LoanApplication = {
   eligibilityDecision?: string;
   status?: LoanStatus;
   createdAt?: string;
+  decisionPolicy?: string; // MANUAL or AUTO_APPROVE[...] / AUTO_REJECT[...]
+  decidedAt?: string;
 
   // Optional fields if backend expands response in future
   username?: string;
@@ -70,3 +72,142 @@ export async function rejectLoan(id: number) {
   const res = await client.patch(`/api/loans/${id}/reject`);
   return res.data;
 }
+
+/**
+ * Live loan counts (served from in-memory counters; cheap to poll).
+ */
+export type LoanCounts = {
+  total: number;
+  byStatus: Partial<Record<LoanStatus, number>>;
+  byDecision: Record<string, number>;
+};
+
+/**
+ * Retrieves the number of loans per status and eligibility decision.
+ */
+export async function getLoanCounts(): Promise<LoanCounts> {
+  const res = await client.get("/api/loans/counts");
+  return res.data;
+}
+
+/**
+ * Loans leased to the current analyst by a work queue claim.
+ */
+export type LoanClaim = {
+  loans: LoanApplication[];
+  leaseExpiresAt: string | null;
+};
+
+/**
+ * Claims the next unleased pending loans (riskiest or oldest first).
+ * Approving or rejecting a claimed loan ends its lease.
+ */
+export async function claimLoans(count = 10, order: "RISK" | "AGE" = "RISK"): Promise<LoanClaim> {
+  const res = await client.post("/api/loans/queue/claim", null, { params: { count, order } });
+  return res.data;
+}
+
+/**
+ * Extends the current analyst's leases; returns the ids still leased.
+ */
+export async function renewLoanLeases(loanIds: number[]) {
+  const res = await client.post("/api/loans/queue/renew", { loanIds });
+  return res.data as { loanIds: number[]; leaseExpiresAt: string | null };
+}
+
+/**
+ * Returns leased loans to the queue without deciding them.
+ */
+export async function releaseLoanLeases(loanIds: number[]) {
+  const res = await client.post("/api/loans/queue/release", { loanIds });
+  return res.data as { released: number };
+}
+
+/**
+ * Payload of a "loan" event from the live loan stream.
+ */
+export type LoanStreamEvent = {
+  type: "SUBMITTED" | "DECIDED";
+  loanId: number;
+  status: LoanStatus;
+  previousStatus?: LoanStatus;
+  eligibilityDecision?: string;
+  riskScore?: number;
+  amount?: number;
+  purpose?: string;
+  fullName?: string;
+  createdAt?: string;
+};
+
+/**
+ * Subscribes to GET /api/loans/stream (Server-Sent Events).
+ *
+ * Uses fetch instead of EventSource so the JWT can be sent in the
+ * Authorization header. Reconnects automatically with Last-Event-ID;
+ * onReset is called when the server can no longer replay missed events
+ * (too far behind, or the stream restarted or moved to another node)
+ * and the caller should reload its list.
+ *
+ * @returns function that closes the stream
+ */
+export function subscribeLoanStream(
+  onEvent: (event: LoanStreamEvent) => void,
+  onReset: () => void
+): () => void {
+  const controller = new AbortController();
+  let lastEventId: string | null = null;
+
+  const connect = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        const token = localStorage.getItem("token");
+        const res = await fetch(`${API_BASE_URL}/api/loans/stream`, {
+          headers: {
+            Accept: "text/event-stream",
+            ...(token ? { Authorization: `Bearer ${token}` } : {}),
+            ...(lastEventId ? { "Last-Event-ID": lastEventId } : {}),
+          },
+          signal: controller.signal,
+        });
+        if (!res.ok || !res.body) throw new Error(`stream ${res.status}`);
+
+        const reader = res.body.getReader();
+        const decoder = new TextDecoder();
+        let buffer = "";
+
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer += decoder.decode(value, { stream: true });
+
+          // Frames are separated by a blank line
+          let sep;
+          while ((sep = buffer.indexOf("\n\n")) >= 0) {
+            const frame = buffer.slice(0, sep);
+            buffer = buffer.slice(sep + 2);
+
+            let id = "";
+            let name = "message";
+            let data = "";
+            for (const line of frame.split("\n")) {
+              if (line.startsWith("id:")) id = line.slice(3).trim();
+              else if (line.startsWith("event:")) name = line.slice(6).trim();
+              else if (line.startsWith("data:")) data += line.slice(5).trim();
+            }
+            if (id) lastEventId = id;
+            if (name === "loan" && data) onEvent(JSON.parse(data));
+            else if (name === "reset") onReset();
+          }
+        }
+      } catch {
+        // Fall through to the reconnect delay
+      }
+      if (!controller.signal.aborted) {
+        await new Promise((r) => setTimeout(r, 3000));
+      }
+    }
+  };
+
+  connect();
+  return () => controller.abort();
+}
@@ -11,6 +11,8 @@ import {
   MenuItem,
   Switch,
   Chip,
+  TextField,
+  Button,
 } from "@mui/material";
 import { useSearchParams } from "react-router-dom";
 import AppHeader from "../components/AppHeader";
@@ -27,6 +29,8 @@ import {
  *
  * Features:
  *  - Optional role filtering via query param (?role=CUSTOMER|ANALYST|ADMIN)
+ *  - Username prefix search
+ *  - Cursor-based "Load more" paging (only loaded pages are kept in memory)
  *  - Role updates (RBAC)
  *  - Activate/deactivate users (disabled users cannot log in)
  */
@@ -37,6 +41,8 @@ export default function AdminUsersPage() {
   const roleParam = (params.get("role") as Role | null) || null;
 
   const [users, setUsers] = useState<AdminUser[]>([]);
+  const [nextCursor, setNextCursor] = useState<number | null>(null);
+  const [search, setSearch] = useState("");
   const [loading, setLoading] = useState(false);
 
   // Page title changes based on current role filter
@@ -48,39 +54,51 @@ export default function AdminUsersPage() {
   }, [roleParam]);
 
   /**
-   * Fetches users from backend and applies role filtering when present.
+   * Fetches a page of users from backend, applying the role filter and
+   * username search. Without a cursor the list is replaced, otherwise appended.
    */
-  const refresh = async () => {
+  const load = async (after?: number) => {
     setLoading(true);
     try {
-      const data = await listAdminUsers(roleParam || undefined);
-      setUsers(data);
+      const page = await listAdminUsers({
+        role: roleParam || undefined,
+        q: search.trim() || undefined,
+        after,
+      });
+      setUsers((prev) => (after ? [...prev, ...page.items] : page.items));
+      setNextCursor(page.nextCursor);
     } finally {
       setLoading(false);
     }
   };
 
-  // Re-fetch whenever the role filter changes
+  // Re-fetch from the first page whenever the filters change (search is debounced)
   useEffect(() => {
-    refresh();
+    const t = setTimeout(() => load(), 300);
+    return () => clearTimeout(t);
     // eslint-disable-next-line react-hooks/exhaustive-deps
-  }, [roleParam]);
+  }, [roleParam, search]);
 
   /**
-   * Updates user role and refreshes UI to reflect latest backend state.
+   * Replaces one user in the loaded list with the backend's updated copy.
+   */
+  const replaceUser = (updated: AdminUser) => {
+    setUsers((prev) => prev.map((u) => (u.id === updated.id ? updated : u)));
+  };
+
+  /**
+   * Updates user role and reflects the latest backend state.
    */
   const changeRole = async (id: number, role: Role) => {
-    await updateUserRole(id, role);
-    await refresh();
+    replaceUser(await updateUserRole(id, role));
   };
 
   /**
-   * Activates/deactivates a user account and refreshes UI.
+   * Activates/deactivates a user account and reflects the latest backend state.
    * Backend enforces login restriction for inactive users.
    */
   const toggleActive = async (id: number, active: boolean) => {
-    await updateUserActive(id, active);
-    await refresh();
+    replaceUser(await updateUserActive(id, active));
   };
 
   return (
@@ -108,11 +126,21 @@ export default function AdminUsersPage() {
           }}
         >
           <Typography sx={{ fontWeight: 900, fontSize: 18 }}>
-            {title} {loading ? "(Loading...)" : `(${users.length})`}
+            {title}{" "}
+            {loading
+              ? "(Loading...)"
+              : `(${users.length}${nextCursor !== null ? "+" : ""})`}
           </Typography>
           <Typography sx={{ opacity: 0.75, mt: 0.5 }}>
             Change roles and deactivate accounts. Deactivated users cannot login.
           </Typography>
+          <TextField
+            size="small"
+            placeholder="Search by username prefix"
+            value={search}
+            onChange={(e) => setSearch(e.target.value)}
+            sx={{ mt: 1.5, width: { xs: "100%", sm: 320 }, background: "white", borderRadius: 1 }}
+          />
         </Paper>
 
         {/* User cards */}
@@ -181,6 +209,19 @@ export default function AdminUsersPage() {
             </Paper>
           ))}
         </Stack>
+
+        {/* Next page */}
+        {nextCursor !== null && (
+          <Box sx={{ display: "flex", justifyContent: "center", mt: 2 }}>
+            <Button
+              variant="contained"
+              disabled={loading}
+              onClick={() => load(nextCursor)}
+            >
+              Load more
+            </Button>
+          </Box>
+        )}
       </Container>
     </Box>
   );
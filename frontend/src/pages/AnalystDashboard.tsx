@@ -20,13 +20,20 @@ import {
   listLoans,
   approveLoan,
   rejectLoan,
+  subscribeLoanStream,
   LoanApplication,
+  LoanStreamEvent,
   LoanStatus,
   LOAN_STATUS_LABEL,
 } from "../api/loans";
 
 type StatusFilter = "ALL" | LoanStatus;
 
+/**
+ * Background refetch interval, for loan writes the live stream does not carry.
+ */
+const REFETCH_INTERVAL_MS = 60_000;
+
 /**
  * Status badge for the list rows (maps enum to a friendly label + color).
  */
@@ -66,6 +73,8 @@ function StatusChip({ status }: { status?: LoanStatus }) {
  *
  * Responsibilities:
  *  - Load recent loans (default filter: SUBMITTED)
+ *  - Keep the list current via the live loan stream, plus a slow background
+ *    refetch for writes the stream does not carry (made through other nodes)
  *  - Allow approve/reject actions on SUBMITTED loans only
  *  - Show loading/empty states and user feedback alerts
  */
@@ -81,11 +90,16 @@ export default function AnalystDashboard() {
   /**
    * Fetch loans from backend using current status filter.
    * Backend returns Spring Page: { content: [], totalElements, ... }
+   *
+   * A quiet fetch (background refresh) keeps the current messages and
+   * loading state and ignores errors; the next one retries.
    */
-  const fetchLoans = async () => {
-    setError("");
-    setSuccess("");
-    setLoading(true);
+  const fetchLoans = async (quiet = false) => {
+    if (!quiet) {
+      setError("");
+      setSuccess("");
+      setLoading(true);
+    }
     try {
       const data = await listLoans({
         page: 0,
@@ -97,9 +111,9 @@ export default function AnalystDashboard() {
 
       setRows(data?.content ?? []);
     } catch (e: any) {
-      setError(e?.response?.data?.message || "Failed to load loan queue.");
+      if (!quiet) setError(e?.response?.data?.message || "Failed to load loan queue.");
     } finally {
-      setLoading(false);
+      if (!quiet) setLoading(false);
     }
   };
 
@@ -109,6 +123,48 @@ export default function AnalystDashboard() {
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [statusFilter]);
 
+  /**
+   * Applies a live loan event to the visible list:
+   *  - new loans are prepended when they match the filter
+   *  - decided loans are updated, or removed if they no longer match
+   */
+  const applyStreamEvent = (e: LoanStreamEvent) => {
+    const matches = statusFilter === "ALL" || e.status === statusFilter;
+
+    setRows((prev) => {
+      const existing = prev.find((r) => r.id === e.loanId);
+      if (!matches) return prev.filter((r) => r.id !== e.loanId);
+      if (existing) {
+        return prev.map((r) =>
+          r.id === e.loanId ? { ...r, status: e.status } : r
+        );
+      }
+      const row: LoanApplication = {
+        id: e.loanId,
+        fullName: e.fullName,
+        amount: e.amount,
+        riskScore: e.riskScore,
+        eligibilityDecision: e.eligibilityDecision,
+        status: e.status,
+        createdAt: e.createdAt,
+      };
+      return [row, ...prev].slice(0, 25);
+    });
+  };
+
+  // Live updates; re-subscribed when the filter changes
+  useEffect(() => {
+    return subscribeLoanStream(applyStreamEvent, () => fetchLoans());
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [statusFilter]);
+
+  // The stream only carries writes made through the node it is connected to
+  useEffect(() => {
+    const timer = setInterval(() => fetchLoans(true), REFETCH_INTERVAL_MS);
+    return () => clearInterval(timer);
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [statusFilter]);
+
   // Derived counts for the summary chips
   const submittedCount = useMemo(
     () => rows.filter((r) => r.status === "SUBMITTED").length,
@@ -286,7 +342,7 @@ export default function AnalystDashboard() {
 
               <Button
                 variant="outlined"
-                onClick={fetchLoans}
+                onClick={() => fetchLoans()}
                 sx={{
                   fontWeight: 900,
                   textTransform: "none",
@@ -74,8 +74,31 @@ export async function fetchLoansPage(params: {
 }
 
 /**
- * Fetches all customer loans sorted by newest first.
+ * Cursor-paginated page of the current user's loans.
+ */
+export interface LoanHistoryPage {
+  items: Loan[];
+  nextCursor: string | null; // pass back as cursor; null on the last page
+}
+
+/**
+ * Fetches one page of the current user's loans, newest first.
+ */
+export async function fetchMyLoansPage(params?: {
+  cursor?: string;
+  size?: number;
+}): Promise<LoanHistoryPage> {
+  const res = await client.get<LoanHistoryPage>("/api/loans/mine", { params });
+  return res.data;
+}
+
+/**
+ * Fetches the current customer's loans sorted by newest first.
  * Falls back to mock data if API request fails.
+ *
+ * Uses the full loan listing rather than fetchMyLoansPage: loans submitted
+ * before applications were linked to their user have no owner on record,
+ * so /api/loans/mine would hide them from existing customers.
  */
 export async function fetchCustomerLoans(): Promise<Loan[]> {
   try {